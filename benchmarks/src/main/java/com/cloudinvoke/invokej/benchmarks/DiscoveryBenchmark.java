@@ -0,0 +1,83 @@
+package com.cloudinvoke.invokej.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.cloudinvoke.invokej.reflect.BeanProperty;
+import com.cloudinvoke.invokej.reflect.BeanPropertyIterator;
+import com.cloudinvoke.invokej.reflect.ClassHierarchyIterator;
+
+/**
+ * Measures the cost per class of discovering its bean properties with
+ * {@link BeanPropertyIterator} and of walking its hierarchy with {@link ClassHierarchyIterator},
+ * for each of the {@link ReflectClasses classes}.
+ * <p>
+ * Every measurement is taken in two modes. The steady state benchmarks repeat the discovery on a
+ * warmed up JVM, where the JVM has cached the reflection data of the class. The
+ * <code>_cold</code> benchmarks take a single shot in each of several fresh JVMs, so they include
+ * building the reflection data and loading the classes of the iterators, which is what the first
+ * request after a start pays.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class DiscoveryBenchmark {
+
+    private static void discoverProperties(Class<?> type, Blackhole blackhole) {
+        for (BeanProperty property : new BeanPropertyIterator(type))
+            blackhole.consume(property);
+    }
+
+    private static int walkHierarchy(Class<?> type) {
+        int count = 0;
+        for (Class<?> c : new ClassHierarchyIterator(type)) {
+            if (c != null)
+                count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public void beanProperties(ReflectClasses classes, Blackhole blackhole) {
+        discoverProperties(classes.type, blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void beanProperties_cold(ReflectClasses classes, Blackhole blackhole) {
+        discoverProperties(classes.type, blackhole);
+    }
+
+    @Benchmark
+    public int classHierarchy(ReflectClasses classes) {
+        return walkHierarchy(classes.type);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public int classHierarchy_cold(ReflectClasses classes) {
+        return walkHierarchy(classes.type);
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.cloudinvoke.invokej.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.Transform;
+import com.cloudinvoke.invokej.it.Itq;
+
+/**
+ * Compares {@link Itq#flatten(Iterable)} and
+ * {@link com.cloudinvoke.invokej.it.IterableExt#selectMany(Transform)} with a nested foreach loop
+ * and {@link Stream#flatMap(Function)}. The input is a list of lists that together hold
+ * <code>size</code> elements; small inner lists stress the cost of moving from one inner list to
+ * the next.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+public class FlattenBenchmark {
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    public int size;
+
+    @Param({ "1", "16", "1024" })
+    public int innerSize;
+
+    private List<Iterable<Object>> lists;
+
+    private static final Transform<Iterable<Object>, Iterable<Object>> IDENTITY =
+        new Transform<Iterable<Object>, Iterable<Object>>() {
+            public Iterable<Object> transform(Iterable<Object> inner) {
+                return inner;
+            }
+        };
+
+    private static final Function<Iterable<Object>, Stream<Object>> TO_STREAM =
+        new Function<Iterable<Object>, Stream<Object>>() {
+            public Stream<Object> apply(Iterable<Object> inner) {
+                return ((List<Object>)inner).stream();
+            }
+        };
+
+    @Setup
+    public void setup() {
+        lists = new ArrayList<Iterable<Object>>(size / innerSize + 1);
+        List<Object> inner = null;
+        for (int i = 0; i < size; i++) {
+            if (i % innerSize == 0) {
+                inner = new ArrayList<Object>(innerSize);
+                lists.add(inner);
+            }
+            inner.add(i);
+        }
+    }
+
+    @Benchmark
+    public void flatten_itq(final Blackhole blackhole) {
+        Itq.flatten(lists).forEach(new Operation<Object>() {
+            public void perform(Object o) {
+                blackhole.consume(o);
+            }
+        });
+    }
+
+    @Benchmark
+    public void selectMany_itq(final Blackhole blackhole) {
+        Itq.from(lists).selectMany(IDENTITY).forEach(new Operation<Object>() {
+            public void perform(Object o) {
+                blackhole.consume(o);
+            }
+        });
+    }
+
+    @Benchmark
+    public List<Object> flatten_itq_toList() {
+        return Itq.flatten(lists).toList();
+    }
+
+    @Benchmark
+    public void flatten_loop(Blackhole blackhole) {
+        for (Iterable<Object> inner : lists) {
+            for (Object o : inner)
+                blackhole.consume(o);
+        }
+    }
+
+    @Benchmark
+    public void flatten_stream(final Blackhole blackhole) {
+        lists.stream().flatMap(TO_STREAM).forEach(new Consumer<Object>() {
+            public void accept(Object o) {
+                blackhole.consume(o);
+            }
+        });
+    }
+
+}
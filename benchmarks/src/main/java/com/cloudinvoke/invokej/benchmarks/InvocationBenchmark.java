@@ -0,0 +1,107 @@
+package com.cloudinvoke.invokej.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cloudinvoke.invokej.reflect.MethodInvocation;
+
+/**
+ * Compares {@link MethodInvocation#perform()} with the other ways of calling the same method:
+ * {@link Method#invoke(Object, Object...)} directly, a {@link MethodHandle} held in a constant
+ * and in a field, and a plain call.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class InvocationBenchmark {
+
+    /**
+     * The invoked class. Its method does a little work so that the calls cannot be removed.
+     */
+    public static class Target {
+
+        private int value = 42;
+
+        public int add(int amount) {
+            return value + amount;
+        }
+    }
+
+    private static final MethodHandle CONSTANT_HANDLE;
+
+    static {
+        try {
+            CONSTANT_HANDLE = MethodHandles.publicLookup().findVirtual(Target.class, "add",
+                MethodType.methodType(int.class, int.class));
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Target target;
+    private Integer argument;
+    private Method method;
+    private MethodHandle handle;
+    private MethodInvocation invocation;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        target = new Target();
+        argument = 7;
+        method = Target.class.getMethod("add", int.class);
+        handle = CONSTANT_HANDLE;
+        invocation = new MethodInvocation(target, method, argument);
+    }
+
+    @Benchmark
+    public int direct() {
+        return target.add(argument);
+    }
+
+    @Benchmark
+    public int methodHandle_constant() throws Throwable {
+        return (int)CONSTANT_HANDLE.invokeExact(target, (int)argument);
+    }
+
+    @Benchmark
+    public int methodHandle_field() throws Throwable {
+        return (int)handle.invokeExact(target, (int)argument);
+    }
+
+    @Benchmark
+    public Object reflect() throws Exception {
+        return method.invoke(target, argument);
+    }
+
+    @Benchmark
+    public Object methodInvocation() throws Exception {
+        return invocation.perform();
+    }
+
+    @Benchmark
+    public Object methodInvocation_created() throws Exception {
+        return new MethodInvocation(target, method, argument).perform();
+    }
+
+}
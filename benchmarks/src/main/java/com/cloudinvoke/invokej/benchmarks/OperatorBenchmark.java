@@ -0,0 +1,226 @@
+package com.cloudinvoke.invokej.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.Transform;
+import com.cloudinvoke.invokej.it.Itq;
+
+/**
+ * Compares the {@link Itq} operators with a plain foreach loop and with {@link java.util.stream}
+ * doing the same work, for every {@link Sources source type and size}. The benchmark methods are
+ * named <code>&lt;operator&gt;_&lt;itq|loop|stream&gt;</code> so that the results of an operator
+ * sort together.
+ * <p>
+ * Run with <code>-prof gc</code> to also compare the allocation rates.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+public class OperatorBenchmark {
+
+    /** The page size of the inGroupsOf benchmarks */
+    private static final int GROUP_SIZE = 100;
+
+    private static final Transform<Object, Boolean> EVEN = new Transform<Object, Boolean>() {
+        public Boolean transform(Object o) {
+            return (o.hashCode() & 1) == 0;
+        }
+    };
+
+    private static final Predicate<Object> EVEN_PREDICATE = new Predicate<Object>() {
+        public boolean test(Object o) {
+            return (o.hashCode() & 1) == 0;
+        }
+    };
+
+    private static final Transform<Object, Integer> HASH = new Transform<Object, Integer>() {
+        public Integer transform(Object o) {
+            return o.hashCode() >>> 1;
+        }
+    };
+
+    private static final Function<Object, Integer> HASH_FUNCTION = new Function<Object, Integer>() {
+        public Integer apply(Object o) {
+            return o.hashCode() >>> 1;
+        }
+    };
+
+    private static <T> Operation<T> consumeOperation(final Blackhole blackhole) {
+        return new Operation<T>() {
+            public void perform(T o) {
+                blackhole.consume(o);
+            }
+        };
+    }
+
+    private static Consumer<Object> consumer(final Blackhole blackhole) {
+        return new Consumer<Object>() {
+            public void accept(Object o) {
+                blackhole.consume(o);
+            }
+        };
+    }
+
+    // where: count the elements that meet a condition
+
+    @Benchmark
+    public int where_itq(Sources sources) {
+        return sources.itq().where(EVEN).size();
+    }
+
+    @Benchmark
+    public int where_loop(Sources sources) {
+        int count = 0;
+        for (Object o : sources.iterable()) {
+            if (EVEN.transform(o))
+                count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long where_stream(Sources sources) {
+        return sources.stream().filter(EVEN_PREDICATE).count();
+    }
+
+    // select: transform every element
+
+    @Benchmark
+    public void select_itq(Sources sources, Blackhole blackhole) {
+        sources.itq().select(HASH).forEach(OperatorBenchmark.<Integer>consumeOperation(blackhole));
+    }
+
+    @Benchmark
+    public void select_loop(Sources sources, Blackhole blackhole) {
+        for (Object o : sources.iterable())
+            blackhole.consume(HASH.transform(o));
+    }
+
+    @Benchmark
+    public void select_stream(Sources sources, Blackhole blackhole) {
+        sources.stream().map(HASH_FUNCTION).forEach(consumer(blackhole));
+    }
+
+    // whereSelect: the most common pipeline, collected into a list
+
+    @Benchmark
+    public List<Integer> whereSelect_itq(Sources sources) {
+        return sources.itq().where(EVEN).select(HASH).toList();
+    }
+
+    @Benchmark
+    public List<Integer> whereSelect_loop(Sources sources) {
+        List<Integer> result = new ArrayList<Integer>();
+        for (Object o : sources.iterable()) {
+            if (EVEN.transform(o))
+                result.add(HASH.transform(o));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> whereSelect_stream(Sources sources) {
+        return sources.stream().filter(EVEN_PREDICATE).map(HASH_FUNCTION).collect(Collectors.<Integer>toList());
+    }
+
+    // union: the elements of two sources one after the other
+
+    @Benchmark
+    public void union_itq(Sources sources, Blackhole blackhole) {
+        Itq.union(sources.itq(), sources.itq()).forEach(OperatorBenchmark.<Object>consumeOperation(blackhole));
+    }
+
+    @Benchmark
+    public void union_loop(Sources sources, Blackhole blackhole) {
+        for (Object o : sources.iterable())
+            blackhole.consume(o);
+        for (Object o : sources.iterable())
+            blackhole.consume(o);
+    }
+
+    @Benchmark
+    public void union_stream(Sources sources, Blackhole blackhole) {
+        Stream.concat(sources.stream(), sources.stream()).forEach(consumer(blackhole));
+    }
+
+    // inGroupsOf: pages of a fixed size; streams have no equivalent. Every element of a page is
+    // consumed, as the pages of a random access source are views that are only read when used.
+
+    @Benchmark
+    public void inGroupsOf_itq(Sources sources, Blackhole blackhole) {
+        for (List<Object> group : Itq.inGroupsOf(sources.itq(), GROUP_SIZE)) {
+            for (Object o : group)
+                blackhole.consume(o);
+        }
+    }
+
+    @Benchmark
+    public void inGroupsOf_loop(Sources sources, Blackhole blackhole) {
+        List<Object> group = new ArrayList<Object>(GROUP_SIZE);
+        for (Object o : sources.iterable()) {
+            group.add(o);
+            if (group.size() == GROUP_SIZE) {
+                consumeGroup(group, blackhole);
+                group = new ArrayList<Object>(GROUP_SIZE);
+            }
+        }
+        consumeGroup(group, blackhole);
+    }
+
+    private static void consumeGroup(List<Object> group, Blackhole blackhole) {
+        for (Object o : group)
+            blackhole.consume(o);
+    }
+
+    // concat: the string forms of the elements joined by a separator
+
+    @Benchmark
+    public String concat_itq(Sources sources) {
+        return Itq.concat(sources.itq(), ",").toString();
+    }
+
+    @Benchmark
+    public String concat_loop(Sources sources) {
+        StringBuilder result = new StringBuilder();
+        boolean first = true;
+        for (Object o : sources.iterable()) {
+            if (!first)
+                result.append(',');
+            result.append(o);
+            first = false;
+        }
+        return result.toString();
+    }
+
+    @Benchmark
+    public String concat_stream(Sources sources) {
+        return sources.stream().map(new Function<Object, String>() {
+            public String apply(Object o) {
+                return String.valueOf(o);
+            }
+        }).collect(Collectors.joining(","));
+    }
+
+}
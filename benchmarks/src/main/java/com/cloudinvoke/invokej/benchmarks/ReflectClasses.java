@@ -0,0 +1,114 @@
+package com.cloudinvoke.invokej.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The classes the reflection benchmarks interrogate, from a small bean to a deep hierarchy with
+ * many interfaces.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+@State(Scope.Benchmark)
+public class ReflectClasses {
+
+    /**
+     * The interrogated classes.
+     */
+    public enum Kind {
+        /** A bean with three properties and no superclass but Object */
+        BEAN(Bean.class),
+        /** {@link java.util.ArrayList}: four levels and several interfaces per level */
+        ARRAY_LIST(java.util.ArrayList.class),
+        /** {@link javax.swing.JButton}: seven levels with a large amount of public methods */
+        JBUTTON(javax.swing.JButton.class),
+        /** Sixteen levels that each implement an interface of their own */
+        DEEP(Level15.class);
+
+        final Class<?> type;
+
+        private Kind(Class<?> type) {
+            this.type = type;
+        }
+    }
+
+    @Param({ "BEAN", "ARRAY_LIST", "JBUTTON", "DEEP" })
+    public Kind kind;
+
+    /** The interrogated class */
+    public Class<?> type;
+
+    @Setup
+    public void setup() {
+        type = kind.type;
+    }
+
+    public static class Bean {
+
+        private String name;
+        private int count;
+        private boolean enabled;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public interface Marker0 {}
+    public interface Marker1 {}
+    public interface Marker2 {}
+    public interface Marker3 {}
+    public interface Marker4 {}
+    public interface Marker5 {}
+    public interface Marker6 {}
+    public interface Marker7 {}
+    public interface Marker8 {}
+    public interface Marker9 {}
+    public interface Marker10 {}
+    public interface Marker11 {}
+    public interface Marker12 {}
+    public interface Marker13 {}
+    public interface Marker14 {}
+    public interface Marker15 {}
+
+    public static class Level0 extends Bean implements Marker0 {}
+    public static class Level1 extends Level0 implements Marker1 {}
+    public static class Level2 extends Level1 implements Marker2 {}
+    public static class Level3 extends Level2 implements Marker3 {}
+    public static class Level4 extends Level3 implements Marker4 {}
+    public static class Level5 extends Level4 implements Marker5 {}
+    public static class Level6 extends Level5 implements Marker6 {}
+    public static class Level7 extends Level6 implements Marker7 {}
+    public static class Level8 extends Level7 implements Marker8 {}
+    public static class Level9 extends Level8 implements Marker9 {}
+    public static class Level10 extends Level9 implements Marker10 {}
+    public static class Level11 extends Level10 implements Marker11 {}
+    public static class Level12 extends Level11 implements Marker12 {}
+    public static class Level13 extends Level12 implements Marker13 {}
+    public static class Level14 extends Level13 implements Marker14 {}
+    public static class Level15 extends Level14 implements Marker15 {}
+
+}
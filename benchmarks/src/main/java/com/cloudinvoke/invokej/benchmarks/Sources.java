@@ -0,0 +1,195 @@
+package com.cloudinvoke.invokej.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import com.cloudinvoke.invokej.it.IterableExt;
+import com.cloudinvoke.invokej.it.Itq;
+
+/**
+ * The benchmark input: the same amount of elements held in one of the source types that
+ * {@link Itq#from} accepts. Every source offers the elements in the three forms that are compared:
+ * as an {@link IterableExt}, as a plain {@link Iterable} for a foreach loop and as a
+ * {@link Stream}.
+ * <p>
+ * The elements are {@link Integer}s from 0, except for {@link Type#NODE_LIST} whose elements are
+ * DOM elements. The benchmarks only use {@link Object#hashCode()} and {@link Object#toString()} of
+ * the elements, so they work for both.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+@State(Scope.Benchmark)
+public class Sources {
+
+    /**
+     * The source types.
+     */
+    public enum Type {
+        /** An object array */
+        ARRAY,
+        /** An {@link ArrayList} */
+        ARRAY_LIST,
+        /** A {@link LinkedList} */
+        LINKED_LIST,
+        /** A fresh {@link Iterator} over an {@link ArrayList} per use */
+        ITERATOR,
+        /** The child nodes of a DOM element */
+        NODE_LIST
+    }
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    public int size;
+
+    @Param({ "ARRAY", "ARRAY_LIST", "LINKED_LIST", "ITERATOR", "NODE_LIST" })
+    public Type type;
+
+    private Object[] array;
+    private List<Object> list;
+    private NodeList nodes;
+
+    @Setup
+    public void setup() throws ParserConfigurationException {
+        switch (type) {
+            case ARRAY:
+                array = integers();
+                break;
+            case ARRAY_LIST:
+            case ITERATOR:
+                list = new ArrayList<Object>(Arrays.asList(integers()));
+                break;
+            case LINKED_LIST:
+                list = new LinkedList<Object>(Arrays.asList(integers()));
+                break;
+            case NODE_LIST:
+                Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+                Element root = document.createElement("root");
+                document.appendChild(root);
+                for (int i = 0; i < size; i++)
+                    root.appendChild(document.createElement("e"));
+                nodes = root.getChildNodes();
+                break;
+        }
+    }
+
+    private Object[] integers() {
+        Object[] result = new Object[size];
+        for (int i = 0; i < size; i++)
+            result[i] = i;
+        return result;
+    }
+
+    /**
+     * @return The elements as an {@link IterableExt}.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public IterableExt<Object> itq() {
+        switch (type) {
+            case ARRAY:
+                return Itq.from(array);
+            case ITERATOR:
+                return Itq.from(list.iterator());
+            case NODE_LIST:
+                return (IterableExt)Itq.from(nodes);
+            default:
+                return Itq.from(list);
+        }
+    }
+
+    /**
+     * @return The elements as they would be iterated by a foreach loop.
+     */
+    public Iterable<Object> iterable() {
+        switch (type) {
+            case ARRAY:
+                return Arrays.asList(array);
+            case ITERATOR:
+                final Iterator<Object> iterator = list.iterator();
+                return new Iterable<Object>() {
+                    public Iterator<Object> iterator() {
+                        return iterator;
+                    }
+                };
+            case NODE_LIST:
+                return new Iterable<Object>() {
+                    public Iterator<Object> iterator() {
+                        return new NodeIterator(nodes);
+                    }
+                };
+            default:
+                return list;
+        }
+    }
+
+    /**
+     * @return The elements as a sequential {@link Stream}.
+     */
+    public Stream<Object> stream() {
+        switch (type) {
+            case ARRAY:
+                return Arrays.stream(array);
+            case ITERATOR:
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(list.iterator(),
+                    Spliterator.ORDERED), false);
+            case NODE_LIST:
+                return IntStream.range(0, nodes.getLength()).mapToObj(new IntFunction<Object>() {
+                    public Object apply(int index) {
+                        return nodes.item(index);
+                    }
+                });
+            default:
+                return list.stream();
+        }
+    }
+
+    /**
+     * Iterates a {@link NodeList} by index, as a loop over one would.
+     */
+    private static final class NodeIterator implements Iterator<Object> {
+
+        private final NodeList nodes;
+        private final int length;
+        private int index;
+
+        NodeIterator(NodeList nodes) {
+            this.nodes = nodes;
+            this.length = nodes.getLength();
+        }
+
+        public boolean hasNext() {
+            return index < length;
+        }
+
+        public Object next() {
+            if (index >= length)
+                throw new NoSuchElementException();
+            return nodes.item(index++);
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
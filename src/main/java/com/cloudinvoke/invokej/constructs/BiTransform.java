@@ -0,0 +1,20 @@
+package com.cloudinvoke.invokej.constructs;
+
+/**
+ * Allows defining the transformation of two objects into one, e.g. to combine elements or to fold
+ * an element into an accumulated value.
+ * 
+ * @see Transform
+ * 
+ * @author Hannes de Jager
+ * @since 17 Oct 2026 
+ *
+ * @param <INPUT1> The first object to transform
+ * @param <INPUT2> The second object to transform
+ * @param <OUTPUT> The transformed result
+ */
+public interface BiTransform<INPUT1, INPUT2, OUTPUT> {
+
+	OUTPUT transform(INPUT1 input1, INPUT2 input2);
+	
+}
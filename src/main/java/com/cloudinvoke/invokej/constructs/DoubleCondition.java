@@ -0,0 +1,14 @@
+package com.cloudinvoke.invokej.constructs;
+
+/**
+ * A condition on a primitive double. The primitive counterpart of a {@link Transform} to 
+ * {@link Boolean} used as condition.
+ * 
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface DoubleCondition {
+
+	boolean check(double input);
+	
+}
@@ -0,0 +1,15 @@
+package com.cloudinvoke.invokej.constructs;
+
+/**
+ * Allows defining the transformation of a primitive double to another double without boxing.
+ * 
+ * @see Transform
+ * 
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface DoubleTransform {
+
+	double transform(double input);
+	
+}
@@ -0,0 +1,14 @@
+package com.cloudinvoke.invokej.constructs;
+
+/**
+ * A condition on a primitive int. The primitive counterpart of a {@link Transform} to 
+ * {@link Boolean} used as condition.
+ * 
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface IntCondition {
+
+	boolean check(int input);
+	
+}
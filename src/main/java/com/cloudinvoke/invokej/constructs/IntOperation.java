@@ -0,0 +1,15 @@
+package com.cloudinvoke.invokej.constructs;
+
+/**
+ * Can be used to encapsulate code to be performed on a primitive int without boxing it.
+ * 
+ * @see Operation
+ * 
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface IntOperation {
+
+	void perform(int input);
+	
+}
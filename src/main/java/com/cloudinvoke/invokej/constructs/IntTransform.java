@@ -0,0 +1,15 @@
+package com.cloudinvoke.invokej.constructs;
+
+/**
+ * Allows defining the transformation of a primitive int to another int without boxing.
+ * 
+ * @see Transform
+ * 
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface IntTransform {
+
+	int transform(int input);
+	
+}
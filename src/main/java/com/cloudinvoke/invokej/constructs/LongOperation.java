@@ -0,0 +1,15 @@
+package com.cloudinvoke.invokej.constructs;
+
+/**
+ * Can be used to encapsulate code to be performed on a primitive long without boxing it.
+ * 
+ * @see Operation
+ * 
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface LongOperation {
+
+	void perform(long input);
+	
+}
@@ -0,0 +1,15 @@
+package com.cloudinvoke.invokej.constructs;
+
+/**
+ * Allows defining the transformation of a primitive long to another long without boxing.
+ * 
+ * @see Transform
+ * 
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface LongTransform {
+
+	long transform(long input);
+	
+}
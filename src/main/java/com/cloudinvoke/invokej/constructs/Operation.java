@@ -1,15 +1,31 @@
 package com.cloudinvoke.invokej.constructs;
 
+import java.util.function.Consumer;
+
 /**
  * Can be used to encapsulate code to be performed on some input.
+ * <p>
+ * An operation is also a {@link Consumer}, so a method overloaded for both, such as
+ * {@link com.cloudinvoke.invokej.it.IterableExt#forEach(Operation)} next to 
+ * {@link Iterable#forEach(Consumer)}, resolves a lambda to the operation overload instead of being
+ * ambiguous.
  * 
  * @author Hannes de Jager
  * @since 26 Aug 2008
  *
  * @param <CONTEXT>
  */
-public interface Operation<CONTEXT> {
+public interface Operation<CONTEXT> extends Consumer<CONTEXT> {
 
 	void perform(CONTEXT context);
 	
+	/**
+	 * Performs the operation.
+	 * 
+	 * @see #perform(Object)
+	 */
+	default void accept(CONTEXT context) {
+		perform(context);
+	}
+	
 }
@@ -0,0 +1,17 @@
+package com.cloudinvoke.invokej.constructs;
+
+/**
+ * Allows defining the transformation of an object to a primitive long without boxing the result.
+ * 
+ * @see Transform
+ * 
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ *
+ * @param <INPUT> The object to transform
+ */
+public interface ToLongTransform<INPUT> {
+
+	long transform(INPUT input);
+	
+}
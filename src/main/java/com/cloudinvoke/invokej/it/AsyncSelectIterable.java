@@ -0,0 +1,375 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cloudinvoke.invokej.constructs.io.IoTransform;
+
+/**
+ * An {@link Iterable} that applies a blocking {@link IoTransform} to up to a maximum number of
+ * upstream elements concurrently.
+ * <p>
+ * Every iterator runs its own workers, either on the specified {@link Executor} or on new daemon
+ * threads. A worker takes the next upstream element, transforms it and hands the result to the
+ * iterator, until upstream is exhausted. At most twice the maximum concurrency of elements are
+ * taken from upstream but not yet consumed; workers wait when this window is full, which bounds
+ * the memory used for results that complete ahead of their turn.
+ * <p>
+ * In ordered mode the results are yielded in upstream order from a ring of slots indexed by the
+ * position of the element, otherwise they are yielded as they complete. An exception thrown by
+ * upstream or by the transform stops the workers and is rethrown by the iterator, in ordered mode
+ * once the consumer reaches the position of the failure. {@link IOException}s are rethrown as
+ * {@link UncheckedIOException}s. The last worker to stop closes the upstream iterator if it is
+ * {@link Closeable}.
+ *
+ * @see IterableExt#selectAsync(IoTransform, int)
+ * @see IterableExt#selectAsyncUnordered(IoTransform, int)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class AsyncSelectIterable<T, O> implements Iterable<O>, Sized {
+
+    /** Stands in for null results so that an empty slot can be told apart */
+    private static final Object NULL = new Object();
+
+    /** How long a waiting worker sleeps before checking if the iterator was abandoned */
+    private static final long POLL_MILLIS = 100;
+
+    /** Numbers the worker threads */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final Iterable<T> upstream;
+    private final IoTransform<T, O> transform;
+    private final int maxConcurrency;
+    private final boolean ordered;
+    private final Executor executor;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to transform.
+     * @param transform The transform to apply to every element.
+     * @param maxConcurrency The maximum amount of elements to transform at the same time.
+     * @param ordered True to yield the results in upstream order.
+     * @param executor Runs the workers or null to start a daemon thread per worker.
+     */
+    AsyncSelectIterable(Iterable<T> upstream, IoTransform<T, O> transform, int maxConcurrency,
+            boolean ordered, Executor executor) {
+        this.upstream = upstream;
+        this.transform = transform;
+        this.maxConcurrency = maxConcurrency;
+        this.ordered = ordered;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<O> iterator() {
+        int workers = maxConcurrency;
+        int size = Itq.maxSize(upstream);
+        if (size >= 0)
+            workers = Math.min(workers, Math.max(1, size));
+
+        AsyncIterator iterator = new AsyncIterator(new State(upstream.iterator(), workers));
+        WeakReference<Object> consumer = new WeakReference<Object>(iterator);
+        for (int i = 0; i < workers; i++) {
+            Worker worker = new Worker(iterator.state, consumer);
+            if (executor != null)
+                executor.execute(worker);
+            else {
+                Thread thread = new Thread(worker, "Itq-async-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+        return iterator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return Itq.exactSize(upstream);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return Itq.maxSize(upstream);
+    }
+
+    /**
+     * Wraps an exception so that it can be handed over as a result.
+     */
+    private static final class Failure {
+
+        final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * The state shared by the workers and the iterator of one iteration. All fields except the
+     * upstream iterator are guarded by the instance's lock.
+     */
+    private final class State {
+
+        /** Guarded by {@link #sourceLock} */
+        private final Iterator<T> source;
+        private final Object sourceLock = new Object();
+        /** Guarded by {@link #sourceLock}. The position of the next upstream element. */
+        private long position;
+        /** Guarded by {@link #sourceLock} */
+        private boolean exhausted;
+
+        /** The maximum amount of elements taken from upstream but not yet consumed */
+        final int window;
+        /** The amount of elements taken or about to be taken from upstream but not yet consumed */
+        int reserved;
+        /** The amount of workers that have not finished */
+        int activeWorkers;
+        /** True once the iterator was closed or a failure was consumed */
+        boolean cancelled;
+
+        /** Ordered mode: the results by position modulo the window size */
+        final Object[] slots;
+        /** Ordered mode: the position of the next result to yield */
+        long emitted;
+        /** Unordered mode: the results in order of completion */
+        final ArrayDeque<Object> completed;
+
+        State(Iterator<T> source, int workers) {
+            this.source = source;
+            this.activeWorkers = workers;
+            this.window = workers * 2;
+            this.slots = ordered ? new Object[window] : null;
+            this.completed = ordered ? null : new ArrayDeque<Object>(window);
+        }
+
+        /**
+         * Takes the next upstream element for a worker.
+         *
+         * @return The element and its position or null if upstream is exhausted.
+         */
+        Object[] take() {
+            synchronized (sourceLock) {
+                if (exhausted)
+                    return null;
+                long p = position++;
+                try {
+                    if (source.hasNext())
+                        return new Object[] { source.next(), p };
+                    exhausted = true;
+                    position--;
+                    return null;
+                }
+                catch (Throwable t) {
+                    exhausted = true;
+                    return new Object[] { new Failure(t), p };
+                }
+            }
+        }
+
+        /**
+         * Closes the upstream iterator once no worker reads from it any more. Exhausted sources
+         * have closed themselves already; this releases one that the workers stopped reading
+         * early. A failure to close is not reported, as every result has been handed over by
+         * then.
+         */
+        void closeSource() {
+            synchronized (sourceLock) {
+                exhausted = true;
+                try {
+                    Itq.close(source);
+                }
+                catch (RuntimeException e) {
+                    // Nothing to report it to
+                }
+            }
+        }
+
+        /**
+         * Hands a result over to the iterator. Must be called while holding this instance's lock.
+         */
+        void complete(long position, Object result) {
+            if (ordered)
+                slots[(int)(position % window)] = result;
+            else
+                completed.add(result);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Transforms upstream elements until there are no more.
+     */
+    private final class Worker implements Runnable {
+
+        private final State state;
+
+        /** The iterator, which the worker must not keep reachable */
+        private final WeakReference<Object> consumer;
+
+        Worker(State state, WeakReference<Object> consumer) {
+            this.state = state;
+            this.consumer = consumer;
+        }
+
+        @SuppressWarnings("unchecked")
+        public void run() {
+            try {
+                while (reserve()) {
+                    Object[] taken = state.take();
+                    if (taken == null) {
+                        synchronized (state) {
+                            state.reserved--;
+                        }
+                        return;
+                    }
+                    Object result = taken[0];
+                    if (!(result instanceof Failure)) {
+                        try {
+                            result = transform.transform((T)taken[0]);
+                            if (result == null)
+                                result = NULL;
+                        }
+                        catch (Throwable t) {
+                            result = new Failure(t);
+                        }
+                    }
+                    synchronized (state) {
+                        state.complete((Long)taken[1], result);
+                    }
+                }
+            }
+            finally {
+                boolean last;
+                synchronized (state) {
+                    last = --state.activeWorkers == 0;
+                    state.notifyAll();
+                }
+                if (last)
+                    state.closeSource();
+            }
+        }
+
+        /**
+         * Waits for room in the window and reserves it for the next element.
+         *
+         * @return false if the worker should stop.
+         */
+        private boolean reserve() {
+            synchronized (state) {
+                try {
+                    while (!state.cancelled && state.reserved >= state.window) {
+                        state.wait(POLL_MILLIS);
+                        if (consumer.get() == null)
+                            return false;
+                    }
+                }
+                catch (InterruptedException e) {
+                    return false;
+                }
+                if (state.cancelled)
+                    return false;
+                state.reserved++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Yields the results. Closing it stops the workers once they finish their current element.
+     */
+    private final class AsyncIterator extends NoRemoveIterator<O> implements Closeable {
+
+        final State state;
+        private Object nextValue;
+
+        AsyncIterator(State state) {
+            this.state = state;
+        }
+
+        public boolean hasNext() {
+            if (nextValue == null) {
+                synchronized (state) {
+                    if (state.cancelled)
+                        return false;
+                    try {
+                        while ((nextValue = poll()) == null) {
+                            if (state.activeWorkers == 0 || state.cancelled)
+                                return false;
+                            state.wait();
+                        }
+                    }
+                    catch (InterruptedException e) {
+                        close();
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for the next result", e);
+                    }
+                    state.reserved--;
+                    state.notifyAll();
+                }
+            }
+            if (nextValue instanceof Failure) {
+                close();
+                Throwable cause = ((Failure)nextValue).cause;
+                if (cause instanceof IOException)
+                    throw new UncheckedIOException((IOException)cause);
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException)cause;
+                if (cause instanceof Error)
+                    throw (Error)cause;
+                throw new IllegalStateException(cause);
+            }
+            return true;
+        }
+
+        /**
+         * Removes the next result to yield. Must be called while holding the state's lock.
+         *
+         * @return The result or null if it is not available yet.
+         */
+        private Object poll() {
+            if (!ordered)
+                return state.completed.poll();
+            int slot = (int)(state.emitted % state.window);
+            Object result = state.slots[slot];
+            if (result != null) {
+                state.slots[slot] = null;
+                state.emitted++;
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        public O next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Object result = nextValue;
+            nextValue = null;
+            return result == NULL ? null : (O)result;
+        }
+
+        public void close() {
+            synchronized (state) {
+                state.cancelled = true;
+                state.notifyAll();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterable} that iterates its upstream only once and remembers the elements so that
+ * they can be replayed by later iterators. Elements are pulled from upstream lazily, as the
+ * leading iterator advances, so nothing is read before it is needed.
+ * <p>
+ * Iterators may be used from multiple threads concurrently.
+ * <p>
+ * If a limit is set and upstream yields more elements than the limit, the buffer is discarded.
+ * The iterator that was leading at that point continues to stream the remaining upstream
+ * elements, but any other iterator that needs an element that is no longer buffered fails with
+ * an {@link IllegalStateException}.
+ *
+ * @see IterableExt#cached()
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class CachedIterable<T> implements Iterable<T>, Sized {
+
+    /** The iterable that is iterated once */
+    private final Iterable<T> upstream;
+
+    /** The maximum amount of elements to buffer or -1 for no limit */
+    private final int limit;
+
+    /** The upstream iterator. Null before the first element is pulled and after exhaustion. */
+    private Iterator<T> source;
+
+    /** The elements pulled so far. Null once the limit was exceeded. */
+    private List<T> buffer = new ArrayList<T>();
+
+    /** The amount of elements pulled from upstream so far */
+    private int produced;
+
+    /** True once upstream has no more elements */
+    private boolean exhausted;
+
+    /** The iterator that continues streaming after the limit was exceeded */
+    private Reader owner;
+
+    /** The last element pulled by {@link #owner} after the limit was exceeded */
+    private T pending;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The iterable to iterate only once.
+     * @param limit The maximum amount of elements to buffer or -1 for no limit.
+     */
+    CachedIterable(Iterable<T> upstream, int limit) {
+        this.upstream = upstream;
+        this.limit = limit;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<T> iterator() {
+        return new Reader();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized int exactSize() {
+        return exhausted ? produced : Itq.exactSize(upstream);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized int maxSize() {
+        return exhausted ? produced : Itq.maxSize(upstream);
+    }
+
+    /**
+     * Makes sure the element at the reader's position is available, pulling it from upstream
+     * if needed. Must be called while holding this instance's lock.
+     *
+     * @return false if upstream has no element at the reader's position.
+     */
+    private boolean fetch(Reader reader) {
+        int index = reader.index;
+        if (index < produced) {
+            if (buffer == null && (reader != owner || index != produced - 1))
+                throw overflow();
+            return true;
+        }
+        if (exhausted)
+            return false;
+        if (buffer == null && reader != owner)
+            throw overflow();
+
+        if (source == null)
+            source = upstream.iterator();
+        if (!source.hasNext()) {
+            exhausted = true;
+            source = null;
+            return false;
+        }
+        T value = source.next();
+        produced++;
+        if (buffer != null && limit >= 0 && buffer.size() >= limit) {
+            buffer = null;
+            owner = reader;
+        }
+        if (buffer != null)
+            buffer.add(value);
+        else
+            pending = value;
+        return true;
+    }
+
+    private IllegalStateException overflow() {
+        return new IllegalStateException(
+            "Cache limit of " + limit + " elements exceeded, the elements can no longer be replayed");
+    }
+
+    /**
+     * An iterator over the cache that keeps its own position.
+     */
+    private final class Reader extends NoRemoveIterator<T> {
+
+        private int index;
+
+        public boolean hasNext() {
+            synchronized (CachedIterable.this) {
+                return fetch(this);
+            }
+        }
+
+        public T next() {
+            synchronized (CachedIterable.this) {
+                if (!fetch(this))
+                    throw new NoSuchElementException();
+                T result = buffer != null ? buffer.get(index) : pending;
+                index++;
+                return result;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * A {@link NoRemoveIterator} that reads from a source iterator and closes it when it is closed
+ * itself. Iterators that wrap an upstream iterator extend it so that closing the end of a
+ * pipeline reaches a source that holds a resource, such as the file of
+ * {@link Itq#fromLines(java.nio.file.Path, java.nio.charset.Charset)}. Closing a source that is
+ * not {@link Closeable} does nothing.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+abstract class ClosingIterator<T> extends NoRemoveIterator<T> implements Closeable {
+
+    private final Iterator<?> source;
+
+    /**
+     * Constructor.
+     *
+     * @param source The iterator to close with this one.
+     */
+    ClosingIterator(Iterator<?> source) {
+        this.source = source;
+    }
+
+    /**
+     * Closes the source iterator. I/O errors are thrown as
+     * {@link java.io.UncheckedIOException}s.
+     */
+    public void close() {
+        Itq.close(source);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * An {@link Iterable} that yields the first element of its upstream for every distinct key. The
+ * keys seen so far are kept in a hash set per iterator, which starts small and grows with the
+ * number of distinct keys rather than with the number of elements. Elements are streamed, so
+ * nothing is read before it is needed.
+ *
+ * @see IterableExt#distinct()
+ * @see IterableExt#distinctBy(Transform)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class DistinctIterable<T, K> implements Iterable<T>, Sized {
+
+    private final IterableExt<T> upstream;
+
+    /** Produces the key of an element or null to use the element itself */
+    private final Transform<T, K> keyProducer;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to remove the duplicates from.
+     * @param keyProducer Produces the key that determines if elements are duplicates, or null to
+     *        compare the elements themselves.
+     */
+    DistinctIterable(IterableExt<T> upstream, Transform<T, K> keyProducer) {
+        this.upstream = upstream;
+        this.keyProducer = keyProducer;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<T> iterator() {
+        final Iterator<T> source = upstream.iterator();
+        return new ClosingIterator<T>(source) {
+
+            private final Set<Object> seen = new HashSet<Object>();
+            private T nextValue;
+            private boolean fetched;
+
+            public boolean hasNext() {
+                while (!fetched && source.hasNext()) {
+                    T value = source.next();
+                    if (seen.add(keyProducer == null ? value : keyProducer.transform(value))) {
+                        nextValue = value;
+                        fetched = true;
+                    }
+                }
+                return fetched;
+            }
+
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                T result = nextValue;
+                nextValue = null;
+                fetched = false;
+                return result;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        // Only zero or one elements are certain to contain no duplicates
+        int size = Itq.exactSize(upstream);
+        return size == 0 || size == 1 ? size : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return Itq.maxSize(upstream);
+    }
+
+}
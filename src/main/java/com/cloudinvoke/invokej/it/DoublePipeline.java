@@ -0,0 +1,260 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import com.cloudinvoke.invokej.ArgumentNullException;
+import com.cloudinvoke.invokej.constructs.DoubleCondition;
+import com.cloudinvoke.invokej.constructs.DoubleOperation;
+import com.cloudinvoke.invokej.constructs.DoubleTransform;
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.ToDoubleTransform;
+
+/**
+ * The implementation of {@link DoubleIterableExt}. The source is either a double array or an
+ * {@link IterableExt} together with the {@link ToDoubleTransform} that converts its elements. Like
+ * {@link Stages} does for objects, the where and select stages are fused into a single loop.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class DoublePipeline extends PrimitivePipeline<DoublePipeline, DoubleCondition, DoubleTransform, Double>
+        implements DoubleIterableExt {
+
+    /** The source array, or null if the source is {@link #objects} */
+    private final double[] array;
+
+    /** Converts {@link #objects} elements to double */
+    private final ToDoubleTransform<Object> toDouble;
+
+    /**
+     * Constructor.
+     *
+     * @param array The source array.
+     */
+    DoublePipeline(double[] array) {
+        this(array, null, null, new DoubleCondition[0], new DoubleTransform[0]);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param objects The source.
+     * @param toDouble The conversion of the source elements.
+     */
+    @SuppressWarnings("unchecked")
+    <T> DoublePipeline(IterableExt<T> objects, ToDoubleTransform<? super T> toDouble) {
+        this(null, (IterableExt<Object>)objects, (ToDoubleTransform<Object>)toDouble,
+            new DoubleCondition[0], new DoubleTransform[0]);
+    }
+
+    private DoublePipeline(double[] array, IterableExt<Object> objects, ToDoubleTransform<Object> toDouble,
+            DoubleCondition[] conditions, DoubleTransform[] transforms) {
+        super(objects, conditions, transforms);
+        this.array = array;
+        this.toDouble = toDouble;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    DoublePipeline withStages(DoubleCondition[] conditions, DoubleTransform[] transforms) {
+        return new DoublePipeline(array, objects, toDouble, conditions, transforms);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    int arrayLength() {
+        return array.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DoubleIterableExt where(DoubleCondition condition) {
+        return appendWhere(condition);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DoubleIterableExt select(DoubleTransform transform) {
+        return appendSelect(transform);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void forEach(final DoubleOperation operation) {
+        if (operation == null)
+            throw new ArgumentNullException("operation");
+
+        if (array != null) {
+            for (double value : array)
+                push(value, operation);
+        }
+        else {
+            objects.forEach(new Operation<Object>() {
+                public void perform(Object o) {
+                    push(toDouble.transform(o), operation);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs the value through the stages and performs the operation on the result unless a where
+     * stage rejected it.
+     */
+    private void push(double value, DoubleOperation operation) {
+        DoubleCondition[] c = conditions;
+        DoubleTransform[] t = transforms;
+        for (int i = 0; i < c.length; i++) {
+            if (c[i] != null) {
+                if (!c[i].check(value))
+                    return;
+            }
+            else
+                value = t[i].transform(value);
+        }
+        operation.perform(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public PrimitiveIterator.OfDouble iterator() {
+        return new DoubleIterator();
+    }
+
+    /**
+     * Pulls the elements through the stages.
+     */
+    private final class DoubleIterator extends StageIterator implements PrimitiveIterator.OfDouble {
+
+        private double nextValue;
+
+        public boolean hasNext() {
+            fetch:
+            while (!fetched) {
+                double value;
+                if (it == null) {
+                    if (index >= array.length)
+                        return false;
+                    value = array[index++];
+                }
+                else {
+                    if (!it.hasNext())
+                        return false;
+                    value = toDouble.transform(it.next());
+                }
+                for (int i = 0; i < conditions.length; i++) {
+                    if (conditions[i] != null) {
+                        if (!conditions[i].check(value))
+                            continue fetch;
+                    }
+                    else
+                        value = transforms[i].transform(value);
+                }
+                nextValue = value;
+                fetched = true;
+            }
+            return true;
+        }
+
+        public double nextDouble() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            fetched = false;
+            return nextValue;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    long count() {
+        return summarize().count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double sum() {
+        return summarize().sum;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double min() throws NoSuchElementException {
+        Summary summary = summarize();
+        if (summary.count == 0)
+            throw new NoSuchElementException();
+        return summary.min;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double max() throws NoSuchElementException {
+        Summary summary = summarize();
+        if (summary.count == 0)
+            throw new NoSuchElementException();
+        return summary.max;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double average() {
+        Summary summary = summarize();
+        return summary.count == 0 ? Double.NaN : summary.sum / summary.count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double[] toArray() {
+        final double[][] buffer = { new double[initialCapacity()] };
+        final int[] size = { 0 };
+        forEach(new DoubleOperation() {
+            public void perform(double value) {
+                if (size[0] == buffer[0].length)
+                    buffer[0] = Arrays.copyOf(buffer[0], grownCapacity(size[0]));
+                buffer[0][size[0]++] = value;
+            }
+        });
+        return size[0] == buffer[0].length ? buffer[0] : Arrays.copyOf(buffer[0], size[0]);
+    }
+
+    /**
+     * Runs the pipeline, gathering the count, sum, minimum and maximum in a single pass.
+     */
+    private Summary summarize() {
+        Summary summary = new Summary();
+        forEach(summary);
+        return summary;
+    }
+
+    /**
+     * Accumulates the statistics of the elements pushed to it.
+     */
+    private static final class Summary implements DoubleOperation {
+
+        long count;
+        double sum;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        public void perform(double value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+
+}
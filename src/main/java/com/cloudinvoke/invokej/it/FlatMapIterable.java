@@ -0,0 +1,168 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * An {@link Iterable} that yields the elements of the inner iterables that a transform produces
+ * for the elements of its upstream, one inner iterable after the other. The inner iterables are
+ * only produced when the iteration reaches them, and null or empty ones are skipped in a loop, so
+ * any amount of them in a row is fine.
+ * <p>
+ * Without a transform the upstream elements are the inner iterables themselves. The size is then
+ * known if upstream is a {@link Collection} of which all the inner iterables know their size.
+ *
+ * @see IterableExt#selectMany(Transform)
+ * @see Itq#flatten(Iterable)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class FlatMapIterable<T, O> implements Iterable<O>, Sized {
+
+    private final Iterable<T> upstream;
+    private final Transform<T, ? extends Iterable<O>> transform;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to produce the inner iterables for.
+     * @param transform Produces the inner iterable for an upstream element, or null if the upstream
+     *            elements are the inner iterables.
+     */
+    FlatMapIterable(Iterable<T> upstream, Transform<T, ? extends Iterable<O>> transform) {
+        this.upstream = upstream;
+        this.transform = transform;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<O> iterator() {
+        return new FlatIterator(upstream.iterator());
+    }
+
+    /**
+     * Walks the inner iterables. Closing it closes the current inner iterator and the upstream
+     * iterator.
+     */
+    private final class FlatIterator implements Iterator<O>, Closeable {
+
+        private final Iterator<T> outer;
+
+        /** The iterator of the current inner iterable */
+        private Iterator<O> inner;
+
+        /** The iterator that returned the last element, for {@link #remove()} */
+        private Iterator<O> last;
+
+        FlatIterator(Iterator<T> outer) {
+            this.outer = outer;
+        }
+
+        public boolean hasNext() {
+            while (inner == null || !inner.hasNext()) {
+                if (!outer.hasNext()) {
+                    inner = null;
+                    return false;
+                }
+                Iterable<O> next = inner(outer.next());
+                inner = next != null ? next.iterator() : null;
+            }
+            return true;
+        }
+
+        public O next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            last = inner;
+            return inner.next();
+        }
+
+        public void remove() {
+            if (last == null)
+                throw new IllegalStateException();
+            last.remove();
+        }
+
+        public void close() {
+            try {
+                Itq.close(inner);
+            }
+            finally {
+                Itq.close(outer);
+            }
+        }
+    }
+
+    /**
+     * Adds all the elements to a collection. Inner iterables that are collections are added with
+     * {@link Collection#addAll(Collection)}, which lets a list grow once per inner collection
+     * instead of checking its capacity for every element.
+     *
+     * @param target The collection to add to.
+     */
+    void addTo(Collection<? super O> target) {
+        for (T element : upstream) {
+            Iterable<O> next = inner(element);
+            if (next instanceof Collection)
+                target.addAll((Collection<O>)next);
+            else if (next != null) {
+                for (O o : next)
+                    target.add(o);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Iterable<O> inner(T element) {
+        return transform != null ? transform.transform(element) : (Iterable<O>)element;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return size(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return size(false);
+    }
+
+    /**
+     * Sums the sizes of the inner iterables if they can be had without running the transform or
+     * any upstream stages.
+     *
+     * @param exact True for the exact size, false for the maximum size.
+     * @return The size or -1 if it is unknown.
+     */
+    private int size(boolean exact) {
+        if ((exact ? Itq.exactSize(upstream) : Itq.maxSize(upstream)) == 0)
+            return 0;
+        if (transform != null || !(upstream instanceof Collection))
+            return -1;
+        long total = 0;
+        for (T element : upstream) {
+            if (element == null)
+                continue;
+            Iterable<?> next = (Iterable<?>)element;
+            int size = exact ? Itq.exactSize(next) : Itq.maxSize(next);
+            if (size < 0)
+                return -1;
+            total += size;
+            if (total > Integer.MAX_VALUE)
+                return -1;
+        }
+        return (int)total;
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * An {@link Iterable} over consecutive groups of a fixed amount of upstream elements, of which
+ * only the last may be smaller.
+ * <p>
+ * How a group is produced depends on the upstream:
+ * <ul>
+ * <li>A random access list is not copied at all. Every group is a read-only {@link ListRange}
+ * view of the list.</li>
+ * <li>Otherwise the elements are copied into a new list per group, or, if buffer reuse was
+ * requested, into a single list per iterator that is cleared and refilled for every group.</li>
+ * </ul>
+ *
+ * @see IterableExt#inGroupsOf(int, boolean)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class GroupIterable<T> implements Iterable<List<T>>, Sized {
+
+    private final Iterable<T> upstream;
+    private final int count;
+    private final boolean reuseBuffer;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to group.
+     * @param count The amount of elements per group.
+     * @param reuseBuffer True to fill the same list for every group of a streamed upstream.
+     */
+    GroupIterable(Iterable<T> upstream, int count, boolean reuseBuffer) {
+        this.upstream = upstream;
+        this.count = count;
+        this.reuseBuffer = reuseBuffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<List<T>> iterator() {
+        if (upstream instanceof List<?> && upstream instanceof RandomAccess)
+            return views((List<T>)upstream);
+        return copies(upstream.iterator());
+    }
+
+    /**
+     * Creates an iterator over views of a random access list.
+     */
+    private Iterator<List<T>> views(final List<T> list) {
+        return new NoRemoveIterator<List<T>>() {
+
+            private int offset;
+
+            public boolean hasNext() {
+                return offset < list.size();
+            }
+
+            public List<T> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                List<T> group = ListRange.of(list, offset, count);
+                offset += count;
+                return group;
+            }
+        };
+    }
+
+    /**
+     * Creates an iterator that copies the elements of a streamed upstream into lists.
+     */
+    private Iterator<List<T>> copies(final Iterator<T> source) {
+        return new ClosingIterator<List<T>>(source) {
+
+            private final List<T> buffer = reuseBuffer ? new ArrayList<T>(count) : null;
+
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            public List<T> next() {
+                if (!source.hasNext())
+                    throw new NoSuchElementException();
+                List<T> group = buffer;
+                if (group == null)
+                    group = new ArrayList<T>(count);
+                else
+                    group.clear();
+                for (int i = 0; i < count && source.hasNext(); i++)
+                    group.add(source.next());
+                return group;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return groups(Itq.exactSize(upstream));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return groups(Itq.maxSize(upstream));
+    }
+
+    /**
+     * Determines the amount of groups for the specified amount of elements.
+     */
+    private int groups(int size) {
+        return size >= 0 ? (int)(((long)size + count - 1) / count) : -1;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import com.cloudinvoke.invokej.constructs.BiTransform;
+import com.cloudinvoke.invokej.constructs.Factory;
+import com.cloudinvoke.invokej.constructs.ToDoubleTransform;
+import com.cloudinvoke.invokej.constructs.ToLongTransform;
+
+/**
+ * The elements of an {@link IterableExt} grouped by key, as returned by 
+ * {@link IterableExt#groupBy(com.cloudinvoke.invokej.constructs.Transform)}. 
+ * <p>
+ * Nothing is evaluated until one of the methods is called, and every call iterates the elements
+ * again. Except for {@link #toMap()}, the methods stream the elements into one accumulator per key
+ * and do not keep the group members themselves, so memory use depends only on the amount of keys.
+ * 
+ * @param <K> The key type
+ * @param <T> The element type
+ * 
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface Grouping<K, T> {
+
+    /**
+     * Collects the members of every group.
+     * 
+     * @return A map from key to the group members in encounter order. Will never be null.
+     */
+    public Map<K, List<T>> toMap();
+    
+    /**
+     * Counts the members of every group.
+     * 
+     * @return A map from key to member count. Will never be null.
+     */
+    public Map<K, Integer> count();
+    
+    /**
+     * Sums a long value of the members of every group.
+     * 
+     * @param value Produces the value to sum from a member.
+     * @return A map from key to sum. Will never be null.
+     */
+    public Map<K, Long> sumLong(ToLongTransform<T> value);
+    
+    /**
+     * Sums a double value of the members of every group.
+     * 
+     * @param value Produces the value to sum from a member.
+     * @return A map from key to sum. Will never be null.
+     */
+    public Map<K, Double> sumDouble(ToDoubleTransform<T> value);
+    
+    /**
+     * Finds the smallest member of every group. Of equal members the first one is kept.
+     * 
+     * @param comparator Determines the order of the members.
+     * @return A map from key to smallest member. Will never be null.
+     */
+    public Map<K, T> min(Comparator<? super T> comparator);
+    
+    /**
+     * Finds the largest member of every group. Of equal members the first one is kept.
+     * 
+     * @param comparator Determines the order of the members.
+     * @return A map from key to largest member. Will never be null.
+     */
+    public Map<K, T> max(Comparator<? super T> comparator);
+    
+    /**
+     * Folds the members of every group into an accumulated value. 
+     * 
+     * @param <A> The accumulated value type
+     * @param initial Creates the initial accumulated value when a key is first encountered.
+     * @param folder Combines the accumulated value with the next member into the new 
+     *          accumulated value. It may return the same (mutated) instance.
+     * @return A map from key to accumulated value. Will never be null.
+     */
+    public <A> Map<K, A> fold(Factory<A> initial, BiTransform<A, T, A> folder);
+    
+}
@@ -0,0 +1,209 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.cloudinvoke.invokej.ArgumentNullException;
+import com.cloudinvoke.invokej.constructs.BiTransform;
+import com.cloudinvoke.invokej.constructs.Factory;
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.ToDoubleTransform;
+import com.cloudinvoke.invokej.constructs.ToLongTransform;
+import com.cloudinvoke.invokej.constructs.Transform;
+import com.cloudinvoke.invokej.structs.OutParam;
+
+/**
+ * The implementation of {@link Grouping}. Every method pushes the elements through a hash map
+ * from key to a mutable accumulator so that each element costs a single lookup. Count and sum
+ * accumulate in primitive fields; the values are boxed once per key when the map is returned.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class GroupingImpl<K, T> implements Grouping<K, T> {
+
+    private final IterableExt<T> elements;
+    private final Transform<T, K> keyProducer;
+
+    /**
+     * Constructor.
+     *
+     * @param elements The elements to group.
+     * @param keyProducer Produces the group key of an element.
+     */
+    GroupingImpl(IterableExt<T> elements, Transform<T, K> keyProducer) {
+        this.elements = elements;
+        this.keyProducer = keyProducer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<K, List<T>> toMap() {
+        final Map<K, List<T>> map = new HashMap<K, List<T>>();
+        elements.forEach(new Operation<T>() {
+            public void perform(T t) {
+                K key = keyProducer.transform(t);
+                List<T> group = map.get(key);
+                if (group == null)
+                    map.put(key, group = new ArrayList<T>());
+                group.add(t);
+            }
+        });
+        return map;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<K, Integer> count() {
+        final Map<K, Object> map = new HashMap<K, Object>();
+        elements.forEach(new Operation<T>() {
+            public void perform(T t) {
+                K key = keyProducer.transform(t);
+                IntCounter counter = (IntCounter)map.get(key);
+                if (counter == null)
+                    map.put(key, counter = new IntCounter());
+                counter.value++;
+            }
+        });
+        for (Map.Entry<K, Object> entry : map.entrySet())
+            entry.setValue(((IntCounter)entry.getValue()).value);
+        return cast(map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<K, Long> sumLong(final ToLongTransform<T> value) {
+        if (value == null)
+            throw new ArgumentNullException("value");
+        final Map<K, Object> map = new HashMap<K, Object>();
+        elements.forEach(new Operation<T>() {
+            public void perform(T t) {
+                K key = keyProducer.transform(t);
+                LongSum sum = (LongSum)map.get(key);
+                if (sum == null)
+                    map.put(key, sum = new LongSum());
+                sum.value += value.transform(t);
+            }
+        });
+        for (Map.Entry<K, Object> entry : map.entrySet())
+            entry.setValue(((LongSum)entry.getValue()).value);
+        return cast(map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<K, Double> sumDouble(final ToDoubleTransform<T> value) {
+        if (value == null)
+            throw new ArgumentNullException("value");
+        final Map<K, Object> map = new HashMap<K, Object>();
+        elements.forEach(new Operation<T>() {
+            public void perform(T t) {
+                K key = keyProducer.transform(t);
+                DoubleSum sum = (DoubleSum)map.get(key);
+                if (sum == null)
+                    map.put(key, sum = new DoubleSum());
+                sum.value += value.transform(t);
+            }
+        });
+        for (Map.Entry<K, Object> entry : map.entrySet())
+            entry.setValue(((DoubleSum)entry.getValue()).value);
+        return cast(map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<K, T> min(final Comparator<? super T> comparator) {
+        if (comparator == null)
+            throw new ArgumentNullException("comparator");
+        return extreme(comparator, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<K, T> max(final Comparator<? super T> comparator) {
+        if (comparator == null)
+            throw new ArgumentNullException("comparator");
+        return extreme(comparator, true);
+    }
+
+    /**
+     * Finds the minimum or maximum member of every group.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<K, T> extreme(final Comparator<? super T> comparator, final boolean max) {
+        final Map<K, Object> map = new HashMap<K, Object>();
+        elements.forEach(new Operation<T>() {
+            public void perform(T t) {
+                K key = keyProducer.transform(t);
+                OutParam<T> best = (OutParam<T>)map.get(key);
+                if (best == null)
+                    map.put(key, new OutParam<T>(t));
+                else {
+                    int c = comparator.compare(t, best.value);
+                    if (max ? c > 0 : c < 0)
+                        best.value = t;
+                }
+            }
+        });
+        for (Map.Entry<K, Object> entry : map.entrySet())
+            entry.setValue(((OutParam<T>)entry.getValue()).value);
+        return cast(map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public <A> Map<K, A> fold(final Factory<A> initial, final BiTransform<A, T, A> folder) {
+        if (initial == null)
+            throw new ArgumentNullException("initial");
+        if (folder == null)
+            throw new ArgumentNullException("folder");
+        final Map<K, Object> map = new HashMap<K, Object>();
+        elements.forEach(new Operation<T>() {
+            public void perform(T t) {
+                K key = keyProducer.transform(t);
+                OutParam<A> accumulator = (OutParam<A>)map.get(key);
+                if (accumulator == null)
+                    map.put(key, accumulator = new OutParam<A>(initial.createInstance()));
+                accumulator.value = folder.transform(accumulator.value, t);
+            }
+        });
+        for (Map.Entry<K, Object> entry : map.entrySet())
+            entry.setValue(((OutParam<A>)entry.getValue()).value);
+        return cast(map);
+    }
+
+    /**
+     * Casts a map of which all the accumulators were replaced by their values.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <K, V> Map<K, V> cast(Map<K, Object> map) {
+        return (Map<K, V>)(Map)map;
+    }
+
+    /** Accumulates a count */
+    private static final class IntCounter {
+        int value;
+    }
+
+    /** Accumulates a long sum */
+    private static final class LongSum {
+        long value;
+    }
+
+    /** Accumulates a double sum */
+    private static final class DoubleSum {
+        double value;
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.cloudinvoke.invokej.constructs.BiTransform;
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * An {@link Iterable} over the inner hash join of two iterables. When an iterator is requested a
+ * hash table is built from one side, after which the other side is streamed to probe it.
+ * <p>
+ * The table is built from the right side, so the results follow the order of the left side,
+ * unless the sizes of both sides are known up front and the left side is smaller. Then the table
+ * is built from the left side and the results follow the order of the right side. Null keys
+ * never match.
+ *
+ * @see IterableExt#join(Iterable, Transform, Transform, BiTransform)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class HashJoinIterable<L, R, K, O> implements Iterable<O> {
+
+    private final Iterable<L> left;
+    private final Iterable<R> right;
+    private final Transform<L, K> leftKey;
+    private final Transform<R, K> rightKey;
+    private final BiTransform<L, R, O> combiner;
+
+    /**
+     * Constructor.
+     */
+    HashJoinIterable(Iterable<L> left, Iterable<R> right, Transform<L, K> leftKey,
+            Transform<R, K> rightKey, BiTransform<L, R, O> combiner) {
+        this.left = left;
+        this.right = right;
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+        this.combiner = combiner;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    @SuppressWarnings("unchecked")
+    public Iterator<O> iterator() {
+        int leftSize = Itq.exactSize(left);
+        int rightSize = Itq.exactSize(right);
+        boolean buildLeft = leftSize >= 0 && rightSize >= 0 && leftSize < rightSize;
+
+        if (buildLeft) {
+            Map<Object, Object> table = build(left, (Transform<Object, Object>)leftKey, leftSize);
+            return new Probe(right.iterator(), (Transform<Object, Object>)rightKey, table, true);
+        }
+        Map<Object, Object> table = build(right, (Transform<Object, Object>)rightKey, rightSize);
+        return new Probe(left.iterator(), (Transform<Object, Object>)leftKey, table, false);
+    }
+
+    /** Stands in for null elements in the hash table */
+    private static final Object NULL = new Object();
+
+    /**
+     * Builds a hash table from key to either the single element with that key or a
+     * {@link Bucket} of all the elements with that key.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> build(Iterable<?> side, final Transform<Object, Object> key, int size) {
+        final Map<Object, Object> table = Itq.newHashMap(size);
+        Itq.from((Iterable<Object>)side).forEach(new Operation<Object>() {
+            public void perform(Object element) {
+                Object k = key.transform(element);
+                if (k == null)
+                    return;
+                Object value = element == null ? NULL : element;
+                Object existing = table.put(k, value);
+                if (existing instanceof Bucket) {
+                    ((Bucket)existing).add(value);
+                    table.put(k, existing);
+                }
+                else if (existing != null) {
+                    Bucket bucket = new Bucket();
+                    bucket.add(existing);
+                    bucket.add(value);
+                    table.put(k, bucket);
+                }
+            }
+        });
+        return table;
+    }
+
+    /**
+     * The elements of one side that share a key. A private type so that it cannot be mistaken for
+     * an element.
+     */
+    @SuppressWarnings("serial")
+    private static final class Bucket extends ArrayList<Object> {
+        Bucket() {
+            super(4);
+        }
+    }
+
+    /**
+     * Streams the probe side and yields the combination with every matching element in the table.
+     */
+    private final class Probe extends ClosingIterator<O> {
+
+        private final Iterator<?> probe;
+        private final Transform<Object, Object> probeKey;
+        private final Map<Object, Object> table;
+        private final boolean probeIsRight;
+
+        /** The current probe element */
+        private Object current;
+
+        /** The matches of {@link #current} */
+        private Object matches;
+
+        /** The index of the next match to combine if {@link #matches} is a {@link Bucket} */
+        private int index;
+
+        /** True if there is a match left to combine with {@link #current} */
+        private boolean pending;
+
+        Probe(Iterator<?> probe, Transform<Object, Object> probeKey, Map<Object, Object> table,
+                boolean probeIsRight) {
+            super(probe);
+            this.probe = probe;
+            this.probeKey = probeKey;
+            this.table = table;
+            this.probeIsRight = probeIsRight;
+        }
+
+        public boolean hasNext() {
+            while (!pending && probe.hasNext()) {
+                current = probe.next();
+                Object k = probeKey.transform(current);
+                matches = k == null ? null : table.get(k);
+                index = 0;
+                pending = matches != null;
+            }
+            return pending;
+        }
+
+        @SuppressWarnings("unchecked")
+        public O next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Object match;
+            if (matches instanceof Bucket) {
+                Bucket bucket = (Bucket)matches;
+                match = bucket.get(index++);
+                pending = index < bucket.size();
+            }
+            else {
+                match = matches;
+                pending = false;
+            }
+            if (match == NULL)
+                match = null;
+            if (probeIsRight)
+                return combiner.transform((L)match, (R)current);
+            return combiner.transform((L)current, (R)match);
+        }
+    }
+
+}
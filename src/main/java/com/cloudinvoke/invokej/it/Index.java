@@ -0,0 +1,263 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * An immutable hash index of elements by key, as returned by
+ * {@link IterableExt#toIndex(Transform)} and {@link IterableExt#toMultiIndex(Transform)}. It is
+ * built once and then answers any amount of lookups in constant time, from any amount of threads.
+ * <p>
+ * The index uses open addressing with linear probing over a table of longs that holds the key
+ * hashes and refers into a flat array of the keys and elements, so apart from the keys and
+ * elements themselves it takes a handful of arrays rather than an entry object per element like
+ * a {@link java.util.HashMap} does. The elements of a key are stored next to each other in
+ * encounter order. Keys are compared with {@link Object#equals(Object)}, and null is a valid key.
+ * <p>
+ * A unique index has at most one element per key; building it fails if two elements have equal
+ * keys. A multi index keeps all the elements of every key.
+ *
+ * @param <K> The key type
+ * @param <T> The element type
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public final class Index<K, T> {
+
+    private final boolean unique;
+
+    /**
+     * For every slot the spread hash of its key in the high 32 bits and 1 + the position of the
+     * key in the low 32 bits, or 0 if the slot is empty. Having the hash in the slot lets a probe
+     * reject a slot without reading the key, and a single load reads both.
+     */
+    private final long[] table;
+
+    /**
+     * Two objects per distinct key, in encounter order: the key and its first element. This puts
+     * the key and the result of {@link #get(Object)} in the same cache line.
+     */
+    private final Object[] entries;
+
+    /**
+     * For a multi index the elements grouped by key, with the groups in the order of the keys,
+     * or null for a unique index.
+     */
+    private final Object[] elements;
+
+    /**
+     * For a multi index the position of the first element of every key in {@link #elements}
+     * followed by the amount of elements, or null for a unique index.
+     */
+    private final int[] offsets;
+
+    /**
+     * Constructor.
+     *
+     * @param source The elements to index.
+     * @param keyProducer Produces the key of an element.
+     * @param unique True for a unique index.
+     * @throws IllegalStateException if the index is unique and two elements have equal keys.
+     */
+    Index(List<T> source, Transform<T, K> keyProducer, boolean unique) {
+        int n = source.size();
+        long[] table = new long[tableSize(n)];
+        Object[] entries = new Object[n * 2];
+        int[] keyOf = unique ? null : new int[n];
+        int[] counts = unique ? null : new int[n];
+        int keyCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            T element = source.get(i);
+            Object key = keyProducer.transform(element);
+            int hash = spread(key);
+            int k = find(table, entries, key, hash);
+            if (k < 0) {
+                k = keyCount++;
+                entries[2 * k] = key;
+                entries[2 * k + 1] = element;
+                insert(table, hash, k);
+            }
+            else if (unique)
+                throw new IllegalStateException("Duplicate key: " + key);
+            if (!unique) {
+                keyOf[i] = k;
+                counts[k]++;
+            }
+        }
+
+        if (unique) {
+            this.elements = null;
+            this.offsets = null;
+        }
+        else {
+            // Group the elements by key in encounter order
+            int[] offsets = new int[keyCount + 1];
+            for (int k = 0; k < keyCount; k++)
+                offsets[k + 1] = offsets[k] + counts[k];
+            int[] next = Arrays.copyOf(offsets, keyCount);
+            Object[] elements = new Object[n];
+            for (int i = 0; i < n; i++)
+                elements[next[keyOf[i]]++] = source.get(i);
+            this.elements = elements;
+            this.offsets = offsets;
+        }
+
+        if (keyCount < n) {
+            entries = Arrays.copyOf(entries, keyCount * 2);
+            if (tableSize(keyCount) < table.length) {
+                table = new long[tableSize(keyCount)];
+                for (int k = 0; k < keyCount; k++)
+                    insert(table, spread(entries[2 * k]), k);
+            }
+        }
+        this.unique = unique;
+        this.table = table;
+        this.entries = entries;
+    }
+
+    /**
+     * @return The amount of slots for the specified amount of keys, which keeps the table at most
+     *         half full.
+     */
+    private static int tableSize(int keyCount) {
+        return Math.max(2, Integer.highestOneBit(Math.max(1, keyCount) * 2 - 1) << 1);
+    }
+
+    private static int spread(Object key) {
+        int h = key == null ? 0 : key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Adds a key position to a table that does not contain the key.
+     */
+    private static void insert(long[] table, int hash, int k) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0)
+            slot = (slot + 1) & mask;
+        table[slot] = (long)hash << 32 | (k + 1);
+    }
+
+    /**
+     * @return The position of the key or -1 if it is not in the table.
+     */
+    private static int find(long[] table, Object[] entries, Object key, int hash) {
+        int mask = table.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            long value = table[slot];
+            if (value == 0)
+                return -1;
+            if ((int)(value >>> 32) == hash) {
+                int k = (int)value - 1;
+                Object other = entries[2 * k];
+                if (other == key || key != null && key.equals(other))
+                    return k;
+            }
+        }
+    }
+
+    /**
+     * @return true if every key has one element.
+     */
+    public boolean isUnique() {
+        return unique;
+    }
+
+    /**
+     * @return The amount of elements.
+     */
+    public int size() {
+        return elements != null ? elements.length : entries.length / 2;
+    }
+
+    /**
+     * @return The amount of distinct keys.
+     */
+    public int keyCount() {
+        return entries.length / 2;
+    }
+
+    /**
+     * @param key The key to look for. May be null.
+     * @return true if there is an element with the key.
+     */
+    public boolean containsKey(K key) {
+        return find(table, entries, key, spread(key)) >= 0;
+    }
+
+    /**
+     * Looks up the element with the key, or for a multi index the first of its elements.
+     *
+     * @param key The key to look for. May be null.
+     * @return The element or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(K key) {
+        int k = find(table, entries, key, spread(key));
+        return k < 0 ? null : (T)entries[2 * k + 1];
+    }
+
+    /**
+     * Looks up all the elements with the key.
+     *
+     * @param key The key to look for. May be null.
+     * @return The elements in encounter order as an unmodifiable list, which is empty if there are
+     *         none. Will never be null.
+     */
+    public List<T> getAll(K key) {
+        int k = find(table, entries, key, spread(key));
+        if (k < 0)
+            return Collections.emptyList();
+        if (offsets == null)
+            return new Elements<T>(entries, 2 * k + 1, 2 * k + 2, 1);
+        return new Elements<T>(elements, offsets[k], offsets[k + 1], 1);
+    }
+
+    /**
+     * @return The distinct keys in encounter order as an unmodifiable list.
+     */
+    @SuppressWarnings("unchecked")
+    public List<K> keys() {
+        return (List<K>)new Elements<Object>(entries, 0, entries.length, 2);
+    }
+
+    /**
+     * An unmodifiable view of every so many elements of a range of an array.
+     */
+    private static final class Elements<E> extends AbstractList<E> implements RandomAccess {
+
+        private final Object[] array;
+        private final int from;
+        private final int size;
+        private final int stride;
+
+        Elements(Object[] array, int from, int to, int stride) {
+            this.array = array;
+            this.from = from;
+            this.size = (to - from) / stride;
+            this.stride = stride;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            return (E)array[from + index * stride];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+}
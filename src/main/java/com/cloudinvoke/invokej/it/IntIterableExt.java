@@ -0,0 +1,101 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import com.cloudinvoke.invokej.constructs.IntCondition;
+import com.cloudinvoke.invokej.constructs.IntOperation;
+import com.cloudinvoke.invokej.constructs.IntTransform;
+import com.cloudinvoke.invokej.constructs.ToIntTransform;
+
+/**
+ * The primitive int counterpart of {@link IterableExt}. The elements are never boxed, so numeric
+ * pipelines that are consumed with {@link #forEach(IntOperation)} or one of the aggregating
+ * methods do not allocate per element.
+ * <p>
+ * Use {@link Itq#from(int[])} or {@link IterableExt#selectInt(ToIntTransform)} to get an instance
+ * that implements this interface.
+ *
+ * @see IterableExt
+ * @see Itq
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface IntIterableExt {
+
+    /**
+     * Returns an {@link IntIterableExt} that will only yield the elements that satisfy the condition.
+     *
+     * @param condition The condition that should be true for elements that should be in the result set.
+     * @return a new non-null {@link IntIterableExt} instance.
+     */
+    public IntIterableExt where(IntCondition condition);
+
+    /**
+     * Returns an {@link IntIterableExt} that yields the transformation of every element.
+     *
+     * @param transform The transformation to apply
+     * @return a new non-null {@link IntIterableExt} instance.
+     */
+    public IntIterableExt select(IntTransform transform);
+
+    /**
+     * Performs the operation on every element in sequence.
+     *
+     * @param operation The operation to perform on each element.
+     */
+    public void forEach(IntOperation operation);
+
+    /**
+     * Returns a pull based iterator over the elements. Use {@link PrimitiveIterator.OfInt#nextInt()}
+     * to avoid boxing.
+     *
+     * @return A new iterator that does not support removal.
+     */
+    public PrimitiveIterator.OfInt iterator();
+
+    /**
+     * Returns the number of elements.
+     * @return number of elements
+     */
+    public int size();
+
+    /**
+     * @return The sum of the elements, or zero if there are none.
+     */
+    public long sum();
+
+    /**
+     * @return The smallest element.
+     * @throws NoSuchElementException if there are no elements.
+     */
+    public int min() throws NoSuchElementException;
+
+    /**
+     * @return The largest element.
+     * @throws NoSuchElementException if there are no elements.
+     */
+    public int max() throws NoSuchElementException;
+
+    /**
+     * @return The arithmetic mean of the elements or {@link Double#NaN} if there are no elements.
+     */
+    public double average();
+
+    /**
+     * Collects the elements in an array.
+     *
+     * @return A new array. Will never be null.
+     */
+    public int[] toArray();
+
+    /**
+     * Converts this instance to an {@link IterableExt} over boxed elements. The pipeline is not
+     * run, nor its source opened, before the result is iterated.
+     *
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<Integer> boxed();
+
+}
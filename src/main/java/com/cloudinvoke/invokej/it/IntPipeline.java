@@ -0,0 +1,262 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import com.cloudinvoke.invokej.ArgumentNullException;
+import com.cloudinvoke.invokej.constructs.IntCondition;
+import com.cloudinvoke.invokej.constructs.IntOperation;
+import com.cloudinvoke.invokej.constructs.IntTransform;
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.ToIntTransform;
+
+/**
+ * The implementation of {@link IntIterableExt}. The source is either an int array or an
+ * {@link IterableExt} together with the {@link ToIntTransform} that converts its elements. Like
+ * {@link Stages} does for objects, the where and select stages are fused into a single loop.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class IntPipeline extends PrimitivePipeline<IntPipeline, IntCondition, IntTransform, Integer>
+        implements IntIterableExt {
+
+    /** The source array, or null if the source is {@link #objects} */
+    private final int[] array;
+
+    /** Converts {@link #objects} elements to int */
+    private final ToIntTransform<Object> toInt;
+
+    /**
+     * Constructor.
+     *
+     * @param array The source array.
+     */
+    IntPipeline(int[] array) {
+        this(array, null, null, new IntCondition[0], new IntTransform[0]);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param objects The source.
+     * @param toInt The conversion of the source elements.
+     */
+    @SuppressWarnings("unchecked")
+    <T> IntPipeline(IterableExt<T> objects, ToIntTransform<? super T> toInt) {
+        this(null, (IterableExt<Object>)objects, (ToIntTransform<Object>)toInt,
+            new IntCondition[0], new IntTransform[0]);
+    }
+
+    private IntPipeline(int[] array, IterableExt<Object> objects, ToIntTransform<Object> toInt,
+            IntCondition[] conditions, IntTransform[] transforms) {
+        super(objects, conditions, transforms);
+        this.array = array;
+        this.toInt = toInt;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    IntPipeline withStages(IntCondition[] conditions, IntTransform[] transforms) {
+        return new IntPipeline(array, objects, toInt, conditions, transforms);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    int arrayLength() {
+        return array.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public IntIterableExt where(IntCondition condition) {
+        return appendWhere(condition);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public IntIterableExt select(IntTransform transform) {
+        return appendSelect(transform);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void forEach(final IntOperation operation) {
+        if (operation == null)
+            throw new ArgumentNullException("operation");
+
+        if (array != null) {
+            for (int value : array)
+                push(value, operation);
+        }
+        else {
+            objects.forEach(new Operation<Object>() {
+                public void perform(Object o) {
+                    push(toInt.transform(o), operation);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs the value through the stages and performs the operation on the result unless a where
+     * stage rejected it.
+     */
+    private void push(int value, IntOperation operation) {
+        IntCondition[] c = conditions;
+        IntTransform[] t = transforms;
+        for (int i = 0; i < c.length; i++) {
+            if (c[i] != null) {
+                if (!c[i].check(value))
+                    return;
+            }
+            else
+                value = t[i].transform(value);
+        }
+        operation.perform(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntIterator();
+    }
+
+    /**
+     * Pulls the elements through the stages.
+     */
+    private final class IntIterator extends StageIterator implements PrimitiveIterator.OfInt {
+
+        private int nextValue;
+
+        public boolean hasNext() {
+            fetch:
+            while (!fetched) {
+                int value;
+                if (it == null) {
+                    if (index >= array.length)
+                        return false;
+                    value = array[index++];
+                }
+                else {
+                    if (!it.hasNext())
+                        return false;
+                    value = toInt.transform(it.next());
+                }
+                for (int i = 0; i < conditions.length; i++) {
+                    if (conditions[i] != null) {
+                        if (!conditions[i].check(value))
+                            continue fetch;
+                    }
+                    else
+                        value = transforms[i].transform(value);
+                }
+                nextValue = value;
+                fetched = true;
+            }
+            return true;
+        }
+
+        public int nextInt() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            fetched = false;
+            return nextValue;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    long count() {
+        return summarize().count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long sum() {
+        return summarize().sum;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int min() throws NoSuchElementException {
+        Summary summary = summarize();
+        if (summary.count == 0)
+            throw new NoSuchElementException();
+        return summary.min;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int max() throws NoSuchElementException {
+        Summary summary = summarize();
+        if (summary.count == 0)
+            throw new NoSuchElementException();
+        return summary.max;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double average() {
+        Summary summary = summarize();
+        return summary.count == 0 ? Double.NaN : (double)summary.sum / summary.count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int[] toArray() {
+        final int[][] buffer = { new int[initialCapacity()] };
+        final int[] size = { 0 };
+        forEach(new IntOperation() {
+            public void perform(int value) {
+                if (size[0] == buffer[0].length)
+                    buffer[0] = Arrays.copyOf(buffer[0], grownCapacity(size[0]));
+                buffer[0][size[0]++] = value;
+            }
+        });
+        return size[0] == buffer[0].length ? buffer[0] : Arrays.copyOf(buffer[0], size[0]);
+    }
+
+    /**
+     * Runs the pipeline, gathering the count, sum, minimum and maximum in a single pass.
+     */
+    private Summary summarize() {
+        Summary summary = new Summary();
+        forEach(summary);
+        return summary;
+    }
+
+    /**
+     * Accumulates the statistics of the elements pushed to it.
+     */
+    private static final class Summary implements IntOperation {
+
+        long count;
+        long sum;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+
+        public void perform(int value) {
+            count++;
+            sum += value;
+            if (value < min)
+                min = value;
+            if (value > max)
+                max = value;
+        }
+    }
+
+}
@@ -1,15 +1,32 @@
 package com.cloudinvoke.invokej.it;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.Stack;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import javax.swing.tree.DefaultMutableTreeNode;
 
+import com.cloudinvoke.invokej.constructs.BiTransform;
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.ToDoubleTransform;
+import com.cloudinvoke.invokej.constructs.ToIntTransform;
+import com.cloudinvoke.invokej.constructs.ToLongTransform;
 import com.cloudinvoke.invokej.constructs.Transform;
+import com.cloudinvoke.invokej.constructs.io.IoTransform;
+import com.cloudinvoke.invokej.structs.HyperLogLog;
+import com.cloudinvoke.invokej.structs.Pair;
 
 /**
  * This interface extends the basic functionality of the {@link Iterable} interface. Use the from 
@@ -95,6 +112,69 @@ public interface IterableExt<T> extends Iterable<T> {
      */
     public <O> IterableExt<O> select(final Transform<T, O> transform);
     
+    /**
+     * Converts every element to an {@link Iterable} and yields the elements of those iterables 
+     * one after the other. The transform is only applied when the iteration reaches an element, 
+     * and null results are treated as empty.
+     * 
+     * @param <O> The resultant iterator's element type
+     * @param transform Produces the elements for an element.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public <O> IterableExt<O> selectMany(Transform<T, ? extends Iterable<O>> transform);
+    
+    /**
+     * Converts the elements to primitive ints. The resultant {@link IntIterableExt} does not box its
+     * elements, which makes it the cheaper choice for numeric pipelines and aggregations.
+     * 
+     * @param transform The transformation to apply
+     * @return a new non-null {@link IntIterableExt} instance.
+     */
+    public IntIterableExt selectInt(ToIntTransform<T> transform);
+    
+    /**
+     * Converts the elements to primitive longs. The resultant {@link LongIterableExt} does not box 
+     * its elements, which makes it the cheaper choice for numeric pipelines and aggregations.
+     * 
+     * @param transform The transformation to apply
+     * @return a new non-null {@link LongIterableExt} instance.
+     */
+    public LongIterableExt selectLong(ToLongTransform<T> transform);
+    
+    /**
+     * Converts the elements to primitive doubles. The resultant {@link DoubleIterableExt} does not 
+     * box its elements, which makes it the cheaper choice for numeric pipelines and aggregations.
+     * 
+     * @param transform The transformation to apply
+     * @return a new non-null {@link DoubleIterableExt} instance.
+     */
+    public DoubleIterableExt selectDouble(ToDoubleTransform<T> transform);
+    
+    /**
+     * Returns an {@link IterableExt} that yields the elements in ascending order of the keys 
+     * produced for them. Nothing is read or sorted until the result is iterated; the key is 
+     * computed once per element and elements with equal keys keep their original order. Null 
+     * keys are ordered first.
+     * 
+     * @param <K> The key type
+     * @param keyProducer Produces the sort key of an element.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public <K extends Comparable<? super K>> IterableExt<T> orderBy(Transform<T, K> keyProducer);
+    
+    /**
+     * Returns an {@link IterableExt} that yields the <code>k</code> greatest elements according to
+     * the comparator, greatest first. Unlike sorting everything this keeps only <code>k</code> 
+     * elements in memory and takes O(n log k) time. Nothing is read until the result is iterated.
+     * <p>
+     * Use a reversed comparator to get the <code>k</code> smallest elements.
+     * 
+     * @param k The maximum amount of elements to yield.
+     * @param comparator Determines the order of the elements.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<T> top(int k, Comparator<? super T> comparator);
+    
     /** 
      * Casts this class to an {@link IterableExt} over O
      * 
@@ -127,6 +207,135 @@ public interface IterableExt<T> extends Iterable<T> {
      */
     public <K> Map<K, T> toMap(Transform<T, K> keyProducer);
     
+    /**
+     * Builds an immutable hash {@link Index} of the elements by key, for when many lookups are 
+     * done against the same elements. Every key must be unique.
+     * 
+     * @param keyProducer Produces the key of an element.
+     * @return The index. Will never be null.
+     * @throws IllegalStateException if two elements have equal keys.
+     */
+    public <K> Index<K, T> toIndex(Transform<T, K> keyProducer);
+    
+    /**
+     * Builds an immutable hash {@link Index} of the elements by key that keeps all the elements
+     * of every key in encounter order.
+     * 
+     * @param keyProducer Produces the key of an element.
+     * @return The index. Will never be null.
+     */
+    public <K> Index<K, T> toMultiIndex(Transform<T, K> keyProducer);
+    
+    /**
+     * Returns an {@link IterableExt} that yields every element only once, skipping elements that 
+     * are {@link Object#equals(Object) equal} to one yielded before. The first occurrence is kept
+     * and the order is preserved. Elements are streamed; the elements seen so far are kept in a 
+     * hash set that grows with the number of distinct elements.
+     * 
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<T> distinct();
+    
+    /**
+     * Same as {@link #distinct()} but elements are considered duplicates if the keys produced for 
+     * them are equal. Only the keys are kept in memory.
+     * 
+     * @param <K> The key type
+     * @param keyProducer Produces the key of an element.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public <K> IterableExt<T> distinctBy(Transform<T, K> keyProducer);
+    
+    /**
+     * Estimates the number of distinct elements with a {@link HyperLogLog} sketch of the 
+     * {@link HyperLogLog#DEFAULT_PRECISION default precision}. Unlike 
+     * <code>distinct().size()</code> this takes a few kilobytes of memory no matter how many 
+     * elements there are.
+     * 
+     * @return The estimated number of distinct elements.
+     */
+    public long approxDistinctCount();
+    
+    /**
+     * Estimates the number of distinct elements with a {@link HyperLogLog} sketch of 
+     * 2<sup>precision</sup> one byte registers. The standard error is about 
+     * 1.04 / sqrt(2<sup>precision</sup>).
+     * 
+     * @param precision The precision of the sketch, from {@link HyperLogLog#MIN_PRECISION} to 
+     *        {@link HyperLogLog#MAX_PRECISION}.
+     * @return The estimated number of distinct elements.
+     */
+    public long approxDistinctCount(int precision);
+    
+    /**
+     * Groups the elements by the key produced for each of them. Use the returned {@link Grouping}
+     * to collect the group members or to aggregate them per key, e.g. to count or sum them 
+     * without keeping the members in memory.
+     * 
+     * @param <K> The key type
+     * @param keyProducer an object that creates the group key of an element.
+     * @return A new non-null {@link Grouping} instance.
+     */
+    public <K> Grouping<K, T> groupBy(Transform<T, K> keyProducer);
+    
+    /**
+     * Returns the inner join of this instance (the left side) with another iterable (the right 
+     * side): the combination of every pair of left and right elements that have equal keys. 
+     * Elements with null keys are never matched.
+     * <p>
+     * Nothing is read until the result is iterated. Then a hash table is built from the right 
+     * side while the left side is streamed, so the results follow the order of the left side. If 
+     * the sizes of both sides are known up front and the left side is the smaller one, the table 
+     * is built from the left side instead and the results follow the order of the right side.
+     * 
+     * @param <R> The right side element type
+     * @param <K> The key type
+     * @param <O> The result type
+     * @param other The right side.
+     * @param leftKey Produces the key of a left side element.
+     * @param rightKey Produces the key of a right side element.
+     * @param combiner Combines a left and right element with equal keys into a result.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public <R, K, O> IterableExt<O> join(Iterable<R> other, Transform<T, K> leftKey, 
+            Transform<R, K> rightKey, BiTransform<T, R, O> combiner);
+    
+    /**
+     * Same as {@link #join(Iterable, Transform, Transform, BiTransform)} but yields every 
+     * combination as a {@link Pair}.
+     */
+    public <R, K> IterableExt<Pair<T, R>> join(Iterable<R> other, Transform<T, K> leftKey, 
+            Transform<R, K> rightKey);
+    
+    /**
+     * Returns the inner join of this instance (the left side) with another iterable (the right 
+     * side) where both sides are already sorted ascending by their keys. Both sides are streamed
+     * in a single pass; only the right side elements that share the current key are kept in 
+     * memory, so if the right side keys are unique this takes O(1) extra memory. The results 
+     * follow the order of the left side.
+     * <p>
+     * Keys may not be null. An {@link IllegalStateException} is thrown during iteration if either
+     * side turns out not to be sorted.
+     * 
+     * @param <R> The right side element type
+     * @param <K> The key type
+     * @param <O> The result type
+     * @param other The right side.
+     * @param leftKey Produces the key of a left side element.
+     * @param rightKey Produces the key of a right side element.
+     * @param combiner Combines a left and right element with equal keys into a result.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public <R, K extends Comparable<? super K>, O> IterableExt<O> mergeJoin(Iterable<R> other, 
+            Transform<T, K> leftKey, Transform<R, K> rightKey, BiTransform<T, R, O> combiner);
+    
+    /**
+     * Same as {@link #mergeJoin(Iterable, Transform, Transform, BiTransform)} but yields every 
+     * combination as a {@link Pair}.
+     */
+    public <R, K extends Comparable<? super K>> IterableExt<Pair<T, R>> mergeJoin(Iterable<R> other, 
+            Transform<T, K> leftKey, Transform<R, K> rightKey);
+    
     /**
      * Joins 2 or more iterators into a new iterator that will, when iterated yield all the items
      * of the first iterator in sequence, then the items of the second iterator in sequence until all
@@ -136,8 +345,20 @@ public interface IterableExt<T> extends Iterable<T> {
      * @param rest Some additional iterators to add in sequence.
      * @return A new {@link IterableExt} instance over {@link Object}'s representing the joint iterators.
      */
+    @SuppressWarnings("unchecked") // only reads the array; the implementation is @SafeVarargs
     public IterableExt<T> union(final Iterable<T> itr2, final Iterable<T>... rest);
     
+    /**
+     * Merges this instance and other iterables that are all sorted according to the comparator
+     * into one sorted {@link IterableExt}. See {@link Itq#mergeSorted(Comparator, Iterable...)}.
+     * 
+     * @param comparator The order of the elements in every source.
+     * @param others The other sorted iterables.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    @SuppressWarnings("unchecked") // only reads the array; the implementation is @SafeVarargs
+    public IterableExt<T> mergeSorted(Comparator<? super T> comparator, Iterable<T>... others);
+    
     /**
      * Iterate through the items and return the number of items found
      * @return - Number of items iterated
@@ -146,12 +367,66 @@ public interface IterableExt<T> extends Iterable<T> {
     
     /**
      * Returns an object that allows iteration over the original iterable object in pages of the 
-     * specified size.
+     * specified size. Only the last page may be smaller.
+     * <p>
+     * If the source is an array or a random access list and there are no where or select stages,
+     * the pages are read-only views of the source and no elements are copied. Otherwise every 
+     * page is a new list.
      * 
      * @param count The page size i.e. the amount of items in each group.
      * @return An iterable over lists of the element type.
      */
     public Iterable<List<T>> inGroupsOf(final int count);
+    
+    /**
+     * Same as {@link #inGroupsOf(int)}, but if <code>reuseBuffer</code> is true and the pages 
+     * cannot be views of the source, a single list is cleared and refilled for every page instead
+     * of allocating a new one. The caller must then be done with a page before requesting the 
+     * next one and must not keep a reference to it.
+     * 
+     * @param count The page size i.e. the amount of items in each group.
+     * @param reuseBuffer True to reuse the same list for every page.
+     * @return An iterable over lists of the element type.
+     */
+    public Iterable<List<T>> inGroupsOf(final int count, boolean reuseBuffer);
+    
+    /**
+     * Returns an object that allows iteration over the items in groups of at most the specified
+     * size. A group is complete when it is full or when <code>maxDelay</code> has passed since
+     * its first item arrived, whichever comes first. A consumer of a slow or bursty source thus
+     * gets the items that did arrive within a bounded time instead of waiting for a full group.
+     * <p>
+     * Every iterator reads the items on a background daemon thread, as {@link #prefetch(int)}
+     * does, and buffers at most one group. Groups are never empty and every group is a new
+     * list. The iterators implement {@link java.io.Closeable}; close an iterator that is not 
+     * iterated to the end to stop its thread right away.
+     * 
+     * @param count The maximum amount of items in each group.
+     * @param maxDelay The maximum time to wait for a group to fill after its first item.
+     * @param unit The unit of <code>maxDelay</code>.
+     * @return An iterable over lists of the element type.
+     */
+    public Iterable<List<T>> inGroupsOf(final int count, long maxDelay, TimeUnit unit);
+    
+    /**
+     * Returns an object that allows iteration over sliding windows of the items: windows of
+     * <code>size</code> consecutive items, each starting <code>step</code> items after the 
+     * previous one. Consecutive windows overlap if <code>step</code> is smaller than 
+     * <code>size</code>, and items are skipped between windows if it is larger. Only full windows
+     * are yielded, so there are none if there are fewer than <code>size</code> items. A 
+     * <code>step</code> equal to <code>size</code> gives tumbling windows.
+     * <p>
+     * No window is a copy. If the source is an array or a random access list and there are no 
+     * where or select stages, the windows are read-only views of the source. Otherwise every
+     * iterator keeps the current window in a ring buffer of <code>size</code> items and yields a
+     * read-only view of it, which is only valid until the iterator is used again; copy a window
+     * that must be kept.
+     * 
+     * @param size The amount of items in each window.
+     * @param step The amount of items between the starts of consecutive windows.
+     * @return An iterable over lists of the element type.
+     */
+    public Iterable<List<T>> windowed(final int size, final int step);
 
     /**
      * Gets the iterator, performs the first loop and yields the first iteration variable. Same as
@@ -159,7 +434,266 @@ public interface IterableExt<T> extends Iterable<T> {
      * @return The first iteration variable.
      */
     public T single() throws NoSuchElementException;
+
+    /**
+     * Returns the first element, or null if there are no elements. Only the first element is 
+     * read.
+     * 
+     * @return The first element or null.
+     */
+    public T first();
+    
+    /**
+     * Returns the first element that meets the condition, or null if there is none. Elements 
+     * after it are not read.
+     * 
+     * @param condition The condition to meet.
+     * @return The first matching element or null.
+     */
+    public T first(Transform<T, Boolean> condition);
+    
+    /**
+     * Checks if any element meets the condition. Iteration stops at the first one that does.
+     * 
+     * @param condition The condition to check.
+     * @return true if an element meets the condition, false if none does or there are no elements.
+     */
+    public boolean any(Transform<T, Boolean> condition);
+    
+    /**
+     * Checks if all the elements meet the condition. Iteration stops at the first one that 
+     * does not.
+     * 
+     * @param condition The condition to check.
+     * @return false if an element does not meet the condition, otherwise true, also if there are
+     *         no elements.
+     */
+    public boolean all(Transform<T, Boolean> condition);
+    
+    /**
+     * Returns an {@link IterableExt} that yields at most the first <code>n</code> elements. The
+     * rest of the elements are never read, and operations like {@link #toList()} can size their
+     * result up front because the bound is known.
+     * 
+     * @param n The maximum amount of elements to yield.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<T> take(int n);
+    
+    /**
+     * Returns an {@link IterableExt} that yields the elements after the first <code>n</code>. 
+     * For sources that can be indexed, like arrays, random access lists and {@link org.w3c.dom.NodeList}s, 
+     * and a pipeline without where stages the skipped elements are not visited at all, so 
+     * <code>skip(offset).take(pageSize)</code> costs O(pageSize) no matter how far the page is.
+     * 
+     * @param n The amount of elements to skip.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<T> skip(int n);
+    
+    /**
+     * Returns an {@link IterableExt} that yields elements up to, but not including, the first 
+     * one that does not meet the condition. No elements after that one are read.
+     * 
+     * @param condition The condition the elements must meet.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<T> takeWhile(Transform<T, Boolean> condition);
+    
+    /**
+     * Performs the operation on every element in sequence. Unlike iterating with a foreach loop, 
+     * the elements are pushed through all the where and select stages of the pipeline in a single
+     * loop, so this is the fastest way to consume an {@link IterableExt}.
+     * 
+     * @param operation The operation to perform on each element.
+     */
+    public void forEach(Operation<T> operation);
+    
+    /**
+     * Returns an equivalent {@link IterableExt} that evaluates its where and select stages on 
+     * multiple threads of the common {@link java.util.concurrent.ForkJoinPool} by splitting the 
+     * source into index ranges. The stages should therefore be thread safe.
+     * <p>
+     * Only random access sources like arrays, {@link java.util.RandomAccess} lists and DOM node 
+     * lists can be split. For other sources this instance is returned unchanged.
+     * <p>
+     * The terminal operations {@link #toList()}, {@link #toStack()}, {@link #toMap(Transform)}, 
+     * {@link #size()}, {@link Itq#min(Iterable)} and {@link Itq#max(Iterable)} merge the results of 
+     * the ranges in encounter order. {@link #forEach(Operation)} performs its operation on the 
+     * calling thread, in encounter order, once the stages completed. The pull based 
+     * {@link #iterator()} is always sequential.
+     * 
+     * @return A parallel {@link IterableExt}.
+     */
+    public IterableExt<T> parallel();
+    
+    /**
+     * Returns an equivalent {@link IterableExt} that records statistics for each of its where and
+     * select stages, including the ones added after this call: the elements in and out, and the 
+     * time spent in the transform. The amount of iterations over the pipeline is recorded too. 
+     * The statistics are published as {@link PipelineStatsMXBean} and {@link StageStatsMXBean} 
+     * MBeans on the platform MBean server, and pipelines instrumented under the same name add up
+     * their counts. Pipelines that are not instrumented record nothing.
+     * 
+     * @param name The name to publish the statistics under. Use a fixed name per pipeline in the 
+     *          code, since the MBeans are never unregistered.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<T> instrumented(String name);
+    
+    /**
+     * Returns an {@link IterableExt} that iterates this instance only once, buffering the elements
+     * as the first iterator advances, and replays them from the buffer for every later iterator
+     * or terminal operation. This makes single-shot sources, like those created from an 
+     * {@link Iterator} or an {@link Enumeration}, safely re-iterable without reading them up front.
+     * <p>
+     * Iterators over the result may be used concurrently from multiple threads.
+     * 
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<T> cached();
+    
+    /**
+     * Same as {@link #cached()} but buffers at most the specified amount of elements. If there are
+     * more, the buffer is dropped and only the iterator that went past the limit can continue;
+     * other iterators then fail with an {@link IllegalStateException} instead of replaying.
+     * 
+     * @param maxBuffered The maximum amount of elements to keep in memory.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<T> cached(int maxBuffered);
+    
+    /**
+     * Same as {@link #select(Transform)} but for a transform that blocks, e.g. on I/O. Up to 
+     * <code>maxConcurrency</code> elements are transformed at the same time on background 
+     * threads while the results are yielded in the original order. At most 
+     * <code>2 * maxConcurrency</code> elements are read ahead of the consumer, so results that 
+     * complete early only wait in a bounded buffer.
+     * <p>
+     * Every iterator starts its own daemon threads. An exception thrown by the transform is 
+     * rethrown by the iterator when the consumer reaches the element that caused it, an 
+     * {@link java.io.IOException} wrapped in an {@link java.io.UncheckedIOException}, and the 
+     * remaining work is cancelled. The iterators implement {@link java.io.Closeable}; close an 
+     * iterator that is not iterated to the end to stop its threads.
+     * 
+     * @param <O> The result type
+     * @param transform The transform to apply to every element.
+     * @param maxConcurrency The maximum amount of elements to transform at the same time.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public <O> IterableExt<O> selectAsync(IoTransform<T, O> transform, int maxConcurrency);
+    
+    /**
+     * Same as {@link #selectAsync(IoTransform, int)} but the transforms run on the specified 
+     * executor instead of on new threads.
+     */
+    public <O> IterableExt<O> selectAsync(IoTransform<T, O> transform, int maxConcurrency, 
+            Executor executor);
+    
+    /**
+     * Same as {@link #selectAsync(IoTransform, int)} but the results are yielded in the order in
+     * which they complete, so a slow element does not hold back the ones after it.
+     */
+    public <O> IterableExt<O> selectAsyncUnordered(IoTransform<T, O> transform, int maxConcurrency);
+    
+    /**
+     * Same as {@link #selectAsyncUnordered(IoTransform, int)} but the transforms run on the 
+     * specified executor instead of on new threads.
+     */
+    public <O> IterableExt<O> selectAsyncUnordered(IoTransform<T, O> transform, int maxConcurrency, 
+            Executor executor);
+    
+    /**
+     * Creates a {@link Spliterator} over the elements that reports what is known about them. If 
+     * there are no where stages and the size of the source is known the spliterator is 
+     * {@link Spliterator#SIZED SIZED}, and sources like arrays, random access lists and 
+     * {@link org.w3c.dom.NodeList}s are split by index into halves that are sized too, so 
+     * parallel streams divide the work evenly. Elements are {@link Spliterator#NONNULL NONNULL} 
+     * after {@link #whereNotNull()}.
+     * 
+     * @return A new {@link Spliterator} instance.
+     */
+    public Spliterator<T> spliterator();
+    
+    /**
+     * Creates a {@link Stream} over the elements from {@link #spliterator()}. The stream is 
+     * parallel if this instance was made {@link #parallel()} or was created from a parallel 
+     * stream.
+     * 
+     * @return A new {@link Stream} instance.
+     */
+    public Stream<T> stream();
+    
+    /**
+     * Returns an {@link IterableExt} that reads this one ahead on a background thread, so that a 
+     * slow or blocking source, e.g. one that performs I/O, produces the next elements while the 
+     * consumer is still processing the previous ones. The where and select stages up to here also
+     * run on the background thread.
+     * <p>
+     * Every iterator starts its own daemon thread that buffers at most <code>bufferSize</code> 
+     * elements. An exception thrown by the source is rethrown by the iterator once the consumer 
+     * reaches it. The iterators implement {@link java.io.Closeable}; close an iterator that is 
+     * not iterated to the end to stop its thread right away, otherwise it stops once the 
+     * iterator has been garbage collected.
+     * 
+     * @param bufferSize The maximum amount of elements to read ahead.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<T> prefetch(int bufferSize);
+    
+    /**
+     * Same as {@link #prefetch(int)} but the background tasks run on the specified executor 
+     * instead of on new threads. The executor needs a free thread for every iterator in use.
+     * 
+     * @param bufferSize The maximum amount of elements to read ahead.
+     * @param executor Runs the tasks that read ahead.
+     * @return a new non-null {@link IterableExt} instance.
+     */
+    public IterableExt<T> prefetch(int bufferSize, Executor executor);
+    
+    /**
+     * Exposes the items as a {@link Flow.Publisher} with demand-driven backpressure. Every 
+     * subscriber gets its own iteration, which pulls an item from the iterator only when the 
+     * subscriber has requested it; nothing is buffered, so the memory used does not depend on 
+     * how fast the items are produced or consumed.
+     * <p>
+     * The iteration and all signals after <code>onSubscribe</code> run on tasks submitted to the
+     * executor whenever new demand arrives, with at most one task per subscriber at a time. An 
+     * exception thrown while iterating, or a null item, which a publisher cannot emit, is 
+     * signalled with <code>onError</code>.
+     * 
+     * @param executor Runs the tasks that iterate and signal the subscribers.
+     * @return a new non-null publisher.
+     * @see Itq#from(Flow.Publisher, int)
+     */
+    public Flow.Publisher<T> toPublisher(Executor executor);
     
     public StringBuilder concat(String seperator);
+    
+    /**
+     * Appends the elements to an {@link Appendable}, e.g. a {@link java.io.Writer}, separated by
+     * the separator, without building the whole text in memory first. Elements that are 
+     * {@link CharSequence}s are appended as is, others as {@link String#valueOf(Object)}. The 
+     * output is neither flushed nor closed; pass a buffered writer to avoid small writes.
+     * 
+     * @param <A> The type of the output
+     * @param out The output to append to.
+     * @param seperator The seperator to append between elements. May be null.
+     * @return <code>out</code>.
+     * @throws IOException if the output fails.
+     */
+    public <A extends Appendable> A concatTo(A out, String seperator) throws IOException;
+    
+    /**
+     * Same as {@link #concatTo(Appendable, String)} but writes the text to a stream in the 
+     * specified encoding, through a buffer so that only a buffer's worth of text is held at a 
+     * time. The stream is flushed but not closed.
+     * 
+     * @param out The stream to write to.
+     * @param charset The encoding to write the text in.
+     * @param seperator The seperator to write between elements. May be null.
+     * @throws IOException if the stream fails.
+     */
+    public void concatTo(OutputStream out, Charset charset, String seperator) throws IOException;
   
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Flow.Publisher} that iterates an {@link Iterable} for every subscriber, pulling only
+ * as many elements from the iterator as the subscriber requested. Nothing is buffered, so the
+ * memory used does not depend on how fast the iterable produces or how slow the subscriber
+ * consumes.
+ * <p>
+ * The iterator is created, and all signals after {@link Flow.Subscriber#onSubscribe} are
+ * delivered, on a task submitted to the executor whenever there is new demand. At most one task
+ * per subscription runs at a time, so the signals are serial. An exception thrown by the
+ * iterable, or a null element, which a publisher may not emit, is signalled with
+ * {@link Flow.Subscriber#onError}. When the subscription is cancelled, fails or completes, the
+ * task closes the iterator if it is {@link java.io.Closeable}, so a source such as
+ * {@link Itq#fromLines(java.nio.file.Path, java.nio.charset.Charset)} releases its file.
+ *
+ * @see IterableExt#toPublisher(Executor)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class IterablePublisher<T> implements Flow.Publisher<T> {
+
+    private final Iterable<T> source;
+    private final Executor executor;
+
+    /**
+     * Constructor.
+     *
+     * @param source The elements to publish.
+     * @param executor Runs the tasks that iterate the source and signal the subscribers.
+     */
+    IterablePublisher(Iterable<T> source, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.util.concurrent.Flow.Publisher#subscribe(java.util.concurrent.Flow.Subscriber)
+     */
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null)
+            throw new NullPointerException("subscriber"); // as the Flow contract demands
+        subscriber.onSubscribe(new IterationSubscription(subscriber));
+    }
+
+    /**
+     * The state of a subscriber's iteration. It is also the task that emits the requested
+     * elements.
+     */
+    private final class IterationSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> subscriber;
+
+        /** The requested elements not emitted yet, {@link Long#MAX_VALUE} for unbounded */
+        private final AtomicLong requested = new AtomicLong();
+
+        /** The amount of times the task was asked to run; it only runs when this was zero */
+        private final AtomicInteger work = new AtomicInteger();
+
+        private volatile boolean cancelled;
+
+        /** The reason to fail the subscription with, set by an invalid request */
+        private volatile Throwable failure;
+
+        /** Only used by the task */
+        private Iterator<T> iterator;
+
+        IterationSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        public void request(long n) {
+            if (n <= 0)
+                failure = new IllegalArgumentException("Non-positive request: " + n);
+            else {
+                long current;
+                do {
+                    current = requested.get();
+                    if (current == Long.MAX_VALUE)
+                        break;
+                } while (!requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+            schedule();
+        }
+
+        public void cancel() {
+            cancelled = true;
+            schedule(); // the task closes the iterator
+        }
+
+        private void schedule() {
+            if (work.getAndIncrement() != 0)
+                return;
+            try {
+                executor.execute(this);
+            }
+            catch (RejectedExecutionException e) {
+                if (!cancelled) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        public void run() {
+            int missed = 1;
+            do {
+                emit();
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Emits elements until the demand is met, the source is exhausted or the subscription is
+         * cancelled. The iterator is closed once the subscription is cancelled.
+         */
+        private void emit() {
+            long emitted = 0;
+            long demand = requested.get();
+            while (!cancelled) {
+                if (failure != null) {
+                    fail(failure);
+                    return;
+                }
+                if (emitted == demand) {
+                    if (demand != Long.MAX_VALUE)
+                        demand = requested.addAndGet(-emitted);
+                    emitted = 0;
+                    if (demand == 0)
+                        return;
+                }
+                T element;
+                try {
+                    if (iterator == null)
+                        iterator = source.iterator();
+                    if (!iterator.hasNext()) {
+                        cancelled = true;
+                        Throwable closeFailure = release();
+                        if (closeFailure != null)
+                            subscriber.onError(closeFailure);
+                        else
+                            subscriber.onComplete();
+                        return;
+                    }
+                    element = iterator.next();
+                    if (element == null)
+                        throw new NullPointerException("A publisher cannot emit null elements");
+                }
+                catch (Throwable t) {
+                    fail(t);
+                    return;
+                }
+                subscriber.onNext(element);
+                emitted++;
+            }
+            release();
+        }
+
+        private void fail(Throwable t) {
+            cancelled = true;
+            Throwable closeFailure = release();
+            if (closeFailure != null)
+                t.addSuppressed(closeFailure);
+            subscriber.onError(t);
+        }
+
+        /**
+         * Closes the iterator, if it was created and is {@link java.io.Closeable}, and forgets it.
+         * Only called by the task.
+         *
+         * @return The failure to close it, or null.
+         */
+        private Throwable release() {
+            Iterator<T> it = iterator;
+            iterator = null;
+            try {
+                Itq.close(it);
+                return null;
+            }
+            catch (RuntimeException e) {
+                return e;
+            }
+        }
+    }
+
+}
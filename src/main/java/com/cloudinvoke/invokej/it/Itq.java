@@ -1,22 +1,51 @@
 package com.cloudinvoke.invokej.it;
 
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Queue;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.Stack;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import com.cloudinvoke.invokej.ArgumentNullException;
+import com.cloudinvoke.invokej.constructs.BiTransform;
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.ToDoubleTransform;
+import com.cloudinvoke.invokej.constructs.ToIntTransform;
+import com.cloudinvoke.invokej.constructs.ToLongTransform;
 import com.cloudinvoke.invokej.constructs.Transform;
+import com.cloudinvoke.invokej.constructs.io.IoTransform;
+import com.cloudinvoke.invokej.structs.HyperLogLog;
+import com.cloudinvoke.invokej.structs.Pair;
 
 /**
  * A DSL flavoured utility class to do magic with {@link Iterable}s and {@link Iterators}. Itq stands for
@@ -51,6 +80,9 @@ public class Itq {
         }
     }; 
     
+    /** The largest capacity {@link #presize(Iterable)} derives from an upper bound */
+    static final int MAX_PRESIZE = 1 << 16;
+    
     /**
      * An {@link Iterable} instance that iterates over nothing and therefore has no elements.
      * Use {@link #emptyIterable()} method to obtain this instance.
@@ -84,7 +116,9 @@ public class Itq {
     }
 
     /**
-     * Ensures a non-null iterable is used that will produce a non-null iterator.
+     * Ensures a non-null iterable is used that will produce a non-null iterator. The iterator 
+     * requested for the check is closed if it is {@link Closeable}, so that checking a source 
+     * that opens a file per iterator does not leave the file open.
      * 
      * @param <T> The iterator element type
      * @param iter The iterator to check and validate.
@@ -93,15 +127,49 @@ public class Itq {
     public static <T> Iterable<T> valid(Iterable<T> iter) {
         if (iter != null) {
             Iterator<T> it = iter.iterator();
-            if (it != null)
+            if (it != null) {
+                close(it);
                 return iter;
+            }
         }
         return emptyIterable();
     }
+    
+    /**
+     * Closes an iterator if it is {@link Closeable}, which releases the resources of a source 
+     * that was not iterated to the end. Other iterators are left as is.
+     * 
+     * @param iterator The iterator. May be null.
+     * @throws UncheckedIOException if closing fails.
+     */
+    static void close(Iterator<?> iterator) {
+        if (iterator instanceof Closeable) {
+            try {
+                ((Closeable)iterator).close();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+    
+    /**
+     * Wraps a source created by this package without requesting an iterator from it first, as 
+     * {@link #from(Iterable)} does to validate it. Use it for sources where that would consume a 
+     * single-use upstream, open a resource or start background work.
+     * 
+     * @param <T> The element type.
+     * @param source The source iterable. May not be null.
+     * @return A new {@link IterableExt} over the source.
+     */
+    static <T> IterableExt<T> lazy(Iterable<T> source) {
+        return IntfImpl.lazy(source);
+    }
 
     /**
      * Count the number of entries returned by the iterable object. 
-     * WARNING: This will perform a full iteration so the operation
+     * WARNING: Unless the size is known up front, as for {@link Collection}s and {@link IterableExt}s
+     * over them that have no where stages, this will perform a full iteration so the operation
      * is expensive.
      * 
      * @param iterable which entries will be counted.
@@ -110,6 +178,8 @@ public class Itq {
     public static <T> int count(Iterable<T> iterable) {
         if (iterable instanceof IterableExt<?>)
             return ((IterableExt<T>)iterable).size();
+        if (iterable instanceof Collection<?>)
+            return ((Collection<T>)iterable).size();
 
         // count the number of entries
         int size = 0;
@@ -123,19 +193,74 @@ public class Itq {
     }
 
     /**
-     * Check if the iterable contains the specified entry.
+     * Determines the number of elements an iterable will yield without iterating it.
+     * 
+     * @param iterable The iterable. May be null.
+     * @return The exact number of elements or -1 if it is not known up front.
+     */
+    static int exactSize(Iterable<?> iterable) {
+        if (iterable instanceof Collection<?>)
+            return ((Collection<?>)iterable).size();
+        if (iterable instanceof Sized)
+            return ((Sized)iterable).exactSize();
+        return iterable == null ? 0 : -1;
+    }
+    
+    /**
+     * Determines an upper bound on the number of elements an iterable will yield without 
+     * iterating it.
+     * 
+     * @param iterable The iterable. May be null.
+     * @return The upper bound or -1 if there is no known bound.
+     */
+    static int maxSize(Iterable<?> iterable) {
+        if (iterable instanceof Collection<?>)
+            return ((Collection<?>)iterable).size();
+        if (iterable instanceof Sized)
+            return ((Sized)iterable).maxSize();
+        return iterable == null ? 0 : -1;
+    }
+    
+    /**
+     * Determines the capacity to presize a collection with for the elements of an iterable. An
+     * upper bound is capped, since a bound such as the one of a <code>skip(n)</code> may be far
+     * larger than the amount of elements there turn out to be.
+     * 
+     * @param iterable The iterable. May be null.
+     * @return The exact number of elements if it is known, otherwise the upper bound capped to
+     *         {@link #MAX_PRESIZE}, or -1 if there is no known bound.
+     */
+    static int presize(Iterable<?> iterable) {
+        int size = exactSize(iterable);
+        if (size >= 0)
+            return size;
+        size = maxSize(iterable);
+        return size >= 0 ? Math.min(size, MAX_PRESIZE) : -1;
+    }
+    
+    /**
+     * Check if the iterable contains the specified entry, i.e. the same instance. If the iterable
+     * is a {@link Set} that does not contain an equal entry, it is known not to contain the 
+     * instance either, so this returns without iterating.
      * 
      * @param iterable which entries will be counted.
      * @param needle to look for among the iterable entries.
      * @return the number of entries returned by the iterator.
      */
     public static <T> boolean contains(Iterable<T> iterable, T needle) {
-        for (T entry : iterable) {
-            if (entry == needle) {
-                return true;
+        if (iterable instanceof Set<?> && needle != null && !((Set<?>)iterable).contains(needle))
+            return false;
+        Iterator<T> it = iterable.iterator();
+        try {
+            while (it.hasNext()) {
+                if (it.next() == needle)
+                    return true;
             }
+            return false;
+        }
+        finally {
+            close(it);
         }
-        return false;
     }
     
     /**
@@ -149,7 +274,8 @@ public class Itq {
             return ((IterableExt<T>)itr).toList();
         
         itr = valid(itr);
-        List<T> result = new ArrayList<T>(); 
+        int size = exactSize(itr);
+        List<T> result = size >= 0 ? new ArrayList<T>(size) : new ArrayList<T>(); 
         for (T t :itr)
             result.add(t);
         return result;
@@ -167,6 +293,9 @@ public class Itq {
         
         itr = valid(itr);
         Stack<T> result = new Stack<T>(); 
+        int size = exactSize(itr);
+        if (size > 0)
+            result.ensureCapacity(size);
         for (T t :itr)
             result.push(t);
         return result;
@@ -183,24 +312,76 @@ public class Itq {
      * @return The resultant map. Will never be null.
      */
     public static <K,T> Map<K, T> toMap(Iterable<T> itr, Transform<T, K> keyProducer) {
+        if (itr instanceof IterableExt<?>)
+            return ((IterableExt<T>)itr).toMap(keyProducer);
+        
         itr = valid(itr);
-        Map<K,T> map = new HashMap<K, T>();
+        Map<K,T> map = newHashMap(exactSize(itr));
         for (T t : itr)
             map.put(keyProducer.transform(t), t);
         return map;
     }
     
+    /**
+     * Builds an immutable hash {@link Index} of the elements of an iterable by key. Every key must
+     * be unique.
+     * 
+     * @param <K> The key type
+     * @param <T> The element type
+     * @param itr The elements to index.
+     * @param keyProducer Produces the key of an element.
+     * @return The index. Will never be null.
+     * @throws IllegalStateException if two elements have equal keys.
+     * @see IterableExt#toIndex(Transform)
+     */
+    public static <K, T> Index<K, T> toIndex(Iterable<T> itr, Transform<T, K> keyProducer) {
+        return from(itr).toIndex(keyProducer);
+    }
+    
+    /**
+     * Builds an immutable hash {@link Index} of the elements of an iterable by key that keeps all
+     * the elements of every key.
+     * 
+     * @param <K> The key type
+     * @param <T> The element type
+     * @param itr The elements to index.
+     * @param keyProducer Produces the key of an element.
+     * @return The index. Will never be null.
+     * @see IterableExt#toMultiIndex(Transform)
+     */
+    public static <K, T> Index<K, T> toMultiIndex(Iterable<T> itr, Transform<T, K> keyProducer) {
+        return from(itr).toMultiIndex(keyProducer);
+    }
+    
+    /**
+     * Creates a {@link HashMap} that will not need to rehash to hold the specified amount of 
+     * entries.
+     * 
+     * @param size The expected amount of entries or -1 if unknown.
+     * @return A new empty map.
+     */
+    static <K, V> HashMap<K, V> newHashMap(int size) {
+        if (size < 0)
+            return new HashMap<K, V>();
+        return new HashMap<K, V>(Math.max(16, (int)(size / 0.75f) + 1));
+    }
+    
     /**
      * Finds the maximum element in a iterable object.
      * <p>
      * Performance Note: This implementation actually performs the loop which means it has exact 
-     * linear O(n)complexity. 
+     * linear O(n)complexity. For a {@link IterableExt#parallel() parallel} {@link IterableExt} the
+     * loop is split over multiple threads.
      * 
      * @param <T> The element type of the iterator
      * @param itr the iterable object
      * @return the maximum element or null if the iterator is empty.
      */
+    @SuppressWarnings("unchecked")
     public static <T extends Comparable<T>> T max(Iterable<T> itr) {
+        if (itr instanceof IntfImpl<?> && ((IntfImpl<T>)itr).parallel)
+            return (T)((IntfImpl<T>)itr).parallelExtreme(true);
+        
         itr = valid(itr);
         Iterator<T> it = itr.iterator();
         T result = it.hasNext()?it.next():null;
@@ -216,13 +397,18 @@ public class Itq {
      * Finds the minimum element in a iterable object.
      * <p>
      * Performance Note: This implementation actually performs the loop which means it has exact 
-     * linear O(n)complexity. 
+     * linear O(n)complexity. For a {@link IterableExt#parallel() parallel} {@link IterableExt} the
+     * loop is split over multiple threads.
      * 
      * @param <T> The element type of the iterator
      * @param itr the iterable object
      * @return the minimum element or null if the iterator is empty.
      */
+    @SuppressWarnings("unchecked")
     public static <T extends Comparable<T>> T min(Iterable<T> itr) {
+        if (itr instanceof IntfImpl<?> && ((IntfImpl<T>)itr).parallel)
+            return (T)((IntfImpl<T>)itr).parallelExtreme(false);
+        
         itr = valid(itr);
         Iterator<T> it = itr.iterator();
         T result = it.hasNext()?it.next():null;
@@ -244,62 +430,7 @@ public class Itq {
      * @return a new non-null iterable instance.
      */
     public static <T> IterableExt<T> where(final Iterable<T> itr, final Transform<T, Boolean> condition) {
-        if (itr instanceof IterableExt<?>)
-            return ((IterableExt<T>)itr).where(condition);
-        
-        if (condition == null)
-            throw new ArgumentNullException("condition");
-        return new IntfImpl<T>(new Iterable<T>() {
-            public Iterator<T> iterator() {
-                return new Iterator<T>() {
-                    
-                    private Iterator<T> it = valid(itr).iterator();
-                    private boolean cachedCond;
-                    private T cachedResult;
-                    private boolean fetchedNext = false;
-
-                    public boolean doHasNext() {
-                        if (!fetchedNext) {
-                            cachedResult = it.next();
-                            Boolean b = condition.transform(cachedResult);
-                            cachedCond = b != null && b.booleanValue();
-                            fetchedNext = true;
-                        }
-                        return cachedCond;
-                    }
-                    
-                    public boolean hasNext() {
-                        boolean res = false;
-                        if (fetchedNext)
-                            return true;
-                        
-                        while (it.hasNext()) {
-                            res = doHasNext();
-                            if (res) {
-                                fetchedNext = true;
-                                break;
-                            }
-                            else
-                                fetchedNext = false;
-                        }
-                        return res;
-                    }
-                    
-                    public T next() {
-                        if (!hasNext())
-                            throw new IllegalStateException();
-                        
-                        T result = cachedResult;
-                        fetchedNext = false;
-                        return result;
-                    }
-                    
-                    public void remove() {
-                        throw new UnsupportedOperationException();
-                    }
-                };
-            }
-        });
+        return from(itr).where(condition);
     }
     
     /**
@@ -314,32 +445,7 @@ public class Itq {
      * @return The adaption iterator.
      */
     public static <I, O> IterableExt<O> select(final Iterable<I> itr, final Transform<I, O> transformation) {
-        if (itr instanceof IterableExt<?>)
-            return ((IterableExt<I>)itr).select(transformation);
-        
-        if (transformation == null)
-            throw new ArgumentNullException("adaptation");
-
-        return from(
-                new Iterator<O>() {
-                    private Iterator<I> it = null;
-                    
-                    private Iterator<I> getIt() {
-                        return it == null?(it = valid(itr).iterator()):it;
-                    }
-                    
-                    public boolean hasNext() {
-                        return getIt().hasNext();
-                    }
-                    
-                    public O next() {
-                        return transformation.transform(getIt().next());
-                    }
-                    
-                    public void remove() {
-                        getIt().remove();
-                    }
-                });
+        return from(itr).select(transformation);
     }
     
     /** 
@@ -365,83 +471,65 @@ public class Itq {
      * @param rest Some additional iterators to add in sequence.
      * @return A new {@link IterableExt} instance over {@link Object}'s representing the joint iterators.
      */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // the array is only read
     public static <T> IterableExt<T> union(final Iterable<T> itr1, final Iterable<T> itr2, final Iterable<T>... rest) {
-        final Queue<Iterable<T>> queue = new LinkedList<Iterable<T>>();
-        queue.add(itr1);
-        queue.add(itr2);
-        for (Iterable<T> o : rest)
-            queue.add(o);
-        
-        return new IntfImpl<T>(new Iterable<T>() {
-            public Iterator<T> iterator() {
-                return new Iterator<T>() {
-
-                    Iterator<T> next = null;
-                    
-                    public boolean hasNext() {
-                        Iterable<T> nextIta = null;
-                        return next != null && next.hasNext()  
-                            || !queue.isEmpty() 
-                                && (
-                                    (nextIta = queue.remove()) != null && 
-                                    (next = nextIta.iterator()) != null && next.hasNext() || hasNext()
-                                );
-                    }
-                    
-                    /**
-                     * {@inheritDoc}
-                     * @see java.util.Iterator#next()
-                     */
-                    public T next() {
-                        return next.next();
-                    }
-                    
-                    /**
-                     * {@inheritDoc}
-                     * @see java.util.Iterator#remove()
-                     */
-                    public void remove() {
-                        next.remove();
-                    }
-                };
-            }
-        });
+        return IntfImpl.lazy(new UnionIterable<T>(sources(itr1, itr2, rest)));
+    }
+    
+    /**
+     * Merges iterables that are each sorted according to the comparator into one sorted 
+     * {@link IterableExt}, e.g. to combine the sorted outputs of shards without sorting them 
+     * again. Elements are read lazily while the result is iterated and a heap over the next 
+     * element of every source keeps the cost at O(log k) per element for k sources. Equal 
+     * elements are yielded in the order of the sources they come from.
+     * 
+     * @param <T> The element type
+     * @param comparator The order of the elements in every source.
+     * @param sources The sorted iterables. Null iterables are skipped.
+     * @return A new {@link IterableExt} instance.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // the array is only read
+    public static <T> IterableExt<T> mergeSorted(Comparator<? super T> comparator, Iterable<T>... sources) {
+        if (comparator == null)
+            throw new ArgumentNullException("comparator");
+        Iterable<T>[] copy = sources != null ? sources.clone() : Itq.<T>iterables(0);
+        return IntfImpl.lazy(new MergeSortedIterable<T>(comparator, copy));
+    }
+    
+    /**
+     * Collects the arguments of {@link #union(Iterable, Iterable, Iterable...)} into an array.
+     */
+    private static <T> Iterable<T>[] sources(Iterable<T> itr1, Iterable<T> itr2, Iterable<T>[] rest) {
+        int n = rest != null ? rest.length : 0;
+        Iterable<T>[] result = iterables(n + 2);
+        result[0] = itr1;
+        result[1] = itr2;
+        if (n > 0)
+            System.arraycopy(rest, 0, result, 2, n);
+        return result;
+    }
+    
+    /**
+     * Creates an array for iterables over T, which Java cannot create directly.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Iterable<T>[] iterables(int length) {
+        return (Iterable<T>[])new Iterable<?>[length];
     }
     
     /**
      * Flattens a 2 dimensional {@link Iterable} over an {@link Iterable} over type T by converting 
-     * it to a 1 dimensional {@link IterableExt} over type T.
+     * it to a 1 dimensional {@link IterableExt} over type T. Null inner iterables are skipped.
      *  
      * @param <T> The element type of the inner iterable.
      * @param iter The 2 dimensional {@link Iterable}
      * @return a 1 dimensional {@link IterableExt} over T
      */
     public static <T> IterableExt<T> flatten(final Iterable<Iterable<T>> iter) {
-        return from(new Iterator<T>() {
-
-            Iterator<T> next = null;
-            Iterator<Iterable<T>> parent;
-            
-            public boolean hasNext() {                
-                return next != null && next.hasNext()
-                  || parent != null && parent.hasNext() && (nextIta() || hasNext())
-                  || parent == null && (parent = iter.iterator()) != null && hasNext();
-            }
-            
-            private boolean nextIta() {
-                Iterable<T> nextIta = null;
-                nextIta = parent.next();
-                return nextIta != null && (next = nextIta.iterator()) != null && next.hasNext();
-            }
-            
-            public T next() {
-                return next.next();
-            }
-            
-            public void remove() {
-                next.remove();
-            }
-        });
+        return IntfImpl.lazy(new FlatMapIterable<Iterable<T>, T>(
+            iter != null ? iter : Itq.<Iterable<T>>emptyIterable(), null));
     }
     
     /**
@@ -450,44 +538,58 @@ public class Itq {
      * 
      * @param count The page size i.e. the amount of items in each group.
      * @return An iterable over lists of the element type.
+     * @see IterableExt#inGroupsOf(int)
      */    
     public static <T> Iterable<List<T>> inGroupsOf(final Iterable<T> iter, final int count) {
-        return from(new Iterator<List<T>> () {
-            
-            private Iterator<T> mainIter = Itq.from(iter).iterator();
-            private List<T> buf;
-            
-            /**
-             * {@inheritDoc}
-             * @see java.util.Iterator#hasNext()
-             */
-            public boolean hasNext() {
-                return mainIter.hasNext();
-            }
-            
-            /**
-             * {@inheritDoc}
-             * @see java.util.Iterator#next()
-             */
-            public List<T> next() {
-                int i = 0;
-                buf = new ArrayList<T>(count);
-                while (mainIter.hasNext() && i < count) {
-                    i++;
-                    buf.add(mainIter.next());
-                }
-                return buf;
-            }
-            
-            
-            /**
-             * {@inheritDoc}
-             * @see java.util.Iterator#remove()
-             */
-            public void remove() {
-                throw new UnsupportedOperationException();
-            }
-        });
+        return inGroupsOf(iter, count, false);
+    }
+    
+    /**
+     * Returns an object that allows iteration over the sprecified iterable object in pages of the 
+     * specified size, optionally reusing a single list for all the pages.
+     * 
+     * @param count The page size i.e. the amount of items in each group.
+     * @param reuseBuffer True to fill the same list for every group, see 
+     *        {@link IterableExt#inGroupsOf(int, boolean)}.
+     * @return An iterable over lists of the element type.
+     */    
+    public static <T> Iterable<List<T>> inGroupsOf(final Iterable<T> iter, final int count, 
+            final boolean reuseBuffer) {
+        if (iter instanceof IterableExt<?>)
+            return ((IterableExt<T>)iter).inGroupsOf(count, reuseBuffer);
+        if (count <= 0)
+            throw new IllegalArgumentException("count must be positive: " + count);
+        return IntfImpl.lazy(new GroupIterable<T>(valid(iter), count, reuseBuffer));
+    }
+    
+    /**
+     * Returns an object that allows iteration over the specified iterable object in groups of at
+     * most the specified size, that are also complete once the maximum delay has passed since
+     * their first item arrived.
+     * 
+     * @param count The maximum amount of items in each group.
+     * @param maxDelay The maximum time to wait for a group to fill after its first item.
+     * @param unit The unit of <code>maxDelay</code>.
+     * @return An iterable over lists of the element type.
+     * @see IterableExt#inGroupsOf(int, long, TimeUnit)
+     */    
+    public static <T> Iterable<List<T>> inGroupsOf(final Iterable<T> iter, final int count, 
+            final long maxDelay, final TimeUnit unit) {
+        return from(iter).inGroupsOf(count, maxDelay, unit);
+    }
+    
+    /**
+     * Returns an object that allows iteration over sliding windows of the specified iterable 
+     * object.
+     * 
+     * @param size The amount of items in each window.
+     * @param step The amount of items between the starts of consecutive windows.
+     * @return An iterable over lists of the element type.
+     * @see IterableExt#windowed(int, int)
+     */    
+    public static <T> Iterable<List<T>> windowed(final Iterable<T> iter, final int size, 
+            final int step) {
+        return from(iter).windowed(size, step);
     }
     
     /**
@@ -500,16 +602,93 @@ public class Itq {
      * @return A {@link StringBuilder} object that can be used to build the final string.
      */
     public static <E> StringBuilder concat(final Iterable<E> itr, final String seperator) {
-        StringBuilder b = new StringBuilder();
+        if (itr instanceof IterableExt<?>)
+            return ((IterableExt<E>)itr).concat(seperator);
+        return join(itr, seperator);
+    }
+    
+    /**
+     * Concatenates into a new {@link StringBuilder}. Appends to the builder directly rather than
+     * through {@link #concatTo(Iterable, Appendable, String)}: {@link StringBuilder#append(Object)}
+     * converts the common element types in place, where the {@link Appendable} route first 
+     * converts every element to a String of its own. Special casing {@link CharSequence}s here 
+     * halves the throughput for other elements, so a view such as a line from 
+     * {@link #fromLines(Path, Charset)} is appended through its toString(); concatTo appends
+     * views without that copy. The builder is not presized, as measuring the elements up front 
+     * costs an extra pass that the amortised growth does not.
+     */
+    private static StringBuilder join(Iterable<?> itr, String seperator) {
+        StringBuilder result = new StringBuilder();
+        boolean first = true;
+        for (Object o : from(itr)) {
+            if (!first && seperator != null)
+                result.append(seperator);
+            result.append(o);
+            first = false;
+        }
+        return result;
+    }
+    
+    /**
+     * Appends all items of the iterable to an {@link Appendable}, e.g. a {@link java.io.Writer},
+     * using the specified seperator. See {@link IterableExt#concatTo(Appendable, String)}.
+     * 
+     * @param <E> The element type
+     * @param <A> The type of the output
+     * @param itr The iterable object
+     * @param out The output to append to.
+     * @param seperator The seperator to append between elements. May be null.
+     * @return <code>out</code>.
+     * @throws IOException if the output fails.
+     */
+    public static <E, A extends Appendable> A concatTo(final Iterable<E> itr, A out, 
+            final String seperator) throws IOException {
+        if (out == null)
+            throw new ArgumentNullException("out");
         Iterator<E> it = from(itr).iterator();
-        if (it.hasNext())
-            b.append(it.next());
-        while (it.hasNext()) {
-            if (seperator != null)
-                b.append(seperator);
-            b.append(it.next());
+        try {
+            if (it.hasNext())
+                append(out, it.next());
+            while (it.hasNext()) {
+                if (seperator != null)
+                    out.append(seperator);
+                append(out, it.next());
+            }
         }
-        return b;
+        finally {
+            // The output may fail before the end of a source that only releases its resources there
+            close(it);
+        }
+        return out;
+    }
+    
+    /**
+     * Writes all items of the iterable to a stream using the specified seperator. See 
+     * {@link IterableExt#concatTo(OutputStream, Charset, String)}.
+     * 
+     * @param <E> The element type
+     * @param itr The iterable object
+     * @param out The stream to write to.
+     * @param charset The encoding to write the text in.
+     * @param seperator The seperator to write between elements. May be null.
+     * @throws IOException if the stream fails.
+     */
+    public static <E> void concatTo(final Iterable<E> itr, OutputStream out, Charset charset, 
+            final String seperator) throws IOException {
+        if (out == null)
+            throw new ArgumentNullException("out");
+        if (charset == null)
+            throw new ArgumentNullException("charset");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, charset));
+        concatTo(itr, writer, seperator);
+        writer.flush();
+    }
+    
+    private static void append(Appendable out, Object o) throws IOException {
+        if (o instanceof CharSequence)
+            out.append((CharSequence)o);
+        else
+            out.append(String.valueOf(o));
     }
 
     
@@ -555,6 +734,33 @@ public class Itq {
         return Itq.from(Arrays.asList(arr));
     }
     
+    /**
+     * Converts an int array to an {@link IntIterableExt}
+     * @param arr The input array. May be null.
+     * @return The {@link IntIterableExt} instance
+     */
+    public static IntIterableExt from(int[] arr) {
+        return new IntPipeline(arr != null ? arr : new int[0]);
+    }
+    
+    /**
+     * Converts a long array to a {@link LongIterableExt}
+     * @param arr The input array. May be null.
+     * @return The {@link LongIterableExt} instance
+     */
+    public static LongIterableExt from(long[] arr) {
+        return new LongPipeline(arr != null ? arr : new long[0]);
+    }
+    
+    /**
+     * Converts a double array to a {@link DoubleIterableExt}
+     * @param arr The input array. May be null.
+     * @return The {@link DoubleIterableExt} instance
+     */
+    public static DoubleIterableExt from(double[] arr) {
+        return new DoublePipeline(arr != null ? arr : new double[0]);
+    }
+    
     /**
      * Creates an {@link Iterable} object from individual items.
      * 
@@ -564,6 +770,7 @@ public class Itq {
      * @return An {@link IterableExt} implementation that will, when iterated, yield the specified 
      *         parameters in sequence.
      */
+    @SafeVarargs
     public static <T> IterableExt<T> from(T t, T... args) {
         List<T> l = new ArrayList<T>(args.length + 1);
         l.add(t);
@@ -587,6 +794,146 @@ public class Itq {
         });
     }
     
+    /**
+     * Converts a {@link Stream} to an {@link IterableExt}. Like the stream, the result can only 
+     * be iterated once; the stream is not evaluated before that. The size of the stream is 
+     * carried over if it is known, and {@link IterableExt#stream()} continues the stream from its
+     * own spliterator, parallel if the stream was parallel.
+     * 
+     * @param <T> The stream element type
+     * @param stream The stream. May be null.
+     * @return A new valid {@link IterableExt} object. Will never be null.
+     */
+    public static <T> IterableExt<T> from(final Stream<T> stream) {
+        if (stream == null) {
+            Iterable<T> emptyIterable = emptyIterable();
+            return Itq.from(emptyIterable);
+        }
+        return IntfImpl.lazy(new StreamAdapter<T>(stream));
+    }
+    
+    /**
+     * Converts a {@link Flow.Publisher} to an {@link IterableExt}. Every iterator subscribes to 
+     * the publisher when it is first used and then blocks until the publisher signals the next
+     * element. At most <code>prefetch</code> elements are requested ahead of the consumer, and
+     * they are requested again in batches as the consumer takes them, so the memory used stays
+     * bounded however fast the publisher is. An error signalled by the publisher is rethrown by 
+     * the iterator once the consumer reaches it. The iterators implement 
+     * {@link java.io.Closeable}; close an iterator that is not iterated to the end to cancel its
+     * subscription.
+     * 
+     * @param <T> The element type
+     * @param publisher The publisher. May be null.
+     * @param prefetch The maximum amount of elements to request ahead of the consumer.
+     * @return A new valid {@link IterableExt} object. Will never be null.
+     */
+    public static <T> IterableExt<T> from(final Flow.Publisher<T> publisher, int prefetch) {
+        if (prefetch <= 0)
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        if (publisher == null) {
+            Iterable<T> emptyIterable = emptyIterable();
+            return Itq.from(emptyIterable);
+        }
+        return IntfImpl.lazy(new PublisherIterable<T>(publisher, prefetch));
+    }
+    
+    /**
+     * Returns an {@link IterableExt} over the elements of an XML document that match an element 
+     * path, without parsing the whole document into memory like a {@link NodeList} requires. The
+     * document is streamed and every matching element is yielded as a DOM {@link Element} that 
+     * holds its attributes and descendants but is not attached to a document, so only one 
+     * matching element at a time needs to be in memory.
+     * <p>
+     * The path consists of element local names separated by slashes, where <code>*</code> 
+     * matches any name. A path starting with a slash is matched from the document element, e.g. 
+     * <code>/feed/entry</code>, otherwise against the innermost elements, e.g. 
+     * <code>entry</code> matches entry elements at any depth. Elements inside a matching element 
+     * are not matched separately.
+     * <p>
+     * The stream is read once, so the result can only be iterated once. It is not closed. 
+     * Invalid XML causes an {@link IllegalStateException} during iteration.
+     * 
+     * @param stream The XML document. May be null.
+     * @param elementPath The path of the elements to yield.
+     * @return A new valid {@link IterableExt} object. Will never be null.
+     */
+    public static IterableExt<Element> fromXml(InputStream stream, String elementPath) {
+        if (elementPath == null)
+            throw new ArgumentNullException("elementPath");
+        if (stream == null) {
+            Iterable<Element> emptyIterable = emptyIterable();
+            return Itq.from(emptyIterable);
+        }
+        return IntfImpl.lazy(new XmlElementIterable(stream, null, elementPath));
+    }
+    
+    /**
+     * Same as {@link #fromXml(InputStream, String)} but reads the document from a file, which is
+     * opened per iterator, so the result can be iterated more than once. The file is closed at the
+     * end of the document, when the iterator, which implements {@link java.io.Closeable}, is
+     * closed, or when the document cannot be read. As with {@link #fromLines(Path, Charset)}, the
+     * iterators of pipelines built on the result forward their close to it and operations that
+     * stop early close it themselves. I/O errors are thrown as
+     * {@link java.io.UncheckedIOException}s.
+     * 
+     * @param file The XML file.
+     * @param elementPath The path of the elements to yield.
+     * @return A new valid {@link IterableExt} object. Will never be null.
+     */
+    public static IterableExt<Element> fromXml(Path file, String elementPath) {
+        if (file == null)
+            throw new ArgumentNullException("file");
+        if (elementPath == null)
+            throw new ArgumentNullException("elementPath");
+        return IntfImpl.lazy(new XmlElementIterable(null, file, elementPath));
+    }
+    
+    /**
+     * Returns an {@link IterableExt} over the lines of a text file. Lines end with a line feed, 
+     * optionally preceded by a carriage return, neither of which is part of the yielded line. 
+     * <p>
+     * The file is read through memory-mapped regions instead of a stream and every line is 
+     * decoded into the same reusable character buffer, so iterating allocates nothing per line. 
+     * The yielded {@link CharSequence} is therefore only valid until the next line is requested; 
+     * call its {@link Object#toString()} to keep a copy. The file is opened per iterator and 
+     * closed once the last line has been read, or when the iterator, which implements 
+     * {@link java.io.Closeable}, is closed. The iterators of the pipelines built on the result 
+     * forward their close to it, and operations that stop early, such as 
+     * {@link IterableExt#first()}, {@link IterableExt#any(Transform)} and 
+     * {@link IterableExt#take(int)}, close it themselves. I/O errors are thrown as 
+     * {@link java.io.UncheckedIOException}s.
+     * 
+     * @param file The file to read.
+     * @param charset The encoding of the file.
+     * @return A new valid {@link IterableExt} object. Will never be null.
+     */
+    public static IterableExt<CharSequence> fromLines(Path file, Charset charset) {
+        if (file == null)
+            throw new ArgumentNullException("file");
+        if (charset == null)
+            throw new ArgumentNullException("charset");
+        return IntfImpl.lazy(new MappedRecordIterable(file, charset, '\n', true));
+    }
+    
+    /**
+     * Same as {@link #fromLines(Path, Charset)} but the records of the file end with the 
+     * specified delimiter instead of a line end. The delimiter must encode to a single byte in the
+     * charset, as ASCII characters do in UTF-8.
+     * 
+     * @param file The file to read.
+     * @param charset The encoding of the file.
+     * @param delimiter The character that ends a record.
+     * @return A new valid {@link IterableExt} object. Will never be null.
+     * @throws IllegalArgumentException if the delimiter does not encode to a single byte.
+     */
+    public static IterableExt<CharSequence> fromRecords(Path file, Charset charset, char delimiter) {
+        if (file == null)
+            throw new ArgumentNullException("file");
+        if (charset == null)
+            throw new ArgumentNullException("charset");
+        return IntfImpl.lazy(new MappedRecordIterable(file, charset, delimiter, false));
+    }
+    
     /**
      * Converts a {@link Enumeration} over T to an {@link Iterable} over T.
      * @param <T> The enumeration/iterator element type.
@@ -636,29 +983,11 @@ public class Itq {
      * @return A new valid {@link IterableExt} object. Will never be null.
      */
     public static IterableExt<Node> from(final NodeList xmlNodeList) {
-        Iterator<Node> iter;
-        if (xmlNodeList == null)
-            iter = emptyIterator();
-        else {
-            iter = new Iterator<Node>() {
-                private int count = xmlNodeList.getLength();
-                private int at = 0;
-                
-                public boolean hasNext() {
-                    return at < count;
-                }
-                
-                public Node next() {
-                    return xmlNodeList.item(at++);
-                }
-                
-                public void remove() {
-                    throw new UnsupportedOperationException();
-                }
-                
-            };
+        if (xmlNodeList == null) {
+            Iterable<Node> emptyIterable = emptyIterable();
+            return Itq.from(emptyIterable);
         }
-        return from(iter);
+        return Itq.from(new NodeListAdapter(xmlNodeList));
     }
     
     /**
@@ -684,20 +1013,73 @@ public class Itq {
     
     /**
      * An implementation of {@link IterableExt} that is yielded as result by methods in this class.
+     * <p>
+     * The where and select stages applied to an instance are not wrapped around it but are fused
+     * onto its source, see {@link Stages}. {@link #forEach(Operation)} and the other terminal 
+     * operations push each source element through all the stages in a single loop, while 
+     * {@link #iterator()} offers the same pipeline pull based.
+     * <p>
+     * The size of the source is carried through the pipeline: select stages preserve it and where
+     * stages turn it into an upper bound.
      * 
      * @author Hannes de Jager
      * @since 02 Sep 2008
      */
-    private static class IntfImpl<T> implements IterableExt<T> {
+    private static class IntfImpl<T> implements IterableExt<T>, Sized {
         
-        /** The original iterator */
-        private final Iterable<T> delegate;
+        /** Condition used by {@link #whereNotNull()} */
+        private static final Transform<Object, Boolean> NOT_NULL = new Transform<Object, Boolean>() {
+            public Boolean transform(Object input) {
+                return input != null;
+            }
+        };
         
-        /**
-         * Constructor. 
-         */
-        public IntfImpl(Iterable<T> delegate) {
-            this.delegate = Itq.valid(delegate);
+        /** Combiner used by the join methods that yield {@link Pair}s */
+        private static final BiTransform<?, ?, ?> PAIR_COMBINER = new BiTransform<Object, Object, Pair<Object, Object>>() {
+            public Pair<Object, Object> transform(Object left, Object right) {
+                return new Pair<Object, Object>(left, right);
+            }
+        };
+        
+        /** The original iterable that the pipeline reads from */
+        private final Iterable<?> source;
+        
+        /** The where and select stages to apply to the source elements */
+        private final Stages stages;
+        
+        /** True if the stages should be evaluated in parallel. Only set for random access sources. */
+        private final boolean parallel;
+        
+        /**
+         * Constructor. 
+         */
+        public IntfImpl(Iterable<T> delegate) {
+            this(Itq.valid(delegate), Stages.NONE, false);
+        }
+        
+        /**
+         * Constructor. 
+         * 
+         * @param source The valid source iterable.
+         * @param stages The stages that turn the source elements into elements of type T.
+         * @param parallel True to evaluate the stages in parallel.
+         */
+        private IntfImpl(Iterable<?> source, Stages stages, boolean parallel) {
+            this.source = source;
+            this.stages = stages;
+            this.parallel = parallel;
+        }
+        
+        /**
+         * Wraps a source created by this package. Such a source is valid by construction and 
+         * requesting its iterator may already do the expensive work, so unlike the public 
+         * constructor this does not check it with {@link Itq#valid(Iterable)}.
+         * 
+         * @param source The source iterable.
+         * @return A new {@link IntfImpl} without stages.
+         */
+        static <T> IntfImpl<T> lazy(Iterable<T> source) {
+            return new IntfImpl<T>(source, Stages.NONE, false);
         }
 
         /**
@@ -705,21 +1087,99 @@ public class Itq {
          * @see com.attix5.util.invoke.itql.IterableI#size()
          */
         public int size() {
+            int size = exactSize();
+            if (size >= 0)
+                return size;
+            
+            stages.iterated();
+            if (parallel) {
+                return Parallel.reduce((List<?>)source, new Parallel.Reduction<Integer>() {
+                    Integer reduce(List<?> list, int from, int to) {
+                        int result = 0;
+                        for (int i = from; i < to; i++) {
+                            if (stages.apply(list.get(i)) != Stages.SKIP)
+                                result++;
+                        }
+                        return result;
+                    }
+                    
+                    Integer combine(Integer left, Integer right) {
+                        return left + right;
+                    }
+                });
+            }
+            
             int result = 0;
-            Iterator<T> iterator = delegate.iterator();
-            while (iterator.hasNext()) {
-                iterator.next();
-                result++;
+            if (stages.isEmpty()) {
+                Iterator<?> iterator = source.iterator();
+                while (iterator.hasNext()) {
+                    iterator.next();
+                    result++;
+                }
+            }
+            else {
+                for (Object o : source) {
+                    if (stages.apply(o) != Stages.SKIP)
+                        result++;
+                }
             }
             return result;
         }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public int exactSize() {
+            return stages.hasFilters() ? -1 : Itq.exactSize(source);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public int maxSize() {
+            return Itq.maxSize(source);
+        }
 
         /**
          * {@inheritDoc}
          * @see java.lang.Iterable#iterator()
          */
+        @SuppressWarnings("unchecked")
         public Iterator<T> iterator() {
-            return delegate.iterator();
+            stages.iterated();
+            if (stages.isEmpty())
+                return (Iterator<T>)source.iterator();
+            return (Iterator<T>)stages.iterator(source.iterator());
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        public void forEach(Operation<T> operation) {
+            if (operation == null)
+                throw new ArgumentNullException("operation");
+            
+            if (parallel) {
+                for (List<Object> range : parallelRanges()) {
+                    for (Object o : range)
+                        operation.perform((T)o);
+                }
+            }
+            else if (stages.isEmpty()) {
+                stages.iterated();
+                for (Object o : source)
+                    operation.perform((T)o);
+            }
+            else {
+                Stages s = stages;
+                s.iterated();
+                for (Object o : source) {
+                    Object value = s.apply(o);
+                    if (value != Stages.SKIP)
+                        operation.perform((T)value);
+                }
+            }
         }
         
         /**
@@ -727,7 +1187,65 @@ public class Itq {
          * @see com.attix5.util.invoke.itql.IterableI#select(com.attix5.util.invoke.constructs.Transform)
          */
         public <O> IterableExt<O> select(Transform<T, O> adaptation) {
-            return Itq.select(delegate, adaptation);
+            if (adaptation == null)
+                throw new ArgumentNullException("adaptation");
+            return new IntfImpl<O>(source, stages.append(adaptation, false), parallel);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <O> IterableExt<O> selectMany(Transform<T, ? extends Iterable<O>> transform) {
+            if (transform == null)
+                throw new ArgumentNullException("transform");
+            return IntfImpl.lazy(new FlatMapIterable<T, O>(this, transform));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IntIterableExt selectInt(ToIntTransform<T> transform) {
+            if (transform == null)
+                throw new ArgumentNullException("transform");
+            return new IntPipeline(this, transform);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public LongIterableExt selectLong(ToLongTransform<T> transform) {
+            if (transform == null)
+                throw new ArgumentNullException("transform");
+            return new LongPipeline(this, transform);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public DoubleIterableExt selectDouble(ToDoubleTransform<T> transform) {
+            if (transform == null)
+                throw new ArgumentNullException("transform");
+            return new DoublePipeline(this, transform);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <K extends Comparable<? super K>> IterableExt<T> orderBy(Transform<T, K> keyProducer) {
+            if (keyProducer == null)
+                throw new ArgumentNullException("keyProducer");
+            return IntfImpl.lazy(new SortedIterable<T, K>(this, keyProducer));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> top(int k, Comparator<? super T> comparator) {
+            if (comparator == null)
+                throw new ArgumentNullException("comparator");
+            if (k < 0)
+                throw new IllegalArgumentException("k cannot be negative: " + k);
+            return IntfImpl.lazy(new TopIterable<T>(this, k, comparator));
         }
         
         /**
@@ -735,7 +1253,7 @@ public class Itq {
          * @see com.attix5.util.invoke.itql.IterableI#cast(java.lang.Class)
          */
         public <O> IterableExt<O> cast(Class<O> target) {
-            return Itq.cast(delegate, target);
+            return Itq.cast(this, target);
         }
         
         /**
@@ -743,26 +1261,50 @@ public class Itq {
          * @see com.attix5.util.invoke.itql.IterableI#where(com.attix5.util.invoke.constructs.Transform)
          */
         public IterableExt<T> where(Transform<T, Boolean> condition) {
-            return Itq.where(delegate, condition);
+            if (condition == null)
+                throw new ArgumentNullException("condition");
+            return new IntfImpl<T>(source, stages.append(condition, true), parallel);
         }
 
         /**
          * {@inheritDoc}
          */
         public IterableExt<T> whereNotNull() {
-        	return Itq.where(delegate, new Transform<T, Boolean>() {
-        		public Boolean transform(T input) {
-        			return input != null;
-        		};
-			} );
+            return new IntfImpl<T>(source, stages.append(NOT_NULL, true), parallel);
         }
         
         /**
          * {@inheritDoc}
          * @see com.attix5.util.invoke.itql.IterableI#toList()
          */
+        @SuppressWarnings("unchecked")
         public List<T> toList() {
-            return Itq.toList(delegate);
+            if (parallel) {
+                List<List<Object>> ranges = parallelRanges();
+                int size = 0;
+                for (List<Object> range : ranges)
+                    size += range.size();
+                List<Object> result = new ArrayList<Object>(size);
+                for (List<Object> range : ranges)
+                    result.addAll(range);
+                return (List<T>)result;
+            }
+            
+            int size = exactSize();
+            if (size < 0 && !stages.hasFilters())
+                size = Itq.presize(source); // a bounded source such as a take(n)
+            if (source instanceof FlatMapIterable<?, ?> && stages.isEmpty()) {
+                List<T> result = size >= 0 ? new ArrayList<T>(size) : new ArrayList<T>();
+                ((FlatMapIterable<?, T>)source).addTo(result);
+                return result;
+            }
+            final List<T> result = size >= 0 ? new ArrayList<T>(size) : new ArrayList<T>();
+            forEach(new Operation<T>() {
+                public void perform(T t) {
+                    result.add(t);
+                }
+            });
+            return result;
         }
         
         /**
@@ -770,23 +1312,192 @@ public class Itq {
          * @see com.attix5.util.invoke.itql.IterableI#toStack()
          */
         public Stack<T> toStack() {
-            return Itq.toStack(delegate);
+            final Stack<T> result = new Stack<T>();
+            int size = exactSize();
+            if (size > 0)
+                result.ensureCapacity(size);
+            forEach(new Operation<T>() {
+                public void perform(T t) {
+                    result.push(t);
+                }
+            });
+            return result;
         }
         
         /**
          * {@inheritDoc}
          * @see com.attix5.util.invoke.itql.IterableI#toMap(com.attix5.util.invoke.constructs.Transform)
          */
-        public <K> Map<K, T> toMap(Transform<T, K> keyProducer) {
-            return Itq.toMap(delegate, keyProducer);
+        public <K> Map<K, T> toMap(final Transform<T, K> keyProducer) {
+            final Map<K, T> map = newHashMap(exactSize());
+            forEach(new Operation<T>() {
+                public void perform(T t) {
+                    map.put(keyProducer.transform(t), t);
+                }
+            });
+            return map;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <K> Index<K, T> toIndex(Transform<T, K> keyProducer) {
+            if (keyProducer == null)
+                throw new ArgumentNullException("keyProducer");
+            return new Index<K, T>(toList(), keyProducer, true);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <K> Index<K, T> toMultiIndex(Transform<T, K> keyProducer) {
+            if (keyProducer == null)
+                throw new ArgumentNullException("keyProducer");
+            return new Index<K, T>(toList(), keyProducer, false);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> distinct() {
+            return IntfImpl.lazy(new DistinctIterable<T, Object>(this, null));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <K> IterableExt<T> distinctBy(Transform<T, K> keyProducer) {
+            if (keyProducer == null)
+                throw new ArgumentNullException("keyProducer");
+            return IntfImpl.lazy(new DistinctIterable<T, K>(this, keyProducer));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public long approxDistinctCount() {
+            return approxDistinctCount(HyperLogLog.DEFAULT_PRECISION);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public long approxDistinctCount(final int precision) {
+            if (parallel) {
+                stages.iterated();
+                // Sketches of separate ranges merge into the sketch of the whole
+                return Parallel.reduce((List<?>)source, new Parallel.Reduction<HyperLogLog>() {
+                    HyperLogLog reduce(List<?> list, int from, int to) {
+                        HyperLogLog sketch = new HyperLogLog(precision);
+                        for (int i = from; i < to; i++) {
+                            Object value = stages.apply(list.get(i));
+                            if (value != Stages.SKIP)
+                                sketch.add(value);
+                        }
+                        return sketch;
+                    }
+                    
+                    HyperLogLog combine(HyperLogLog left, HyperLogLog right) {
+                        left.merge(right);
+                        return left;
+                    }
+                }).estimate();
+            }
+            
+            final HyperLogLog sketch = new HyperLogLog(precision);
+            forEach(new Operation<T>() {
+                public void perform(T t) {
+                    sketch.add(t);
+                }
+            });
+            return sketch.estimate();
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <K> Grouping<K, T> groupBy(Transform<T, K> keyProducer) {
+            if (keyProducer == null)
+                throw new ArgumentNullException("keyProducer");
+            return new GroupingImpl<K, T>(this, keyProducer);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <R, K, O> IterableExt<O> join(Iterable<R> other, Transform<T, K> leftKey, 
+                Transform<R, K> rightKey, BiTransform<T, R, O> combiner) {
+            if (leftKey == null)
+                throw new ArgumentNullException("leftKey");
+            if (rightKey == null)
+                throw new ArgumentNullException("rightKey");
+            if (combiner == null)
+                throw new ArgumentNullException("combiner");
+            return IntfImpl.lazy(new HashJoinIterable<T, R, K, O>(this, other != null ? other : Itq.<R>emptyIterable(), leftKey, rightKey, combiner));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <R, K> IterableExt<Pair<T, R>> join(Iterable<R> other, Transform<T, K> leftKey, 
+                Transform<R, K> rightKey) {
+            BiTransform<T, R, Pair<T, R>> combiner = pairCombiner();
+            return join(other, leftKey, rightKey, combiner);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <R, K extends Comparable<? super K>, O> IterableExt<O> mergeJoin(Iterable<R> other, 
+                Transform<T, K> leftKey, Transform<R, K> rightKey, BiTransform<T, R, O> combiner) {
+            if (leftKey == null)
+                throw new ArgumentNullException("leftKey");
+            if (rightKey == null)
+                throw new ArgumentNullException("rightKey");
+            if (combiner == null)
+                throw new ArgumentNullException("combiner");
+            return IntfImpl.lazy(new MergeJoinIterable<T, R, K, O>(this, other != null ? other : Itq.<R>emptyIterable(), leftKey, rightKey, combiner));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <R, K extends Comparable<? super K>> IterableExt<Pair<T, R>> mergeJoin(Iterable<R> other, 
+                Transform<T, K> leftKey, Transform<R, K> rightKey) {
+            BiTransform<T, R, Pair<T, R>> combiner = pairCombiner();
+            return mergeJoin(other, leftKey, rightKey, combiner);
+        }
+        
+        /**
+         * @return A {@link BiTransform} that combines its inputs into a {@link Pair}.
+         */
+        @SuppressWarnings("unchecked")
+        private static <L, R> BiTransform<L, R, Pair<L, R>> pairCombiner() {
+            return (BiTransform<L, R, Pair<L, R>>)PAIR_COMBINER;
         }
         
         /**
          * {@inheritDoc}
          * @see com.attix5.util.invoke.itql.IterableI#union(Iterable, Iterable...)
          */
-        public IterableExt<T> union(Iterable<T> itr2, Iterable<T>... rest) {
-            return Itq.union(delegate, itr2, rest);
+        @SafeVarargs
+        @SuppressWarnings("varargs") // the array is only read
+        public final IterableExt<T> union(Iterable<T> itr2, Iterable<T>... rest) {
+            return Itq.union(this, itr2, rest);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @SafeVarargs
+        @SuppressWarnings("varargs") // the array is only read
+        public final IterableExt<T> mergeSorted(Comparator<? super T> comparator, Iterable<T>... others) {
+            int n = others != null ? others.length : 0;
+            Iterable<T>[] sources = Itq.<T>iterables(n + 1);
+            sources[0] = this;
+            if (n > 0)
+                System.arraycopy(others, 0, sources, 1, n);
+            return Itq.mergeSorted(comparator, sources);
         }
         
         /**
@@ -794,7 +1505,21 @@ public class Itq {
          * @see com.attix5.util.invoke.itql.IterableI#concat(java.lang.String)
          */
         public StringBuilder concat(String seperator) {
-            return Itq.concat(delegate, seperator);
+            return Itq.join(this, seperator);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <A extends Appendable> A concatTo(A out, String seperator) throws IOException {
+            return Itq.concatTo(this, out, seperator);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public void concatTo(OutputStream out, Charset charset, String seperator) throws IOException {
+            Itq.concatTo(this, out, charset, seperator);
         }
         
         /**
@@ -803,7 +1528,7 @@ public class Itq {
          */
         public int iterate() {
             int result = 0;
-            Iterator<T> iterator = delegate.iterator();
+            Iterator<T> iterator = iterator();
             while (iterator.hasNext()) {
                 iterator.next();
                 result++;
@@ -816,7 +1541,47 @@ public class Itq {
          * @see com.attix5.util.invoke.itql.IterableI#inGroupsOf(int)
          */
         public Iterable<List<T>> inGroupsOf(int count) {
-            return Itq.inGroupsOf(delegate, count);
+            return inGroupsOf(count, false);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        public Iterable<List<T>> inGroupsOf(int count, boolean reuseBuffer) {
+            if (count <= 0)
+                throw new IllegalArgumentException("count must be positive: " + count);
+            // Without stages the source elements are the resultant elements, so a random access 
+            // source can be grouped into views of itself
+            Iterable<T> elements = stages.isEmpty() ? (Iterable<T>)source : this;
+            return IntfImpl.lazy(new GroupIterable<T>(elements, count, reuseBuffer));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public Iterable<List<T>> inGroupsOf(int count, long maxDelay, TimeUnit unit) {
+            if (count <= 0)
+                throw new IllegalArgumentException("count must be positive: " + count);
+            if (maxDelay < 0)
+                throw new IllegalArgumentException("maxDelay must not be negative: " + maxDelay);
+            if (unit == null)
+                throw new ArgumentNullException("unit");
+            return IntfImpl.lazy(new TimedGroupIterable<T>(this, count, unit.toNanos(maxDelay)));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        public Iterable<List<T>> windowed(int size, int step) {
+            if (size <= 0)
+                throw new IllegalArgumentException("size must be positive: " + size);
+            if (step <= 0)
+                throw new IllegalArgumentException("step must be positive: " + step);
+            // As for inGroupsOf, a random access source without stages is windowed into views
+            Iterable<T> elements = stages.isEmpty() ? (Iterable<T>)source : this;
+            return IntfImpl.lazy(new WindowIterable<T>(elements, size, step));
         }
         
         
@@ -825,9 +1590,390 @@ public class Itq {
          * @see com.attix5.util.invoke.itql.IterableI#single()
          */
         public T single() throws NoSuchElementException {
-            return iterator().next();
+            Iterator<T> iterator = iterator();
+            try {
+                return iterator.next();
+            }
+            finally {
+                Itq.close(iterator);
+            }
+        }
+        
+        // The short-circuiting terminals close the iterator, as they may stop before the end of
+        // a source that only releases its resources there
+        
+        /**
+         * {@inheritDoc}
+         */
+        public T first() {
+            Iterator<T> iterator = iterator();
+            try {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+            finally {
+                Itq.close(iterator);
+            }
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public T first(Transform<T, Boolean> condition) {
+            if (condition == null)
+                throw new ArgumentNullException("condition");
+            Iterator<T> iterator = iterator();
+            try {
+                while (iterator.hasNext()) {
+                    T t = iterator.next();
+                    if (Boolean.TRUE.equals(condition.transform(t)))
+                        return t;
+                }
+                return null;
+            }
+            finally {
+                Itq.close(iterator);
+            }
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public boolean any(Transform<T, Boolean> condition) {
+            if (condition == null)
+                throw new ArgumentNullException("condition");
+            Iterator<T> iterator = iterator();
+            try {
+                while (iterator.hasNext()) {
+                    if (Boolean.TRUE.equals(condition.transform(iterator.next())))
+                        return true;
+                }
+                return false;
+            }
+            finally {
+                Itq.close(iterator);
+            }
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public boolean all(Transform<T, Boolean> condition) {
+            if (condition == null)
+                throw new ArgumentNullException("condition");
+            Iterator<T> iterator = iterator();
+            try {
+                while (iterator.hasNext()) {
+                    if (!Boolean.TRUE.equals(condition.transform(iterator.next())))
+                        return false;
+                }
+                return true;
+            }
+            finally {
+                Itq.close(iterator);
+            }
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> take(int n) {
+            if (n < 0)
+                throw new IllegalArgumentException("n cannot be negative: " + n);
+            return range(0, n);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> skip(int n) {
+            if (n < 0)
+                throw new IllegalArgumentException("n cannot be negative: " + n);
+            return n == 0 ? this : range(n, Integer.MAX_VALUE);
+        }
+        
+        /**
+         * Skips elements and limits the amount of elements that follow. Without where stages the
+         * elements of a random access source map one to one onto the resultant elements, so the
+         * range is applied to the source by index and the stages run on the range only.
+         */
+        @SuppressWarnings("unchecked")
+        private IterableExt<T> range(int skip, int limit) {
+            if (!stages.hasFilters() && source instanceof List<?> && source instanceof RandomAccess)
+                return new IntfImpl<T>(ListRange.of((List<Object>)source, skip, limit), stages, parallel);
+            return IntfImpl.lazy(new LimitIterable<T>(this, skip, limit));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> takeWhile(Transform<T, Boolean> condition) {
+            if (condition == null)
+                throw new ArgumentNullException("condition");
+            return IntfImpl.lazy(new TakeWhileIterable<T>(this, condition));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> parallel() {
+            if (parallel || !(source instanceof List<?> && source instanceof RandomAccess))
+                return this;
+            return new IntfImpl<T>(source, stages, true);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> instrumented(String name) {
+            if (name == null)
+                throw new ArgumentNullException("name");
+            return new IntfImpl<T>(source, stages.instrument(PipelineInstrumentation.forName(name)), parallel);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> cached() {
+            return IntfImpl.lazy(new CachedIterable<T>(this, -1));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> cached(int maxBuffered) {
+            if (maxBuffered < 0)
+                throw new IllegalArgumentException("maxBuffered cannot be negative: " + maxBuffered);
+            return IntfImpl.lazy(new CachedIterable<T>(this, maxBuffered));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        public Spliterator<T> spliterator() {
+            stages.iterated();
+            Spliterator<?> s;
+            if (source instanceof List<?> && source instanceof RandomAccess)
+                s = new PipelineSpliterator.IndexSpliterator((List<?>)source);
+            else if (source instanceof Collection<?> || source instanceof StreamAdapter<?>)
+                s = source.spliterator();
+            else {
+                int size = Itq.exactSize(source);
+                s = size >= 0 
+                    ? Spliterators.spliterator(source.iterator(), size, Spliterator.ORDERED)
+                    : Spliterators.spliteratorUnknownSize(source.iterator(), Spliterator.ORDERED);
+            }
+            if (stages.isEmpty())
+                return (Spliterator<T>)s;
+            
+            int characteristics = s.characteristics();
+            if (stages.hasFilters())
+                characteristics &= ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+            if (stages.hasSelects())
+                characteristics &= ~(Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            if (stages.endsWith(NOT_NULL))
+                characteristics |= Spliterator.NONNULL;
+            return (Spliterator<T>)(Spliterator<?>)new PipelineSpliterator(s, stages, characteristics);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public Stream<T> stream() {
+            boolean parallelStream = parallel 
+                || (source instanceof StreamAdapter<?> && ((StreamAdapter<?>)source).parallel);
+            return StreamSupport.stream(spliterator(), parallelStream);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <O> IterableExt<O> selectAsync(IoTransform<T, O> transform, int maxConcurrency) {
+            return selectAsync(transform, maxConcurrency, true, null);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <O> IterableExt<O> selectAsync(IoTransform<T, O> transform, int maxConcurrency, 
+                Executor executor) {
+            return selectAsync(transform, maxConcurrency, true, executor);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <O> IterableExt<O> selectAsyncUnordered(IoTransform<T, O> transform, int maxConcurrency) {
+            return selectAsync(transform, maxConcurrency, false, null);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public <O> IterableExt<O> selectAsyncUnordered(IoTransform<T, O> transform, int maxConcurrency, 
+                Executor executor) {
+            return selectAsync(transform, maxConcurrency, false, executor);
+        }
+        
+        private <O> IterableExt<O> selectAsync(IoTransform<T, O> transform, int maxConcurrency, 
+                boolean ordered, Executor executor) {
+            if (transform == null)
+                throw new ArgumentNullException("transform");
+            if (maxConcurrency <= 0)
+                throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+            return IntfImpl.lazy(new AsyncSelectIterable<T, O>(this, transform, maxConcurrency, ordered, executor));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> prefetch(int bufferSize) {
+            return prefetch(bufferSize, null);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public IterableExt<T> prefetch(int bufferSize, Executor executor) {
+            if (bufferSize <= 0)
+                throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+            return IntfImpl.lazy(new PrefetchIterable<T>(this, bufferSize, executor));
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        public Flow.Publisher<T> toPublisher(Executor executor) {
+            if (executor == null)
+                throw new ArgumentNullException("executor");
+            return new IterablePublisher<T>(this, executor);
+        }
+        
+        /**
+         * Applies the stages to all source elements in parallel.
+         * 
+         * @return The resultant elements of consecutive source ranges in encounter order.
+         */
+        private List<List<Object>> parallelRanges() {
+            stages.iterated();
+            return Parallel.reduce((List<?>)source, new Parallel.Reduction<List<List<Object>>>() {
+                List<List<Object>> reduce(List<?> list, int from, int to) {
+                    List<Object> range = new ArrayList<Object>(to - from);
+                    for (int i = from; i < to; i++) {
+                        Object value = stages.apply(list.get(i));
+                        if (value != Stages.SKIP)
+                            range.add(value);
+                    }
+                    List<List<Object>> result = new ArrayList<List<Object>>();
+                    result.add(range);
+                    return result;
+                }
+                
+                List<List<Object>> combine(List<List<Object>> left, List<List<Object>> right) {
+                    left.addAll(right);
+                    return left;
+                }
+            });
+        }
+        
+        /**
+         * Finds the maximum or minimum element in parallel. Of equal elements the first one in 
+         * encounter order is returned, like the sequential {@link Itq#max(Iterable)} and 
+         * {@link Itq#min(Iterable)} does.
+         * 
+         * @param max true to find the maximum, false for the minimum.
+         * @return The element found or null if there are no elements. 
+         */
+        private Object parallelExtreme(final boolean max) {
+            stages.iterated();
+            Object result = Parallel.reduce((List<?>)source, new Parallel.Reduction<Object>() {
+                Object reduce(List<?> list, int from, int to) {
+                    Object result = Stages.SKIP;
+                    for (int i = from; i < to; i++) {
+                        Object value = stages.apply(list.get(i));
+                        if (value != Stages.SKIP)
+                            result = combine(result, value);
+                    }
+                    return result;
+                }
+                
+                @SuppressWarnings("unchecked")
+                Object combine(Object left, Object right) {
+                    if (left == Stages.SKIP)
+                        return right;
+                    if (right == Stages.SKIP)
+                        return left;
+                    int c = ((Comparable<Object>)left).compareTo(right);
+                    return (max ? c < 0 : c > 0) ? right : left;
+                }
+            });
+            return result == Stages.SKIP ? null : result;
         }
         
     };
+    
+    /**
+     * Presents the spliterator of a {@link Stream} as an {@link Iterable} that can be iterated 
+     * once.
+     */
+    private static final class StreamAdapter<T> implements Iterable<T>, Sized {
+        
+        private Spliterator<T> spliterator;
+        
+        /** True if the stream was parallel */
+        final boolean parallel;
+        
+        StreamAdapter(Stream<T> stream) {
+            this.spliterator = stream.spliterator();
+            this.parallel = stream.isParallel();
+        }
+        
+        public Iterator<T> iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+        
+        @Override
+        public synchronized Spliterator<T> spliterator() {
+            Spliterator<T> result = spliterator;
+            if (result == null)
+                throw new IllegalStateException("A stream can only be iterated once");
+            spliterator = null;
+            return result;
+        }
+        
+        public synchronized int exactSize() {
+            long size = spliterator != null ? spliterator.getExactSizeIfKnown() : -1;
+            return size <= Integer.MAX_VALUE ? (int)size : -1;
+        }
+        
+        public int maxSize() {
+            return exactSize();
+        }
+    }
+    
+    /**
+     * Presents a DOM {@link NodeList} as a random access {@link List} so that it can be used as a 
+     * re-iterable and splittable source.
+     */
+    private static final class NodeListAdapter extends AbstractList<Node> implements RandomAccess {
+        
+        private final NodeList nodeList;
+        
+        NodeListAdapter(NodeList nodeList) {
+            this.nodeList = nodeList;
+        }
+        
+        @Override
+        public Node get(int index) {
+            if (index < 0 || index >= nodeList.getLength())
+                throw new IndexOutOfBoundsException("Invalid index: " + index);
+            return nodeList.item(index);
+        }
+        
+        @Override
+        public int size() {
+            return nodeList.getLength();
+        }
+    }
 
 }
@@ -0,0 +1,95 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterable} that skips a number of elements of its upstream and then yields at most a
+ * limited number of the elements that follow. Iteration stops as soon as the limit is reached, so
+ * the rest of upstream is never read, and the upstream iterator is closed at that point.
+ * <p>
+ * This is the fallback of {@link IterableExt#skip(int)} and {@link IterableExt#take(int)} for
+ * sources that cannot be indexed; random access sources are ranged with {@link ListRange}
+ * instead.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class LimitIterable<T> implements Iterable<T>, Sized {
+
+    private final Iterable<T> upstream;
+    private final int skip;
+    private final int limit;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to take a range of.
+     * @param skip The amount of elements to skip.
+     * @param limit The maximum amount of elements to yield after the skipped ones.
+     */
+    LimitIterable(Iterable<T> upstream, int skip, int limit) {
+        this.upstream = upstream;
+        this.skip = skip;
+        this.limit = limit;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<T> iterator() {
+        if (limit == 0)
+            return Itq.emptyIterator();
+
+        final Iterator<T> source = upstream.iterator();
+        return new ClosingIterator<T>(source) {
+
+            private int toSkip = skip;
+            private int remaining = limit;
+
+            public boolean hasNext() {
+                if (remaining == 0)
+                    return false;
+                while (toSkip > 0 && source.hasNext()) {
+                    source.next();
+                    toSkip--;
+                }
+                return source.hasNext();
+            }
+
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                T result = source.next();
+                if (--remaining == 0)
+                    close();
+                return result;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return clamp(Itq.exactSize(upstream));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        // The limit is not reported as a bound of an unbounded upstream, as a skip(n) has a
+        // limit of Integer.MAX_VALUE and a take(n) may be far larger than upstream
+        return clamp(Itq.maxSize(upstream));
+    }
+
+    /**
+     * Determines the amount of elements yielded from an upstream of the specified size.
+     */
+    private int clamp(int size) {
+        return size >= 0 ? Math.min(Math.max(0, size - skip), limit) : -1;
+    }
+
+}
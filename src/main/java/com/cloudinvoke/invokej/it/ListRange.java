@@ -0,0 +1,73 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read-only view of a range of a random access list. Unlike {@link List#subList(int, int)} the
+ * range is resolved against the size of the list on every access, so the view stays usable when
+ * the list changes size after the view was created, as lazily evaluated pipelines require.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class ListRange<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> list;
+
+    /** The index in {@link #list} of the first element of the range */
+    private final int offset;
+
+    /** The maximum amount of elements in the range */
+    private final int limit;
+
+    private ListRange(List<E> list, int offset, int limit) {
+        this.list = list;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a view of at most <code>limit</code> elements of a random access list, starting
+     * at index <code>offset</code>. Ranges of ranges are collapsed into a single range.
+     *
+     * @param list A random access list.
+     * @param offset The index of the first element of the range.
+     * @param limit The maximum amount of elements in the range.
+     * @return A new random access view.
+     */
+    static <E> ListRange<E> of(List<E> list, int offset, int limit) {
+        if (list instanceof ListRange<?>) {
+            ListRange<E> range = (ListRange<E>)list;
+            int skipped = Math.min(offset, range.limit);
+            return new ListRange<E>(range.list, saturatedAdd(range.offset, skipped),
+                Math.min(limit, range.limit - skipped));
+        }
+        return new ListRange<E>(list, offset, limit);
+    }
+
+    private static int saturatedAdd(int a, int b) {
+        int sum = a + b;
+        return sum < 0 ? Integer.MAX_VALUE : sum;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        return list.get(offset + index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return Math.max(0, Math.min(list.size() - offset, limit));
+    }
+
+}
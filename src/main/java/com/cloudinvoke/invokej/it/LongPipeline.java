@@ -0,0 +1,262 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import com.cloudinvoke.invokej.ArgumentNullException;
+import com.cloudinvoke.invokej.constructs.LongCondition;
+import com.cloudinvoke.invokej.constructs.LongOperation;
+import com.cloudinvoke.invokej.constructs.LongTransform;
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.ToLongTransform;
+
+/**
+ * The implementation of {@link LongIterableExt}. The source is either a long array or an
+ * {@link IterableExt} together with the {@link ToLongTransform} that converts its elements. Like
+ * {@link Stages} does for objects, the where and select stages are fused into a single loop.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class LongPipeline extends PrimitivePipeline<LongPipeline, LongCondition, LongTransform, Long>
+        implements LongIterableExt {
+
+    /** The source array, or null if the source is {@link #objects} */
+    private final long[] array;
+
+    /** Converts {@link #objects} elements to long */
+    private final ToLongTransform<Object> toLong;
+
+    /**
+     * Constructor.
+     *
+     * @param array The source array.
+     */
+    LongPipeline(long[] array) {
+        this(array, null, null, new LongCondition[0], new LongTransform[0]);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param objects The source.
+     * @param toLong The conversion of the source elements.
+     */
+    @SuppressWarnings("unchecked")
+    <T> LongPipeline(IterableExt<T> objects, ToLongTransform<? super T> toLong) {
+        this(null, (IterableExt<Object>)objects, (ToLongTransform<Object>)toLong,
+            new LongCondition[0], new LongTransform[0]);
+    }
+
+    private LongPipeline(long[] array, IterableExt<Object> objects, ToLongTransform<Object> toLong,
+            LongCondition[] conditions, LongTransform[] transforms) {
+        super(objects, conditions, transforms);
+        this.array = array;
+        this.toLong = toLong;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    LongPipeline withStages(LongCondition[] conditions, LongTransform[] transforms) {
+        return new LongPipeline(array, objects, toLong, conditions, transforms);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    int arrayLength() {
+        return array.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public LongIterableExt where(LongCondition condition) {
+        return appendWhere(condition);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public LongIterableExt select(LongTransform transform) {
+        return appendSelect(transform);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void forEach(final LongOperation operation) {
+        if (operation == null)
+            throw new ArgumentNullException("operation");
+
+        if (array != null) {
+            for (long value : array)
+                push(value, operation);
+        }
+        else {
+            objects.forEach(new Operation<Object>() {
+                public void perform(Object o) {
+                    push(toLong.transform(o), operation);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs the value through the stages and performs the operation on the result unless a where
+     * stage rejected it.
+     */
+    private void push(long value, LongOperation operation) {
+        LongCondition[] c = conditions;
+        LongTransform[] t = transforms;
+        for (int i = 0; i < c.length; i++) {
+            if (c[i] != null) {
+                if (!c[i].check(value))
+                    return;
+            }
+            else
+                value = t[i].transform(value);
+        }
+        operation.perform(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongIterator();
+    }
+
+    /**
+     * Pulls the elements through the stages.
+     */
+    private final class LongIterator extends StageIterator implements PrimitiveIterator.OfLong {
+
+        private long nextValue;
+
+        public boolean hasNext() {
+            fetch:
+            while (!fetched) {
+                long value;
+                if (it == null) {
+                    if (index >= array.length)
+                        return false;
+                    value = array[index++];
+                }
+                else {
+                    if (!it.hasNext())
+                        return false;
+                    value = toLong.transform(it.next());
+                }
+                for (int i = 0; i < conditions.length; i++) {
+                    if (conditions[i] != null) {
+                        if (!conditions[i].check(value))
+                            continue fetch;
+                    }
+                    else
+                        value = transforms[i].transform(value);
+                }
+                nextValue = value;
+                fetched = true;
+            }
+            return true;
+        }
+
+        public long nextLong() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            fetched = false;
+            return nextValue;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    long count() {
+        return summarize().count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long sum() {
+        return summarize().sum;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long min() throws NoSuchElementException {
+        Summary summary = summarize();
+        if (summary.count == 0)
+            throw new NoSuchElementException();
+        return summary.min;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long max() throws NoSuchElementException {
+        Summary summary = summarize();
+        if (summary.count == 0)
+            throw new NoSuchElementException();
+        return summary.max;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double average() {
+        Summary summary = summarize();
+        return summary.count == 0 ? Double.NaN : (double)summary.sum / summary.count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long[] toArray() {
+        final long[][] buffer = { new long[initialCapacity()] };
+        final int[] size = { 0 };
+        forEach(new LongOperation() {
+            public void perform(long value) {
+                if (size[0] == buffer[0].length)
+                    buffer[0] = Arrays.copyOf(buffer[0], grownCapacity(size[0]));
+                buffer[0][size[0]++] = value;
+            }
+        });
+        return size[0] == buffer[0].length ? buffer[0] : Arrays.copyOf(buffer[0], size[0]);
+    }
+
+    /**
+     * Runs the pipeline, gathering the count, sum, minimum and maximum in a single pass.
+     */
+    private Summary summarize() {
+        Summary summary = new Summary();
+        forEach(summary);
+        return summary;
+    }
+
+    /**
+     * Accumulates the statistics of the elements pushed to it.
+     */
+    private static final class Summary implements LongOperation {
+
+        long count;
+        long sum;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+
+        public void perform(long value) {
+            count++;
+            sum += value;
+            if (value < min)
+                min = value;
+            if (value > max)
+                max = value;
+        }
+    }
+
+}
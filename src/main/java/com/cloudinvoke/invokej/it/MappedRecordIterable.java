@@ -0,0 +1,307 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterable} over the delimited records of a file that reads the file through
+ * memory-mapped regions of its {@link FileChannel}.
+ * <p>
+ * Every iterator decodes its records into a single reusable character buffer and yields them as
+ * a {@link CharSequence} view of that buffer, so no objects are allocated per record. The view
+ * is only valid until the next call to {@link Iterator#next()}; use {@link Object#toString()} to
+ * copy a record that has to be kept.
+ * <p>
+ * The delimiter is scanned for in the raw bytes, so it has to encode to a single byte in the
+ * charset, which holds for ASCII characters in UTF-8, the ISO-8859 family and most other
+ * single or variable byte charsets. Malformed input is replaced as by
+ * {@link String#String(byte[], Charset)}.
+ *
+ * @see Itq#fromLines(Path, Charset)
+ * @see Itq#fromRecords(Path, Charset, char)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class MappedRecordIterable implements Iterable<CharSequence> {
+
+    /** The default size of the mapped regions */
+    private static final int REGION_SIZE = 64 << 20;
+
+    private final Path file;
+    private final int regionSize;
+    private final Charset charset;
+    private final byte delimiter;
+
+    /** True to strip a carriage return in front of the delimiter */
+    private final boolean lines;
+
+    /** True if bytes below 0x80 decode to the ASCII characters, as for UTF-8 */
+    private final boolean asciiCompatible;
+
+    /**
+     * Constructor.
+     *
+     * @param file The file to read.
+     * @param charset The encoding of the file.
+     * @param delimiter The character that ends a record.
+     * @param lines True to also strip a carriage return in front of the delimiter.
+     * @throws IllegalArgumentException if the delimiter does not encode to a single byte.
+     */
+    MappedRecordIterable(Path file, Charset charset, char delimiter, boolean lines) {
+        this(file, charset, delimiter, lines, REGION_SIZE);
+    }
+
+    /**
+     * Constructor that maps regions of another size, which lets tests cross region boundaries
+     * with small files.
+     *
+     * @param file The file to read.
+     * @param charset The encoding of the file.
+     * @param delimiter The character that ends a record.
+     * @param lines True to also strip a carriage return in front of the delimiter.
+     * @param regionSize The size of the mapped regions, at least 1.
+     * @throws IllegalArgumentException if the delimiter does not encode to a single byte.
+     */
+    MappedRecordIterable(Path file, Charset charset, char delimiter, boolean lines, int regionSize) {
+        byte[] encoded = String.valueOf(delimiter).getBytes(charset);
+        if (encoded.length != 1 || new String(encoded, charset).charAt(0) != delimiter)
+            throw new IllegalArgumentException("The delimiter must encode to a single byte in " + charset);
+        this.file = file;
+        this.regionSize = regionSize;
+        this.charset = charset;
+        this.delimiter = encoded[0];
+        this.lines = lines;
+        this.asciiCompatible = charset.equals(StandardCharsets.UTF_8)
+            || charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<CharSequence> iterator() {
+        try {
+            return new RecordIterator(FileChannel.open(file, StandardOpenOption.READ));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A reusable view of the characters of the current record.
+     */
+    private static final class Record implements CharSequence {
+
+        char[] chars = new char[256];
+        int length;
+
+        public int length() {
+            return length;
+        }
+
+        public char charAt(int index) {
+            if (index < 0 || index >= length)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+            return chars[index];
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || start > end || end > length)
+                throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length);
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+
+    /**
+     * Scans the mapped regions for delimiters and decodes the records between them. Closing it
+     * closes the file; this also happens when the last record has been read.
+     */
+    private final class RecordIterator extends NoRemoveIterator<CharSequence> implements Closeable {
+
+        private final FileChannel channel;
+        private final long fileSize;
+        private final CharsetDecoder decoder = charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final Record record = new Record();
+        /** Decodes into the characters of {@link #record} */
+        private CharBuffer out = CharBuffer.wrap(record.chars);
+
+        /** The mapped region */
+        private MappedByteBuffer region;
+        /** The position of {@link #region} in the file */
+        private long regionStart;
+        /** The position of the next record in {@link #region} */
+        private int offset;
+        /** The bitwise or of the bytes scanned for the current record */
+        private int scannedBits;
+        /** True if the next record has been decoded into {@link #record} */
+        private boolean fetched;
+        private boolean closed;
+
+        RecordIterator(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+        }
+
+        public boolean hasNext() {
+            if (!fetched && !closed) {
+                try {
+                    fetched = fetch();
+                    if (!fetched)
+                        close();
+                }
+                catch (IOException e) {
+                    close();
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return fetched;
+        }
+
+        public CharSequence next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            fetched = false;
+            return record;
+        }
+
+        /**
+         * Finds the next record and decodes it.
+         *
+         * @return false if there are no more records.
+         */
+        private boolean fetch() throws IOException {
+            if (regionStart + offset >= fileSize)
+                return false;
+            if (region == null)
+                map(0, regionSize);
+
+            scannedBits = 0;
+            int end = scan(offset);
+            while (end < 0) {
+                long regionEnd = regionStart + region.limit();
+                if (regionEnd >= fileSize) {
+                    end = region.limit();
+                    break;
+                }
+                // The record continues beyond the region, so map a region that starts with it
+                int scanned = region.limit() - offset;
+                map(regionStart + offset, Math.max(regionSize, scanned * 2L));
+                end = scan(scanned);
+            }
+
+            int next = end < region.limit() ? end + 1 : end;
+            if (lines && end > offset && region.get(end - 1) == '\r')
+                end--;
+            decode(offset, end);
+            offset = next;
+            return true;
+        }
+
+        /**
+         * Maps a region of the file.
+         */
+        private void map(long position, long size) throws IOException {
+            size = Math.min(Math.min(size, Integer.MAX_VALUE), fileSize - position);
+            region = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            regionStart = position;
+            offset = 0;
+        }
+
+        /**
+         * @return The index in the region of the first delimiter at or after <code>from</code>, or
+         *         -1 if the region does not contain one.
+         */
+        private int scan(int from) {
+            MappedByteBuffer r = region;
+            byte d = delimiter;
+            int bits = scannedBits;
+            try {
+                for (int i = from, n = r.limit(); i < n; i++) {
+                    byte b = r.get(i);
+                    if (b == d)
+                        return i;
+                    bits |= b;
+                }
+                return -1;
+            }
+            finally {
+                scannedBits = bits;
+            }
+        }
+
+        /**
+         * Decodes the bytes from index <code>from</code> (inclusive) to <code>to</code>
+         * (exclusive) of the region into {@link #record}.
+         */
+        private void decode(int from, int to) throws CharacterCodingException {
+            int needed = (int)Math.ceil((to - from) * (double)decoder.maxCharsPerByte());
+            if (record.chars.length < needed) {
+                record.chars = Arrays.copyOf(record.chars, Math.max(needed, record.chars.length * 2));
+                out = CharBuffer.wrap(record.chars);
+            }
+
+            if (asciiCompatible && (scannedBits & 0x80) == 0) {
+                // Plain ASCII, which needs no decoder
+                char[] chars = record.chars;
+                MappedByteBuffer r = region;
+                for (int i = from; i < to; i++)
+                    chars[i - from] = (char)r.get(i);
+                record.length = to - from;
+                return;
+            }
+
+            ByteBuffer in = region;
+            in.limit(to);
+            in.position(from);
+            out.clear();
+            decoder.reset();
+            CoderResult result = decoder.decode(in, out, true);
+            if (!result.isUnderflow())
+                result.throwException();
+            result = decoder.flush(out);
+            if (!result.isUnderflow())
+                result.throwException();
+            record.length = out.position();
+            in.clear();
+        }
+
+        public void close() {
+            if (!closed) {
+                closed = true;
+                region = null;
+                try {
+                    channel.close();
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.cloudinvoke.invokej.constructs.BiTransform;
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * An {@link Iterable} over the inner merge join of two iterables that are both sorted ascending
+ * by their join keys. Both sides are streamed in a single pass. Only the right side elements 
+ * that share the current key are buffered, so when the right side keys are unique this takes 
+ * O(1) extra memory.
+ * <p>
+ * The results follow the order of the left side. Keys may not be null, and an 
+ * {@link IllegalStateException} is thrown when a side turns out not to be sorted.
+ *
+ * @see IterableExt#mergeJoin(Iterable, Transform, Transform, BiTransform)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class MergeJoinIterable<L, R, K extends Comparable<? super K>, O> implements Iterable<O> {
+
+    private final Iterable<L> left;
+    private final Iterable<R> right;
+    private final Transform<L, K> leftKey;
+    private final Transform<R, K> rightKey;
+    private final BiTransform<L, R, O> combiner;
+
+    /**
+     * Constructor.
+     */
+    MergeJoinIterable(Iterable<L> left, Iterable<R> right, Transform<L, K> leftKey,
+            Transform<R, K> rightKey, BiTransform<L, R, O> combiner) {
+        this.left = left;
+        this.right = right;
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+        this.combiner = combiner;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<O> iterator() {
+        final Iterator<L> leftIt = left.iterator();
+        final Iterator<R> rightIt = right.iterator();
+        return new ClosingIterator<O>(leftIt) {
+
+            /** The current left element and its key */
+            private L current;
+            private K currentKey;
+
+            /** The right elements with key {@link #runKey}, and the next one to combine */
+            private final List<R> run = new ArrayList<R>();
+            private K runKey;
+            private int index;
+
+            /** The next right element that is not yet in a run, and its key */
+            private R head;
+            private K headKey;
+            private boolean hasHead;
+            private boolean started;
+
+            public boolean hasNext() {
+                while (index >= run.size() || currentKey == null) {
+                    if (!leftIt.hasNext()) {
+                        // The right side may have elements left that can no longer match
+                        close();
+                        return false;
+                    }
+
+                    L l = leftIt.next();
+                    K k = key(leftKey.transform(l));
+                    if (currentKey != null && k.compareTo(currentKey) < 0)
+                        throw new IllegalStateException("Left side is not sorted by key");
+                    current = l;
+                    currentKey = k;
+                    index = 0;
+
+                    // Duplicate left keys reuse the run of the previous left element
+                    if (runKey != null && k.compareTo(runKey) == 0)
+                        continue;
+
+                    run.clear();
+                    runKey = k;
+                    if (!started) {
+                        advance();
+                        started = true;
+                    }
+                    while (hasHead && headKey.compareTo(k) < 0)
+                        advance();
+                    while (hasHead && headKey.compareTo(k) == 0) {
+                        run.add(head);
+                        advance();
+                    }
+                    // Nothing further on the left can match once the right side is exhausted
+                    if (run.isEmpty() && !hasHead) {
+                        close();
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            public O next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return combiner.transform(current, run.get(index++));
+            }
+
+            /** Moves to the next right element */
+            private void advance() {
+                if (!rightIt.hasNext()) {
+                    hasHead = false;
+                    head = null;
+                    return;
+                }
+                R r = rightIt.next();
+                K k = key(rightKey.transform(r));
+                if (hasHead && k.compareTo(headKey) < 0)
+                    throw new IllegalStateException("Right side is not sorted by key");
+                head = r;
+                headKey = k;
+                hasHead = true;
+            }
+
+            private K key(K k) {
+                if (k == null)
+                    throw new IllegalStateException("Merge join keys cannot be null");
+                return k;
+            }
+
+            @Override
+            public void close() {
+                try {
+                    super.close();
+                }
+                finally {
+                    Itq.close(rightIt);
+                }
+            }
+        };
+    }
+
+}
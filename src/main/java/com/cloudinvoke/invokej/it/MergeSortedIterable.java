@@ -0,0 +1,191 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterable} that merges sources that are each sorted according to a comparator into
+ * a single sorted sequence. A binary heap holds the next element of every source that is not
+ * exhausted, so merging n elements from k sources takes O(n log k) time and O(k) memory. Equal
+ * elements are yielded in the order of their sources, which makes the merge stable. Elements are
+ * read lazily as the merged sequence is iterated.
+ * <p>
+ * Every iterator starts from the start of the sources. Null sources are skipped.
+ *
+ * @see Itq#mergeSorted(Comparator, Iterable...)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class MergeSortedIterable<T> implements Iterable<T>, Sized {
+
+    private final Comparator<? super T> comparator;
+    private final Iterable<T>[] sources;
+
+    /**
+     * Constructor.
+     *
+     * @param comparator The order of the elements in every source.
+     * @param sources The sorted sources. May contain nulls.
+     */
+    MergeSortedIterable(Comparator<? super T> comparator, Iterable<T>[] sources) {
+        this.comparator = comparator;
+        this.sources = sources;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<T> iterator() {
+        @SuppressWarnings("unchecked")
+        final Cursor<T>[] heap = (Cursor<T>[])new Cursor<?>[sources.length];
+        int size = 0;
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] != null) {
+                Iterator<T> iterator = sources[i].iterator();
+                if (iterator.hasNext())
+                    heap[size++] = new Cursor<T>(iterator, i);
+            }
+        }
+        for (int i = (size >>> 1) - 1; i >= 0; i--)
+            siftDown(heap, size, i);
+
+        return new MergeIterator(heap, size);
+    }
+
+    /**
+     * Yields the heads of the cursors in order. Closing it closes the iterators of the sources
+     * that are not exhausted.
+     */
+    private final class MergeIterator extends NoRemoveIterator<T> implements Closeable {
+
+        private final Cursor<T>[] heap;
+        private int size;
+
+        MergeIterator(Cursor<T>[] heap, int size) {
+            this.heap = heap;
+            this.size = size;
+        }
+
+        public boolean hasNext() {
+            return size > 0;
+        }
+
+        public T next() {
+            if (size == 0)
+                throw new NoSuchElementException();
+            Cursor<T> top = heap[0];
+            T result = top.head;
+            // Replace the top by its next element, or by the last cursor if it is exhausted,
+            // and restore the heap with a single sift
+            if (!top.advance()) {
+                heap[0] = heap[--size];
+                heap[size] = null;
+            }
+            siftDown(heap, size, 0);
+            return result;
+        }
+
+        public void close() {
+            // Closes all of them even if one fails, and rethrows the first failure
+            RuntimeException failure = null;
+            for (int i = 0; i < size; i++) {
+                try {
+                    Itq.close(heap[i].iterator);
+                }
+                catch (RuntimeException e) {
+                    if (failure == null)
+                        failure = e;
+                }
+            }
+            size = 0;
+            if (failure != null)
+                throw failure;
+        }
+    }
+
+    /**
+     * Moves the cursor at index <code>i</code> down the heap until neither of its children
+     * precedes it.
+     */
+    private void siftDown(Cursor<T>[] heap, int size, int i) {
+        Cursor<T> cursor = heap[i];
+        if (cursor == null)
+            return;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int right = child + 1;
+            if (right < size && precedes(heap[right], heap[child]))
+                child = right;
+            if (!precedes(heap[child], cursor))
+                break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = cursor;
+    }
+
+    /**
+     * @return true if the head of <code>a</code> is yielded before the head of <code>b</code>.
+     */
+    private boolean precedes(Cursor<T> a, Cursor<T> b) {
+        int c = comparator.compare(a.head, b.head);
+        return c < 0 || c == 0 && a.index < b.index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return UnionIterable.sum(sources, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return UnionIterable.sum(sources, false);
+    }
+
+    /**
+     * The position in one of the sources.
+     */
+    private static final class Cursor<T> {
+
+        private final Iterator<T> iterator;
+
+        /** The index of the source, which orders equal elements */
+        final int index;
+
+        /** The next element of the source */
+        T head;
+
+        /**
+         * Constructor. The iterator must have a next element.
+         */
+        Cursor(Iterator<T> iterator, int index) {
+            this.iterator = iterator;
+            this.index = index;
+            this.head = iterator.next();
+        }
+
+        /**
+         * Moves to the next element of the source.
+         *
+         * @return false if the source is exhausted.
+         */
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                head = null;
+                return false;
+            }
+            head = iterator.next();
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates a reduction over a random access source by splitting it into index ranges that are
+ * processed on the {@link ForkJoinPool#commonPool() common fork/join pool}.
+ * <p>
+ * Partial results are always combined as (left, right) where the left range precedes the right
+ * range in the source, so reductions that respect encounter order produce the same result as a
+ * sequential loop would.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class Parallel {
+
+    /** Ranges smaller than this are never split further. */
+    private static final int MIN_RANGE = 1024;
+
+    /** The amount of ranges to aim for per worker thread, to allow for work stealing. */
+    private static final int RANGES_PER_THREAD = 4;
+
+    private Parallel() {
+    }
+
+    /**
+     * A reduction over a range of the source elements.
+     *
+     * @param <R> The partial and final result type.
+     */
+    static abstract class Reduction<R> {
+
+        /**
+         * Reduces the source elements from index <code>from</code> (inclusive) to <code>to</code>
+         * (exclusive) sequentially.
+         */
+        abstract R reduce(List<?> source, int from, int to);
+
+        /**
+         * Combines the results of two adjacent ranges where <code>left</code> precedes
+         * <code>right</code>.
+         */
+        abstract R combine(R left, R right);
+    }
+
+    /**
+     * Performs the reduction over the whole source.
+     *
+     * @param source A random access list.
+     * @param reduction The reduction to perform.
+     * @return The combined result.
+     */
+    static <R> R reduce(List<?> source, Reduction<R> reduction) {
+        int size = source.size();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int range = Math.max(MIN_RANGE, size / (pool.getParallelism() * RANGES_PER_THREAD));
+        if (size <= range)
+            return reduction.reduce(source, 0, size);
+        return pool.invoke(new RangeTask<R>(source, reduction, range, 0, size));
+    }
+
+    /**
+     * Splits its range in two until it is small enough to reduce directly.
+     */
+    @SuppressWarnings("serial")
+    private static final class RangeTask<R> extends RecursiveTask<R> {
+
+        private final List<?> source;
+        private final Reduction<R> reduction;
+        private final int range;
+        private final int from;
+        private final int to;
+
+        RangeTask(List<?> source, Reduction<R> reduction, int range, int from, int to) {
+            this.source = source;
+            this.reduction = reduction;
+            this.range = range;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= range)
+                return reduction.reduce(source, from, to);
+
+            int mid = (from + to) >>> 1;
+            RangeTask<R> right = new RangeTask<R>(source, reduction, range, mid, to);
+            right.fork();
+            R leftResult = new RangeTask<R>(source, reduction, range, from, mid).compute();
+            return reduction.combine(leftResult, right.join());
+        }
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.cloudinvoke.invokej.it;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * The statistics of an instrumented pipeline and its stages, registered with the platform
+ * MBean server the first time a pipeline is instrumented under a name. The registrations last
+ * for the lifetime of the JVM, so names should identify a pipeline in the code rather than be
+ * built from data.
+ * <p>
+ * Stages are identified by their position in the pipeline. Pipelines with the same name, or that
+ * share a common prefix and then branch, therefore share the counters of the stages at the same
+ * positions. The counters are {@link LongAdder}s, so parallel pipelines can update them from
+ * multiple threads without contention.
+ *
+ * @see IterableExt#instrumented(String)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class PipelineInstrumentation implements PipelineStatsMXBean {
+
+    private static final String DOMAIN = "com.cloudinvoke.invokej";
+
+    /** The instances by name. Guarded by its own lock. */
+    private static final Map<String, PipelineInstrumentation> PIPELINES =
+        new HashMap<String, PipelineInstrumentation>();
+
+    private final String name;
+    private final LongAdder iterations = new LongAdder();
+
+    /** The stages by position. Guarded by its own lock. */
+    private final List<Stage> stages = new ArrayList<Stage>();
+
+    private PipelineInstrumentation(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Finds the instance for a name, creating and registering it if it does not exist yet.
+     *
+     * @param name The name of the pipeline.
+     * @return The instance. Will never be null.
+     */
+    static PipelineInstrumentation forName(String name) {
+        synchronized (PIPELINES) {
+            PipelineInstrumentation result = PIPELINES.get(name);
+            if (result == null) {
+                result = new PipelineInstrumentation(name);
+                register(result, "type=Pipeline,name=" + ObjectName.quote(name));
+                PIPELINES.put(name, result);
+            }
+            return result;
+        }
+    }
+
+    private static void register(Object mbean, String properties) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean,
+                new ObjectName(DOMAIN + ":" + properties));
+        }
+        catch (InstanceAlreadyExistsException e) {
+            // Registered by another copy of this library in a different class loader, which
+            // keeps its own counters
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Could not register the pipeline statistics: " + properties, e);
+        }
+    }
+
+    /**
+     * Wraps a stage function in one that records its statistics.
+     *
+     * @param transform The stage function, which may already be wrapped.
+     * @param filter true for a where stage, false for a select stage.
+     * @param index The position of the stage in the pipeline.
+     * @return The wrapping function.
+     */
+    Transform<?, ?> wrap(Transform<?, ?> transform, boolean filter, int index) {
+        Transform<?, ?> target = unwrap(transform);
+        return new StageTransform(target, stage(index, filter, target), filter);
+    }
+
+    /**
+     * @param transform A stage function.
+     * @return The function wrapped by {@link #wrap(Transform, boolean, int)} or the function
+     *         itself if it is not wrapped.
+     */
+    static Transform<?, ?> unwrap(Transform<?, ?> transform) {
+        return transform instanceof StageTransform ? ((StageTransform)transform).target : transform;
+    }
+
+    private Stage stage(int index, boolean filter, Transform<?, ?> transform) {
+        synchronized (stages) {
+            while (stages.size() <= index) {
+                int i = stages.size();
+                Stage stage = new Stage(i, i == index && filter, i == index ? transform : null);
+                register(stage, "type=PipelineStage,pipeline=" + ObjectName.quote(name) + ",index=" + i);
+                stages.add(stage);
+            }
+            return stages.get(index);
+        }
+    }
+
+    /**
+     * Records that the pipeline is being iterated.
+     */
+    void iterated() {
+        iterations.increment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getIterations() {
+        return iterations.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String[] getStageNames() {
+        synchronized (stages) {
+            String[] result = new String[stages.size()];
+            for (int i = 0; i < result.length; i++) {
+                Stage stage = stages.get(i);
+                result[i] = i + " " + stage.getKind() + " " + stage.getTransform();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void reset() {
+        iterations.reset();
+        synchronized (stages) {
+            for (Stage stage : stages)
+                stage.reset();
+        }
+    }
+
+    /**
+     * The statistics of a single stage.
+     */
+    private final class Stage implements StageStatsMXBean {
+
+        private final int index;
+        private final boolean filter;
+        private final String transform;
+        final LongAdder elementsIn = new LongAdder();
+        final LongAdder elementsOut = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        /**
+         * Constructor.
+         *
+         * @param index The position of the stage.
+         * @param filter true for a where stage.
+         * @param transform The stage function, or null if it is not known yet.
+         */
+        Stage(int index, boolean filter, Transform<?, ?> transform) {
+            this.index = index;
+            this.filter = filter;
+            this.transform = transform != null ? transform.getClass().getName() : "?";
+        }
+
+        public String getPipeline() {
+            return name;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getKind() {
+            return filter ? "where" : "select";
+        }
+
+        public String getTransform() {
+            return transform;
+        }
+
+        public long getElementsIn() {
+            return elementsIn.sum();
+        }
+
+        public long getElementsOut() {
+            // A select stage passes on every element, so only where stages count them
+            return filter ? elementsOut.sum() : elementsIn.sum();
+        }
+
+        public double getSelectivity() {
+            long in = elementsIn.sum();
+            return in == 0 ? 1 : getElementsOut() / (double)in;
+        }
+
+        public long getTransformNanos() {
+            return nanos.sum();
+        }
+
+        public double getAverageNanos() {
+            long in = elementsIn.sum();
+            return in == 0 ? 0 : nanos.sum() / (double)in;
+        }
+
+        public void reset() {
+            elementsIn.reset();
+            elementsOut.reset();
+            nanos.reset();
+        }
+    }
+
+    /**
+     * A stage function that records the statistics of the function it wraps.
+     */
+    private static final class StageTransform implements Transform<Object, Object> {
+
+        final Transform<Object, Object> target;
+        private final Stage stage;
+        private final boolean filter;
+
+        @SuppressWarnings("unchecked")
+        StageTransform(Transform<?, ?> target, Stage stage, boolean filter) {
+            this.target = (Transform<Object, Object>)target;
+            this.stage = stage;
+            this.filter = filter;
+        }
+
+        public Object transform(Object input) {
+            long start = System.nanoTime();
+            Object result = target.transform(input);
+            stage.nanos.add(System.nanoTime() - start);
+            stage.elementsIn.increment();
+            if (filter && (result == Boolean.TRUE || result != null && ((Boolean)result).booleanValue()))
+                stage.elementsOut.increment();
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} that runs the elements of a source spliterator through a chain of
+ * {@link Stages}. Splitting is delegated to the source, so the pipeline splits as well as its
+ * source does.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class PipelineSpliterator implements Spliterator<Object> {
+
+    private final Spliterator<?> source;
+    private final Stages stages;
+    private final int characteristics;
+
+    /** The last element read by {@link #tryAdvance(Consumer)} after running through the stages */
+    private Object current;
+
+    /** Stores the elements of the source in {@link #current} */
+    private final Consumer<Object> capture = new Consumer<Object>() {
+        public void accept(Object o) {
+            current = stages.apply(o);
+        }
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param source The source spliterator.
+     * @param stages The stages to apply to the source elements.
+     * @param characteristics The characteristics of the resultant elements.
+     */
+    PipelineSpliterator(Spliterator<?> source, Stages stages, int characteristics) {
+        this.source = source;
+        this.stages = stages;
+        this.characteristics = characteristics;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean tryAdvance(Consumer<? super Object> action) {
+        while (source.tryAdvance(capture)) {
+            Object value = current;
+            current = null;
+            if (value != Stages.SKIP) {
+                action.accept(value);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachRemaining(final Consumer<? super Object> action) {
+        source.forEachRemaining(new Consumer<Object>() {
+            public void accept(Object o) {
+                Object value = stages.apply(o);
+                if (value != Stages.SKIP)
+                    action.accept(value);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Spliterator<Object> trySplit() {
+        Spliterator<?> prefix = source.trySplit();
+        return prefix == null ? null : new PipelineSpliterator(prefix, stages, characteristics);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int characteristics() {
+        return characteristics;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Comparator<? super Object> getComparator() {
+        if ((characteristics & SORTED) == 0)
+            throw new IllegalStateException();
+        @SuppressWarnings("unchecked")
+        Comparator<? super Object> comparator = (Comparator<? super Object>)source.getComparator();
+        return comparator;
+    }
+
+    /**
+     * A {@link Spliterator} over a random access list that splits by index. Unlike the default
+     * spliterator of {@link List} it needs no iterator and splits in halves, so it also splits
+     * well for lists that do not provide their own spliterator, like DOM node lists.
+     */
+    static final class IndexSpliterator implements Spliterator<Object> {
+
+        private final List<?> list;
+        private int index;
+
+        /** One past the last index or -1 until the list size is first needed */
+        private int fence;
+
+        /**
+         * Constructor.
+         *
+         * @param list A random access list.
+         */
+        IndexSpliterator(List<?> list) {
+            this(list, 0, -1);
+        }
+
+        private IndexSpliterator(List<?> list, int index, int fence) {
+            this.list = list;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        private int fence() {
+            if (fence < 0)
+                fence = list.size();
+            return fence;
+        }
+
+        public boolean tryAdvance(Consumer<? super Object> action) {
+            if (index >= fence())
+                return false;
+            action.accept(list.get(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Object> action) {
+            List<?> l = list;
+            for (int i = index, hi = fence(); i < hi; i++)
+                action.accept(l.get(i));
+            index = fence;
+        }
+
+        public Spliterator<Object> trySplit() {
+            int lo = index;
+            int mid = (lo + fence()) >>> 1;
+            if (lo >= mid)
+                return null;
+            index = mid;
+            return new IndexSpliterator(list, lo, mid);
+        }
+
+        public long estimateSize() {
+            return fence() - index;
+        }
+
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
+}
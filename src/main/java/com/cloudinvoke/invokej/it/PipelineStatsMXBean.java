@@ -0,0 +1,38 @@
+package com.cloudinvoke.invokej.it;
+
+/**
+ * The management interface of an instrumented pipeline, as registered by
+ * {@link IterableExt#instrumented(String)} under the object name
+ * <code>com.cloudinvoke.invokej:type=Pipeline,name="&lt;name&gt;"</code>. The statistics of its
+ * where and select stages are registered as {@link StageStatsMXBean}s.
+ * <p>
+ * All the pipelines instrumented under the same name share one instance, so its counters add up
+ * over every pipeline built with that name.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface PipelineStatsMXBean {
+
+    /**
+     * @return The name the pipeline was instrumented under.
+     */
+    public String getName();
+
+    /**
+     * @return The amount of iterators and spliterators created over the pipeline and of terminal
+     *         operations that traversed it.
+     */
+    public long getIterations();
+
+    /**
+     * @return The names of the stages in the order they are applied.
+     */
+    public String[] getStageNames();
+
+    /**
+     * Sets the counters of the pipeline and of all its stages to zero.
+     */
+    public void reset();
+
+}
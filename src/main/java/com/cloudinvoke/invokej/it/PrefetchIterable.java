@@ -0,0 +1,284 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link Iterable} whose iterators read upstream on a background thread into a bounded
+ * buffer, so that a slow or blocking upstream produces the next elements while the consumer is
+ * still processing the previous ones.
+ * <p>
+ * Every iterator has its own buffer and background task. The task runs on the specified
+ * {@link Executor}, or on a new daemon thread if there is none. An exception thrown by upstream
+ * is rethrown to the consumer once it reaches the position of the failure. The task stops when
+ * upstream is exhausted, when the iterator is {@link Closeable#close() closed}, or when the
+ * iterator was abandoned and garbage collected while the buffer is full. A task that stops before
+ * the end of upstream closes the upstream iterator if it is {@link Closeable}.
+ *
+ * @see IterableExt#prefetch(int)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class PrefetchIterable<T> implements Iterable<T>, Sized {
+
+    /** Buffered in place of null elements, which a {@link BlockingQueue} cannot hold */
+    private static final Object NULL = new Object();
+
+    /** Buffered after the last element */
+    private static final Object END = new Object();
+
+    /** How long the background task waits for space before checking if it should stop */
+    private static final long POLL_MILLIS = 100;
+
+    /** Numbers the background threads */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final Iterable<T> upstream;
+    private final int bufferSize;
+    private final Executor executor;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to read in the background.
+     * @param bufferSize The maximum amount of elements read ahead.
+     * @param executor Runs the background tasks or null to start a daemon thread per iterator.
+     */
+    PrefetchIterable(Iterable<T> upstream, int bufferSize, Executor executor) {
+        this.upstream = upstream;
+        this.bufferSize = bufferSize;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<T> iterator() {
+        return open();
+    }
+
+    /**
+     * Creates an iterator and starts its background task.
+     */
+    PrefetchIterator open() {
+        PrefetchIterator iterator = new PrefetchIterator();
+        Producer producer = new Producer(upstream, iterator.queue, iterator);
+        iterator.producer = producer;
+        if (executor != null)
+            executor.execute(producer);
+        else {
+            Thread thread = new Thread(producer, "Itq-prefetch-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return iterator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return Itq.exactSize(upstream);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return Itq.maxSize(upstream);
+    }
+
+    /**
+     * Wraps an exception thrown by upstream so that it can be buffered.
+     */
+    private static final class Failure {
+
+        final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * The background task that moves the upstream elements into the buffer. It only has a weak
+     * reference to its iterator so that it can tell if the consumer abandoned it.
+     */
+    private static final class Producer implements Runnable {
+
+        private final Iterable<?> upstream;
+        private final BlockingQueue<Object> queue;
+        private final WeakReference<Object> consumer;
+        private volatile boolean cancelled;
+
+        /**
+         * Guarded by the instance's lock. The thread running the task, which {@link #cancel()}
+         * interrupts. Only set while the task runs, so that a pool thread is never interrupted
+         * once it moved on to another task.
+         */
+        private Thread thread;
+
+        Producer(Iterable<?> upstream, BlockingQueue<Object> queue, Object consumer) {
+            this.upstream = upstream;
+            this.queue = queue;
+            this.consumer = new WeakReference<Object>(consumer);
+        }
+
+        public void run() {
+            synchronized (this) {
+                if (cancelled)
+                    return;
+                thread = Thread.currentThread();
+            }
+            Iterator<?> source = null;
+            try {
+                source = upstream.iterator();
+                while (source.hasNext()) {
+                    Object value = source.next();
+                    if (!put(value == null ? NULL : value)) {
+                        // Stopped before the end, so the source has to be released here
+                        Itq.close(source);
+                        return;
+                    }
+                }
+                put(END);
+            }
+            catch (Throwable t) {
+                try {
+                    Itq.close(source);
+                }
+                catch (RuntimeException e) {
+                    t.addSuppressed(e);
+                }
+                put(new Failure(t));
+            }
+            finally {
+                synchronized (this) {
+                    thread = null;
+                    // Clear an interrupt from cancel() that nothing consumed
+                    if (cancelled)
+                        Thread.interrupted();
+                }
+            }
+        }
+
+        /**
+         * Waits for space in the buffer and adds the value.
+         *
+         * @return false if the task should stop.
+         */
+        private boolean put(Object value) {
+            try {
+                while (!queue.offer(value, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (cancelled || consumer.get() == null)
+                        return false;
+                }
+                return !cancelled;
+            }
+            catch (InterruptedException e) {
+                return false;
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (thread != null)
+                thread.interrupt();
+        }
+    }
+
+    /**
+     * Yields the buffered elements. Closing it stops the background task.
+     */
+    final class PrefetchIterator extends NoRemoveIterator<T> implements Closeable {
+
+        /** An array is allocated up front, so a large buffer is a linked queue that grows instead */
+        final BlockingQueue<Object> queue = bufferSize <= Itq.MAX_PRESIZE
+            ? new ArrayBlockingQueue<Object>(bufferSize) : new LinkedBlockingQueue<Object>(bufferSize);
+        Producer producer;
+        private Object nextValue;
+
+        public boolean hasNext() {
+            if (nextValue == null) {
+                try {
+                    nextValue = queue.take();
+                }
+                catch (InterruptedException e) {
+                    throw interrupted(e);
+                }
+            }
+            return checkNext();
+        }
+
+        /**
+         * Waits at most the specified time for the background task to buffer the next element or
+         * to reach the end of upstream.
+         *
+         * @param nanos The maximum amount of nanoseconds to wait.
+         * @return true if {@link #hasNext()} will now answer without blocking.
+         */
+        boolean await(long nanos) {
+            if (nextValue == null) {
+                try {
+                    nextValue = queue.poll(Math.max(0, nanos), TimeUnit.NANOSECONDS);
+                }
+                catch (InterruptedException e) {
+                    throw interrupted(e);
+                }
+                if (nextValue == null)
+                    return false;
+            }
+            checkNext();
+            return true;
+        }
+
+        private RuntimeException interrupted(InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            return new IllegalStateException("Interrupted while waiting for the next element", e);
+        }
+
+        /**
+         * Rethrows a buffered failure.
+         *
+         * @return true if the buffered value is an element.
+         */
+        private boolean checkNext() {
+            if (nextValue instanceof Failure) {
+                Throwable cause = ((Failure)nextValue).cause;
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException)cause;
+                if (cause instanceof Error)
+                    throw (Error)cause;
+                throw new IllegalStateException(cause);
+            }
+            return nextValue != END;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Object result = nextValue;
+            nextValue = null;
+            return result == NULL ? null : (T)result;
+        }
+
+        public void close() {
+            producer.cancel();
+            nextValue = END;
+            queue.clear();
+        }
+    }
+
+}
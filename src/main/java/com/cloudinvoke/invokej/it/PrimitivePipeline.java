@@ -0,0 +1,185 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import com.cloudinvoke.invokej.ArgumentNullException;
+
+/**
+ * The part of {@link IntPipeline}, {@link LongPipeline} and {@link DoublePipeline} that does not
+ * depend on the element type: the source objects, the stage arrays and the sizing of the results.
+ * The loops that run the elements through the stages are left to the subclasses, so that they
+ * stay free of boxing.
+ * <p>
+ * The source is either an array of the subclass or an {@link IterableExt} of which the subclass
+ * converts the elements. The where and select stages are kept in two parallel arrays, of which
+ * exactly one has a stage at every position.
+ *
+ * @param <P> The type of the subclass.
+ * @param <C> The type of the where stages.
+ * @param <X> The type of the select stages.
+ * @param <B> The boxed element type.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+abstract class PrimitivePipeline<P extends PrimitivePipeline<P, C, X, B>, C, X, B> {
+
+    /** The capacity of a result buffer when the amount of elements is not known */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The source objects, or null if the source is an array */
+    final IterableExt<Object> objects;
+
+    /** The where stages. Null at the positions of select stages. */
+    final C[] conditions;
+
+    /** The select stages. Null at the positions of where stages. */
+    final X[] transforms;
+
+    /**
+     * Constructor.
+     *
+     * @param objects The source objects, or null if the subclass has a source array.
+     * @param conditions The where stages.
+     * @param transforms The select stages.
+     */
+    PrimitivePipeline(IterableExt<Object> objects, C[] conditions, X[] transforms) {
+        this.objects = objects;
+        this.conditions = conditions;
+        this.transforms = transforms;
+    }
+
+    /**
+     * Creates a pipeline over the same source with other stages.
+     *
+     * @param conditions The where stages.
+     * @param transforms The select stages.
+     * @return The new pipeline.
+     */
+    abstract P withStages(C[] conditions, X[] transforms);
+
+    /**
+     * @return The length of the source array. Only called if there are no source objects.
+     */
+    abstract int arrayLength();
+
+    /**
+     * Runs the pipeline to count its elements.
+     *
+     * @return The amount of elements that pass the where stages.
+     */
+    abstract long count();
+
+    /**
+     * @return An iterator over the elements, which is {@link Closeable} if the source objects
+     *         may hold resources.
+     */
+    public abstract Iterator<B> iterator();
+
+    /**
+     * Returns a new pipeline with a where stage appended.
+     *
+     * @param condition The condition. Must not be null.
+     * @return The new pipeline.
+     */
+    final P appendWhere(C condition) {
+        if (condition == null)
+            throw new ArgumentNullException("condition");
+        return append(condition, null);
+    }
+
+    /**
+     * Returns a new pipeline with a select stage appended.
+     *
+     * @param transform The transform. Must not be null.
+     * @return The new pipeline.
+     */
+    final P appendSelect(X transform) {
+        if (transform == null)
+            throw new ArgumentNullException("transform");
+        return append(null, transform);
+    }
+
+    /**
+     * Returns a new pipeline with the stage appended. Exactly one of the arguments is non-null.
+     */
+    private P append(C condition, X transform) {
+        int n = conditions.length;
+        C[] c = Arrays.copyOf(conditions, n + 1);
+        X[] t = Arrays.copyOf(transforms, n + 1);
+        c[n] = condition;
+        t[n] = transform;
+        return withStages(c, t);
+    }
+
+    /**
+     * Counts the elements. Without where stages this is the size of the source, which a select
+     * stage does not change, so the stages are not run.
+     *
+     * @return The amount of elements.
+     */
+    public int size() {
+        if (conditions.length == 0)
+            return objects != null ? objects.size() : arrayLength();
+        return (int)count();
+    }
+
+    /**
+     * @return The capacity to start a buffer for the elements with: the size of the source if it
+     *         is known, which the where stages can only reduce, or a default otherwise.
+     */
+    final int initialCapacity() {
+        int capacity = objects != null ? Itq.presize(objects) : arrayLength();
+        return capacity >= 0 ? capacity : DEFAULT_CAPACITY;
+    }
+
+    /**
+     * @param length The length of a full buffer.
+     * @return The length to grow the buffer to.
+     */
+    static int grownCapacity(int length) {
+        return Math.max(DEFAULT_CAPACITY, length << 1);
+    }
+
+    /**
+     * Converts this instance to an {@link IterableExt} over boxed elements. The pipeline is not
+     * run, nor its source opened, before the result is iterated.
+     *
+     * @return The boxed elements.
+     */
+    public IterableExt<B> boxed() {
+        return Itq.lazy(new Iterable<B>() {
+            public Iterator<B> iterator() {
+                return PrimitivePipeline.this.iterator();
+            }
+        });
+    }
+
+    /**
+     * The state of an iterator over the elements that does not depend on the element type. The
+     * subclass pulls the next source element from {@link #it}, or from its array at
+     * {@link #index}, and runs it through the stages. Closing it closes the iterator of the
+     * source objects.
+     */
+    abstract class StageIterator implements Closeable {
+
+        /** The iterator of the source objects, or null if the source is an array */
+        final Iterator<Object> it = objects != null ? objects.iterator() : null;
+
+        /** The index in the source array of the next element */
+        int index;
+
+        /** True if the next element was fetched and not returned yet */
+        boolean fetched;
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() {
+            Itq.close(it);
+        }
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * An {@link Iterable} over the elements of a {@link Flow.Publisher}. Every iterator subscribes
+ * on its first use and buffers at most <code>prefetch</code> elements: it requests that many
+ * up front and requests more in batches as the consumer takes them, so a fast publisher cannot
+ * make the buffer grow.
+ * <p>
+ * The iterators block until the publisher signals the next element, completion or an error. An
+ * error is rethrown to the consumer once it reaches it. The iterators implement
+ * {@link Closeable}; close an iterator that is not iterated to the end to cancel its
+ * subscription.
+ *
+ * @see Itq#from(Flow.Publisher, int)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class PublisherIterable<T> implements Iterable<T>, Sized {
+
+    /** Buffered after the last element */
+    private static final Object END = new Object();
+
+    private final Flow.Publisher<T> publisher;
+    private final int prefetch;
+
+    /**
+     * Constructor.
+     *
+     * @param publisher The publisher to subscribe to.
+     * @param prefetch The maximum amount of elements to buffer.
+     */
+    PublisherIterable(Flow.Publisher<T> publisher, int prefetch) {
+        this.publisher = publisher;
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<T> iterator() {
+        return new SubscriberIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return -1;
+    }
+
+    /**
+     * Wraps the error signalled by the publisher so that it can be buffered.
+     */
+    private static final class Failure {
+
+        final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * Subscribes to the publisher and yields the buffered elements.
+     */
+    private final class SubscriberIterator extends NoRemoveIterator<T>
+            implements Flow.Subscriber<T>, Closeable {
+
+        /**
+         * The buffered signals. Not preallocated, as prefetch may be large; the demand bounds the
+         * elements in it to prefetch, with room for a terminal signal on top.
+         */
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<Object>();
+
+        /** The amount of taken elements after which they are requested again */
+        private final int batch = Math.max(1, prefetch - (prefetch >> 2));
+
+        /** Set before the first element arrives, which the queue makes visible to the consumer */
+        private volatile Flow.Subscription subscription;
+        private volatile boolean closed;
+
+        /** Set once a terminal signal is buffered. Only used by the publisher's signals */
+        private boolean terminated;
+        private boolean started;
+        private int taken;
+        private Object nextValue;
+
+        public boolean hasNext() {
+            if (nextValue == null) {
+                if (!started) {
+                    started = true;
+                    publisher.subscribe(this);
+                }
+                try {
+                    nextValue = queue.take();
+                }
+                catch (InterruptedException e) {
+                    close();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the next element", e);
+                }
+            }
+            if (nextValue instanceof Failure) {
+                Throwable cause = ((Failure)nextValue).cause;
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException)cause;
+                if (cause instanceof Error)
+                    throw (Error)cause;
+                throw new IllegalStateException(cause);
+            }
+            return nextValue != END;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            T result = (T)nextValue;
+            nextValue = null;
+            if (++taken == batch) {
+                taken = 0;
+                subscription.request(batch);
+            }
+            return result;
+        }
+
+        public void onSubscribe(Flow.Subscription subscription) {
+            // A subscriber is only subscribed once, and not at all after it was closed
+            if (this.subscription != null || closed) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            subscription.request(prefetch);
+        }
+
+        public void onNext(T item) {
+            if (terminated || closed)
+                return;
+            // Only the publisher adds to the queue, so the size cannot grow between the check and
+            // the offer
+            if (queue.size() >= prefetch)
+                fail(new IllegalStateException("The publisher emitted more elements than requested"));
+            else
+                queue.offer(item);
+        }
+
+        public void onError(Throwable throwable) {
+            if (!terminated) {
+                terminated = true;
+                queue.offer(new Failure(throwable));
+            }
+        }
+
+        public void onComplete() {
+            if (!terminated) {
+                terminated = true;
+                queue.offer(END);
+            }
+        }
+
+        /**
+         * Cancels the subscription and buffers the failure after the elements that were received
+         * within the demand.
+         */
+        private void fail(Throwable t) {
+            terminated = true;
+            subscription.cancel();
+            queue.offer(new Failure(t));
+        }
+
+        public void close() {
+            closed = true;
+            Flow.Subscription s = subscription;
+            if (s != null)
+                s.cancel();
+            nextValue = END;
+            queue.clear();
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.cloudinvoke.invokej.it;
+
+/**
+ * Implemented by the iterables of this package that can tell how many elements they will yield
+ * without iterating. {@link java.util.Collection}s carry this information already; see
+ * {@link Itq#exactSize(Iterable)} and {@link Itq#maxSize(Iterable)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+interface Sized {
+
+    /**
+     * @return The exact number of elements or -1 if it cannot be determined without iterating.
+     */
+    int exactSize();
+
+    /**
+     * @return An upper bound on the number of elements or -1 if there is no known bound.
+     */
+    int maxSize();
+
+}
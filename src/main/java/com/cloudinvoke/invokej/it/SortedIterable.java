@@ -0,0 +1,91 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.Transform;
+import com.cloudinvoke.invokej.structs.KeyValuePair;
+
+/**
+ * An {@link Iterable} that yields the elements of its upstream ordered by a key. Nothing is read
+ * or sorted until an iterator is requested. The key of every element is computed only once and
+ * the sort is stable, so elements with equal keys keep their upstream order.
+ *
+ * @see IterableExt#orderBy(Transform)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class SortedIterable<T, K extends Comparable<? super K>> implements Iterable<T>, Sized {
+
+    /** Orders the pairs by key, with null keys first */
+    private static final Comparator<KeyValuePair<?, ?>> BY_KEY = new Comparator<KeyValuePair<?, ?>>() {
+        @SuppressWarnings("unchecked")
+        public int compare(KeyValuePair<?, ?> o1, KeyValuePair<?, ?> o2) {
+            if (o1.key == null)
+                return o2.key == null ? 0 : -1;
+            if (o2.key == null)
+                return 1;
+            return ((Comparable<Object>)o1.key).compareTo(o2.key);
+        }
+    };
+
+    private final IterableExt<T> upstream;
+    private final Transform<T, K> keyProducer;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to sort.
+     * @param keyProducer Produces the sort key of an element.
+     */
+    SortedIterable(IterableExt<T> upstream, Transform<T, K> keyProducer) {
+        this.upstream = upstream;
+        this.keyProducer = keyProducer;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    @SuppressWarnings("unchecked")
+    public Iterator<T> iterator() {
+        int size = Itq.presize(upstream);
+        final KeyValuePair<K, T>[][] pairs =
+            (KeyValuePair<K, T>[][])new KeyValuePair<?, ?>[1][size >= 0 ? size : 16];
+        final int[] count = { 0 };
+        upstream.forEach(new Operation<T>() {
+            public void perform(T t) {
+                if (count[0] == pairs[0].length)
+                    pairs[0] = Arrays.copyOf(pairs[0], Math.max(16, count[0] << 1));
+                pairs[0][count[0]++] = new KeyValuePair<K, T>(keyProducer.transform(t), t);
+            }
+        });
+        final KeyValuePair<K, T>[] sorted = pairs[0];
+        Arrays.sort(sorted, 0, count[0], BY_KEY);
+
+        return new AbstractIndexBasedIterator<T>(count[0]) {
+            @Override
+            protected T next(int index) {
+                return sorted[index].value;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return Itq.exactSize(upstream);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return Itq.maxSize(upstream);
+    }
+
+}
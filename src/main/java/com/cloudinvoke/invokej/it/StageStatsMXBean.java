@@ -0,0 +1,67 @@
+package com.cloudinvoke.invokej.it;
+
+/**
+ * The management interface of a where or select stage of an instrumented pipeline, registered
+ * under the object name
+ * <code>com.cloudinvoke.invokej:type=PipelineStage,pipeline="&lt;name&gt;",index=&lt;index&gt;</code>.
+ *
+ * @see PipelineStatsMXBean
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public interface StageStatsMXBean {
+
+    /**
+     * @return The name of the pipeline the stage is part of.
+     */
+    public String getPipeline();
+
+    /**
+     * @return The zero based position of the stage in the pipeline.
+     */
+    public int getIndex();
+
+    /**
+     * @return <code>where</code> or <code>select</code>.
+     */
+    public String getKind();
+
+    /**
+     * @return The class name of the stage's transform.
+     */
+    public String getTransform();
+
+    /**
+     * @return The amount of elements the stage received.
+     */
+    public long getElementsIn();
+
+    /**
+     * @return The amount of elements the stage passed on. Only differs from
+     *         {@link #getElementsIn()} for a where stage.
+     */
+    public long getElementsOut();
+
+    /**
+     * @return The fraction of the received elements that were passed on, or 1 if none were
+     *         received.
+     */
+    public double getSelectivity();
+
+    /**
+     * @return The total amount of nanoseconds spent in the transform.
+     */
+    public long getTransformNanos();
+
+    /**
+     * @return The average amount of nanoseconds spent in the transform per element.
+     */
+    public double getAverageNanos();
+
+    /**
+     * Sets the counters to zero.
+     */
+    public void reset();
+
+}
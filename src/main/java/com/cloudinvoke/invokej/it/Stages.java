@@ -0,0 +1,188 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * An immutable chain of where and select stages that are fused together so that an element passes
+ * through all of them in one loop instead of through one wrapping iterator per stage.
+ * <p>
+ * A where stage is a {@link Transform} to {@link Boolean} that drops the element when it does not
+ * yield true. A select stage replaces the element with its transformation. Appending a stage
+ * returns a new instance and leaves the original untouched, which allows pipelines to share their
+ * common prefix.
+ * <p>
+ * An instrumented chain wraps every stage function, including the ones appended later, in one that
+ * records its statistics in a {@link PipelineInstrumentation}. A chain that is not instrumented
+ * only pays for this with a null check when a stage is appended or an iteration starts.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class Stages {
+
+    /** Returned by {@link #apply(Object)} when a where stage rejected the element. */
+    static final Object SKIP = new Object();
+
+    /** The chain without any stages. */
+    static final Stages NONE = new Stages(new Transform<?, ?>[0], new boolean[0], null);
+
+    /** The stage functions in the order they are applied. */
+    private final Transform<?, ?>[] transforms;
+
+    /** For every entry in {@link #transforms}, true if it is a where stage. */
+    private final boolean[] filters;
+
+    /** Records the statistics, or null if the chain is not instrumented */
+    private final PipelineInstrumentation instrumentation;
+
+    private Stages(Transform<?, ?>[] transforms, boolean[] filters, 
+            PipelineInstrumentation instrumentation) {
+        this.transforms = transforms;
+        this.filters = filters;
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Returns a new chain that applies the specified stage after the stages in this chain.
+     *
+     * @param transform The stage function.
+     * @param filter true for a where stage, false for a select stage.
+     * @return A new {@link Stages} instance.
+     */
+    Stages append(Transform<?, ?> transform, boolean filter) {
+        int n = transforms.length;
+        Transform<?, ?>[] t = new Transform<?, ?>[n + 1];
+        boolean[] f = new boolean[n + 1];
+        System.arraycopy(transforms, 0, t, 0, n);
+        System.arraycopy(filters, 0, f, 0, n);
+        t[n] = instrumentation != null ? instrumentation.wrap(transform, filter, n) : transform;
+        f[n] = filter;
+        return new Stages(t, f, instrumentation);
+    }
+
+    /**
+     * Returns a new chain with the same stages that records its statistics.
+     *
+     * @param instrumentation Records the statistics of the stages in this chain and of the ones
+     *            appended to the result.
+     * @return A new {@link Stages} instance.
+     */
+    Stages instrument(PipelineInstrumentation instrumentation) {
+        Transform<?, ?>[] t = new Transform<?, ?>[transforms.length];
+        for (int i = 0; i < t.length; i++)
+            t[i] = instrumentation.wrap(transforms[i], filters[i], i);
+        return new Stages(t, filters, instrumentation);
+    }
+
+    /**
+     * Records that an iteration of the pipeline starts, if the chain is instrumented.
+     */
+    void iterated() {
+        if (instrumentation != null)
+            instrumentation.iterated();
+    }
+
+    /**
+     * @return true if the chain has no stages, in which case the source elements pass through as is.
+     */
+    boolean isEmpty() {
+        return transforms.length == 0;
+    }
+
+    /**
+     * @return true if the chain contains a where stage, in which case there may be fewer resultant
+     *         elements than source elements.
+     */
+    boolean hasFilters() {
+        for (boolean filter : filters) {
+            if (filter)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the chain contains a select stage, in which case the resultant elements 
+     *         may differ from the source elements.
+     */
+    boolean hasSelects() {
+        for (boolean filter : filters) {
+            if (!filter)
+                return true;
+        }
+        return false;
+    }
+    
+    /**
+     * @param transform A stage function.
+     * @return true if the specified function is the last stage in the chain.
+     */
+    boolean endsWith(Transform<?, ?> transform) {
+        return transforms.length > 0 
+            && PipelineInstrumentation.unwrap(transforms[transforms.length - 1]) == transform;
+    }
+
+    /**
+     * Runs an element through all the stages.
+     *
+     * @param element The source element.
+     * @return The resultant element or {@link #SKIP} if a where stage rejected it.
+     */
+    @SuppressWarnings("unchecked")
+    Object apply(Object element) {
+        Transform<?, ?>[] t = transforms;
+        boolean[] f = filters;
+        Object value = element;
+        for (int i = 0; i < t.length; i++) {
+            Object result = ((Transform<Object, Object>)t[i]).transform(value);
+            if (f[i]) {
+                // Boolean.TRUE is what autoboxing yields, so the unboxing is only needed for
+                // Boolean instances created otherwise.
+                if (result != Boolean.TRUE && (result == null || !((Boolean)result).booleanValue()))
+                    return SKIP;
+            }
+            else
+                value = result;
+        }
+        return value;
+    }
+
+    /**
+     * Creates a pull based iterator that yields the elements of the source iterator that pass
+     * through all the stages.
+     *
+     * @param source The source iterator.
+     * @return A new iterator that does not support removal. Closing it closes the source iterator.
+     */
+    Iterator<Object> iterator(final Iterator<?> source) {
+        return new ClosingIterator<Object>(source) {
+
+            private Object nextValue;
+            private boolean fetched;
+
+            public boolean hasNext() {
+                while (!fetched && source.hasNext()) {
+                    Object value = apply(source.next());
+                    if (value != SKIP) {
+                        nextValue = value;
+                        fetched = true;
+                    }
+                }
+                return fetched;
+            }
+
+            public Object next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                Object result = nextValue;
+                nextValue = null;
+                fetched = false;
+                return result;
+            }
+        };
+    }
+
+}
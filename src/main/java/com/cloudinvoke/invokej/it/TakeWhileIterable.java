@@ -0,0 +1,90 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * An {@link Iterable} that yields the elements of its upstream up to, but not including, the
+ * first element that does not meet a condition. Upstream is not read past that element, and the
+ * upstream iterator is closed once it is reached.
+ *
+ * @see IterableExt#takeWhile(Transform)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class TakeWhileIterable<T> implements Iterable<T>, Sized {
+
+    private final Iterable<T> upstream;
+    private final Transform<T, Boolean> condition;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to take from.
+     * @param condition The condition the elements must meet.
+     */
+    TakeWhileIterable(Iterable<T> upstream, Transform<T, Boolean> condition) {
+        this.upstream = upstream;
+        this.condition = condition;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<T> iterator() {
+        final Iterator<T> source = upstream.iterator();
+        return new ClosingIterator<T>(source) {
+
+            private T nextValue;
+            private boolean fetched;
+            private boolean done;
+
+            public boolean hasNext() {
+                if (!fetched && !done) {
+                    if (source.hasNext()) {
+                        T value = source.next();
+                        if (Boolean.TRUE.equals(condition.transform(value))) {
+                            nextValue = value;
+                            fetched = true;
+                        }
+                        else {
+                            done = true;
+                            close();
+                        }
+                    }
+                    else
+                        done = true;
+                }
+                return fetched;
+            }
+
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                T result = nextValue;
+                nextValue = null;
+                fetched = false;
+                return result;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return Itq.exactSize(upstream) == 0 ? 0 : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return Itq.maxSize(upstream);
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterable} over groups of at most a fixed amount of consecutive upstream elements,
+ * where a group is also complete once a maximum delay has passed since its first element
+ * arrived. A slow upstream therefore yields partial groups rather than holding back the elements
+ * it did produce.
+ * <p>
+ * Every iterator reads upstream on a background task through a {@link PrefetchIterable} that
+ * buffers at most one group, so that the deadline of a group can pass while upstream is blocked.
+ * The iterators implement {@link Closeable} to stop the task of an iterator that is not iterated
+ * to the end. Groups are never empty: {@link Iterator#hasNext()} waits for the first element of
+ * the next group or for the end of upstream.
+ *
+ * @see IterableExt#inGroupsOf(int, long, java.util.concurrent.TimeUnit)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class TimedGroupIterable<T> implements Iterable<List<T>>, Sized {
+
+    /**
+     * The largest capacity a group is created with. A group often goes out partial at its
+     * deadline, so a large count is not allocated up front.
+     */
+    private static final int GROUP_PRESIZE = 1024;
+
+    private final Iterable<T> upstream;
+    private final int count;
+    private final long maxDelayNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to group.
+     * @param count The maximum amount of elements per group.
+     * @param maxDelayNanos The maximum amount of nanoseconds to wait for a group to fill after
+     *        its first element arrived.
+     */
+    TimedGroupIterable(Iterable<T> upstream, int count, long maxDelayNanos) {
+        this.upstream = upstream;
+        this.count = count;
+        this.maxDelayNanos = maxDelayNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<List<T>> iterator() {
+        return new TimedGroupIterator(new PrefetchIterable<T>(upstream, count, null).open());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return Itq.exactSize(upstream) == 0 ? 0 : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Every group holds at least one element.
+     */
+    public int maxSize() {
+        return Itq.maxSize(upstream);
+    }
+
+    /**
+     * Collects the prefetched elements into groups.
+     */
+    private final class TimedGroupIterator extends NoRemoveIterator<List<T>> implements Closeable {
+
+        private final PrefetchIterable<T>.PrefetchIterator source;
+
+        TimedGroupIterator(PrefetchIterable<T>.PrefetchIterator source) {
+            this.source = source;
+        }
+
+        public boolean hasNext() {
+            return source.hasNext();
+        }
+
+        public List<T> next() {
+            if (!source.hasNext())
+                throw new NoSuchElementException();
+            long deadline = System.nanoTime() + maxDelayNanos;
+            List<T> group = new ArrayList<T>(Math.min(count, GROUP_PRESIZE));
+            group.add(source.next());
+            while (group.size() < count && source.await(deadline - System.nanoTime())
+                    && source.hasNext())
+                group.add(source.next());
+            return group;
+        }
+
+        public void close() {
+            source.close();
+        }
+    }
+
+}
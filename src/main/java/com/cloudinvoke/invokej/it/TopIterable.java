@@ -0,0 +1,87 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+import com.cloudinvoke.invokej.constructs.Operation;
+
+/**
+ * An {@link Iterable} that yields the greatest elements of its upstream according to a
+ * comparator, greatest first. Upstream is read when an iterator is requested and only the 
+ * current candidates are kept in a bounded min-heap, which takes O(n log k) time and O(k) memory
+ * instead of sorting everything.
+ *
+ * @see IterableExt#top(int, Comparator)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class TopIterable<T> implements Iterable<T>, Sized {
+
+    private final IterableExt<T> upstream;
+    private final int k;
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to select from.
+     * @param k The maximum amount of elements to yield.
+     * @param comparator Determines the order of the elements.
+     */
+    TopIterable(IterableExt<T> upstream, int k, Comparator<? super T> comparator) {
+        this.upstream = upstream;
+        this.k = k;
+        this.comparator = comparator;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    @SuppressWarnings("unchecked")
+    public Iterator<T> iterator() {
+        if (k == 0)
+            return Itq.emptyIterator();
+
+        // The heap grows as needed, so a large k costs nothing up front
+        int size = Itq.presize(upstream);
+        int capacity = Math.max(1, Math.min(k, size >= 0 ? size : 16));
+        final PriorityQueue<T> heap = new PriorityQueue<T>(capacity, comparator);
+        upstream.forEach(new Operation<T>() {
+            public void perform(T t) {
+                if (heap.size() < k)
+                    heap.add(t);
+                else if (comparator.compare(t, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(t);
+                }
+            }
+        });
+
+        // The heap yields the smallest first, so fill the result from the back
+        final T[] result = (T[])new Object[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--)
+            result[i] = heap.poll();
+        return Arrays.asList(result).iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        int size = Itq.exactSize(upstream);
+        return size >= 0 ? Math.min(k, size) : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        int size = Itq.maxSize(upstream);
+        return size >= 0 ? Math.min(k, size) : -1;
+    }
+
+}
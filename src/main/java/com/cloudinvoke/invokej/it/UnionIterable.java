@@ -0,0 +1,104 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterable} that yields all the elements of its sources in sequence. Every iterator
+ * walks the sources from the start, so the union can be iterated more than once if its sources
+ * can. Null sources are skipped.
+ *
+ * @see Itq#union(Iterable, Iterable, Iterable...)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class UnionIterable<T> implements Iterable<T>, Sized {
+
+    private final Iterable<T>[] sources;
+
+    /**
+     * Constructor.
+     *
+     * @param sources The iterables to yield the elements of. May contain nulls.
+     */
+    UnionIterable(Iterable<T>[] sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<T> iterator() {
+        return new UnionIterator();
+    }
+
+    /**
+     * Walks the sources. Closing it closes the iterator of the current source; the sources after
+     * it have not been opened yet.
+     */
+    private final class UnionIterator implements Iterator<T>, Closeable {
+
+        private int index;
+        private Iterator<T> current;
+
+        public boolean hasNext() {
+            while (current == null || !current.hasNext()) {
+                if (index >= sources.length)
+                    return false;
+                Iterable<T> source = sources[index++];
+                current = source != null ? source.iterator() : null;
+            }
+            return true;
+        }
+
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return current.next();
+        }
+
+        public void remove() {
+            if (current == null)
+                throw new IllegalStateException();
+            current.remove();
+        }
+
+        public void close() {
+            Itq.close(current);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return sum(sources, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return sum(sources, false);
+    }
+
+    /**
+     * Adds up the exact or maximum sizes of iterables.
+     *
+     * @return The sum or -1 if the size of an iterable is not known or the sum overflows.
+     */
+    static int sum(Iterable<?>[] iterables, boolean exact) {
+        long sum = 0;
+        for (Iterable<?> iterable : iterables) {
+            int size = exact ? Itq.exactSize(iterable) : Itq.maxSize(iterable);
+            if (size < 0)
+                return -1;
+            sum += size;
+        }
+        return sum <= Integer.MAX_VALUE ? (int)sum : -1;
+    }
+
+}
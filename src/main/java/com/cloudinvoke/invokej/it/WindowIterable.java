@@ -0,0 +1,184 @@
+package com.cloudinvoke.invokej.it;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * An {@link Iterable} over windows of a fixed amount of consecutive upstream elements, each
+ * starting a fixed amount of elements after the previous one. Only full windows are yielded, so
+ * an upstream with fewer elements than the window size yields no windows at all.
+ * <p>
+ * No window is copied:
+ * <ul>
+ * <li>A random access list is windowed into read-only {@link ListRange} views of the list.</li>
+ * <li>Otherwise every iterator keeps the elements of the current window in a ring buffer and
+ * yields a read-only view of the buffer. Moving to the next window only reads the elements that
+ * enter the window, so the view of the previous window is invalid once {@link Iterator#next()} or
+ * {@link Iterator#hasNext()} is called again.</li>
+ * </ul>
+ *
+ * @see IterableExt#windowed(int, int)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class WindowIterable<T> implements Iterable<List<T>>, Sized {
+
+    private final Iterable<T> upstream;
+    private final int size;
+    private final int step;
+
+    /**
+     * Constructor.
+     *
+     * @param upstream The elements to window.
+     * @param size The amount of elements per window.
+     * @param step The amount of elements between the starts of consecutive windows.
+     */
+    WindowIterable(Iterable<T> upstream, int size, int step) {
+        this.upstream = upstream;
+        this.size = size;
+        this.step = step;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<List<T>> iterator() {
+        if (upstream instanceof List<?> && upstream instanceof RandomAccess)
+            return views((List<T>)upstream);
+        return new RingIterator(upstream.iterator());
+    }
+
+    /**
+     * Creates an iterator over views of a random access list.
+     */
+    private Iterator<List<T>> views(final List<T> list) {
+        return new NoRemoveIterator<List<T>>() {
+
+            private long offset;
+
+            public boolean hasNext() {
+                return offset + size <= list.size();
+            }
+
+            public List<T> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                List<T> window = ListRange.of(list, (int)offset, size);
+                offset += step;
+                return window;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int exactSize() {
+        return windows(Itq.exactSize(upstream));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxSize() {
+        return windows(Itq.maxSize(upstream));
+    }
+
+    /**
+     * Determines the amount of windows for the specified amount of elements.
+     */
+    private int windows(int elements) {
+        if (elements < 0)
+            return -1;
+        return elements < size ? 0 : (elements - size) / step + 1;
+    }
+
+    /**
+     * Windows a streamed upstream through a ring buffer of the window size.
+     */
+    private final class RingIterator extends ClosingIterator<List<T>> {
+
+        private final Iterator<T> source;
+        /**
+         * Grows up to the window size while the first window fills, so that a large window over a
+         * short upstream is not allocated up front. The ring only wraps around once it is full.
+         */
+        private Object[] ring = new Object[Math.min(size, 16)];
+        private final List<T> view = new RingView();
+
+        /** The index in {@link #ring} of the first element of the next window */
+        private int start;
+
+        /** The amount of elements of the next window that are in the ring */
+        private int filled;
+
+        /** The amount of upstream elements to pass over before filling the next window */
+        private int skip;
+
+        /** The index in {@link #ring} of the first element of the yielded window */
+        private int viewStart;
+
+        RingIterator(Iterator<T> source) {
+            super(source);
+            this.source = source;
+        }
+
+        public boolean hasNext() {
+            while (skip > 0 && source.hasNext()) {
+                source.next();
+                skip--;
+            }
+            while (filled < size && source.hasNext()) {
+                if (filled == ring.length)
+                    ring = Arrays.copyOf(ring, (int)Math.min(size, (long)filled << 1));
+                ring[(start + filled) % size] = source.next();
+                filled++;
+            }
+            return filled == size;
+        }
+
+        public List<T> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            // The slots of the yielded window are only overwritten by the next hasNext()
+            viewStart = start;
+            if (step < size) {
+                start = (start + step) % size;
+                filled = size - step;
+            }
+            else {
+                start = 0;
+                filled = 0;
+                skip = step - size;
+            }
+            return view;
+        }
+
+        /**
+         * A read-only view of the yielded window.
+         */
+        private final class RingView extends AbstractList<T> implements RandomAccess {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T get(int index) {
+                if (index < 0 || index >= size)
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                return (T)ring[(viewStart + index) % size];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,334 @@
+package com.cloudinvoke.invokej.it;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * An {@link Iterable} over the elements of an XML document that match an element path. The
+ * document is read with a StAX {@link XMLStreamReader} and only a matching element and its
+ * descendants are turned into DOM nodes, as a subtree that is not attached to any document. Memory
+ * use therefore depends on the size of the largest matching element, not on the size of the
+ * document.
+ * <p>
+ * The path is a list of element local names separated by slashes, of which a step may be
+ * <code>*</code> to match any name. A path that starts with a slash is matched from the document
+ * element down, otherwise it is matched against the innermost open elements, e.g.
+ * <code>items/item</code> matches every <code>item</code> element whose parent is an
+ * <code>items</code> element. Elements inside a matching element are part of its subtree and are
+ * not matched themselves.
+ * <p>
+ * DTDs and external entities are not processed.
+ *
+ * @see Itq#fromXml(InputStream, String)
+ * @see Itq#fromXml(Path, String)
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+final class XmlElementIterable implements Iterable<Element> {
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final DocumentBuilderFactory DOCUMENT_FACTORY = DocumentBuilderFactory.newInstance();
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+        DOCUMENT_FACTORY.setNamespaceAware(true);
+    }
+
+    /** The stream to read once, or null if {@link #file} is read */
+    private InputStream stream;
+
+    /** The file to read per iterator, or null if {@link #stream} is read */
+    private final Path file;
+
+    /** The steps of the path */
+    private final String[] steps;
+
+    /** True if the path is matched from the document element */
+    private final boolean absolute;
+
+    /**
+     * Constructor.
+     *
+     * @param stream The stream to read once, or null to read the file.
+     * @param file The file to read per iterator, or null to read the stream.
+     * @param path The element path.
+     * @throws IllegalArgumentException if the path contains no steps.
+     */
+    XmlElementIterable(InputStream stream, Path file, String path) {
+        this.stream = stream;
+        this.file = file;
+        this.absolute = path.startsWith("/");
+        List<String> list = new ArrayList<String>();
+        for (String step : path.split("/")) {
+            if (step.length() > 0)
+                list.add(step);
+        }
+        if (list.isEmpty())
+            throw new IllegalArgumentException("The element path has no steps: " + path);
+        this.steps = list.toArray(new String[list.size()]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<Element> iterator() {
+        InputStream in;
+        boolean owned = file != null;
+        if (owned) {
+            try {
+                in = Files.newInputStream(file);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        else {
+            synchronized (this) {
+                in = stream;
+                stream = null;
+            }
+            if (in == null)
+                throw new IllegalStateException("An XML stream can only be iterated once");
+        }
+
+        try {
+            // The factories are not guaranteed to be thread safe
+            Document factory;
+            synchronized (DOCUMENT_FACTORY) {
+                factory = DOCUMENT_FACTORY.newDocumentBuilder().newDocument();
+            }
+            XMLStreamReader reader;
+            synchronized (INPUT_FACTORY) {
+                reader = INPUT_FACTORY.createXMLStreamReader(in);
+            }
+            return new ElementIterator(reader, owned ? in : null, factory);
+        }
+        catch (XMLStreamException e) {
+            throw closeOwned(owned ? in : null, invalid(e));
+        }
+        catch (ParserConfigurationException e) {
+            throw closeOwned(owned ? in : null, new IllegalStateException(e));
+        }
+        catch (RuntimeException e) {
+            throw closeOwned(owned ? in : null, e);
+        }
+    }
+
+    /**
+     * Closes the stream this iterable opened itself when no iterator could be created for it.
+     *
+     * @param in The stream to close, or null if the caller owns it.
+     * @param failure The failure that prevented the iterator; a failure to close is added to it.
+     * @return The failure.
+     */
+    private static RuntimeException closeOwned(InputStream in, RuntimeException failure) {
+        if (in != null) {
+            try {
+                in.close();
+            }
+            catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+        return failure;
+    }
+
+    private static IllegalStateException invalid(XMLStreamException e) {
+        return new IllegalStateException("Could not read the XML: " + e.getMessage(), e);
+    }
+
+    /**
+     * Reads the document up to the next matching element and builds its subtree. Closing it
+     * stops reading; this also happens at the end of the document.
+     */
+    private final class ElementIterator extends NoRemoveIterator<Element> implements Closeable {
+
+        private final XMLStreamReader reader;
+
+        /** The stream to close with the reader, or null if the caller owns it */
+        private final InputStream owned;
+
+        /** Creates the nodes. Nodes are never added to it, so it does not grow. */
+        private final Document factory;
+
+        /** The local names of the open elements */
+        private final List<String> open = new ArrayList<String>();
+
+        private Element nextElement;
+        private boolean closed;
+
+        ElementIterator(XMLStreamReader reader, InputStream owned, Document factory) {
+            this.reader = reader;
+            this.owned = owned;
+            this.factory = factory;
+        }
+
+        public boolean hasNext() {
+            if (nextElement == null && !closed) {
+                try {
+                    nextElement = fetch();
+                }
+                catch (XMLStreamException e) {
+                    close();
+                    throw invalid(e);
+                }
+                if (nextElement == null)
+                    close();
+            }
+            return nextElement != null;
+        }
+
+        public Element next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Element result = nextElement;
+            nextElement = null;
+            return result;
+        }
+
+        /**
+         * Advances to the next matching element and builds it.
+         *
+         * @return The element or null at the end of the document.
+         */
+        private Element fetch() throws XMLStreamException {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    open.add(reader.getLocalName());
+                    if (matches()) {
+                        Element element = build();
+                        open.remove(open.size() - 1);
+                        return element;
+                    }
+                }
+                else if (event == XMLStreamConstants.END_ELEMENT)
+                    open.remove(open.size() - 1);
+            }
+            return null;
+        }
+
+        /**
+         * @return true if the open elements match the path.
+         */
+        private boolean matches() {
+            int depth = open.size();
+            if (absolute ? depth != steps.length : depth < steps.length)
+                return false;
+            for (int i = 1; i <= steps.length; i++) {
+                String step = steps[steps.length - i];
+                if (!step.equals("*") && !step.equals(open.get(depth - i)))
+                    return false;
+            }
+            return true;
+        }
+
+        /**
+         * Builds the element the reader is positioned at, including its descendants, and leaves
+         * the reader at its end tag.
+         */
+        private Element build() throws XMLStreamException {
+            Element root = createElement();
+            Node parent = root;
+            while (parent != null) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        parent = parent.appendChild(createElement());
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        parent = parent == root ? null : parent.getParentNode();
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.SPACE:
+                    case XMLStreamConstants.ENTITY_REFERENCE:
+                        parent.appendChild(factory.createTextNode(reader.getText()));
+                        break;
+                    case XMLStreamConstants.CDATA:
+                        parent.appendChild(factory.createCDATASection(reader.getText()));
+                        break;
+                    case XMLStreamConstants.COMMENT:
+                        parent.appendChild(factory.createComment(reader.getText()));
+                        break;
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                        parent.appendChild(factory.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return root;
+        }
+
+        /**
+         * Creates an element with the name, namespace declarations and attributes of the start
+         * tag the reader is positioned at.
+         */
+        private Element createElement() {
+            Element element = factory.createElementNS(emptyToNull(reader.getNamespaceURI()), qualifiedName(
+                reader.getPrefix(), reader.getLocalName()));
+            for (int i = 0, n = reader.getNamespaceCount(); i < n; i++) {
+                String prefix = reader.getNamespacePrefix(i);
+                String name = prefix == null || prefix.isEmpty() 
+                    ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+                element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, name, reader.getNamespaceURI(i));
+            }
+            for (int i = 0, n = reader.getAttributeCount(); i < n; i++) {
+                element.setAttributeNS(emptyToNull(reader.getAttributeNamespace(i)),
+                    qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+            }
+            return element;
+        }
+
+        public void close() {
+            if (!closed) {
+                closed = true;
+                try {
+                    reader.close();
+                    if (owned != null)
+                        owned.close();
+                }
+                catch (XMLStreamException e) {
+                    throw invalid(e);
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String emptyToNull(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+
+}
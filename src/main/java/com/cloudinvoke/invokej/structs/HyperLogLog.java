@@ -0,0 +1,215 @@
+package com.cloudinvoke.invokej.structs;
+
+/**
+ * A HyperLogLog sketch that estimates the number of distinct objects added to it in a fixed
+ * amount of memory: one byte for each of the 2<sup>precision</sup> registers. The standard error
+ * of the estimate is about 1.04 / sqrt(2<sup>precision</sup>), e.g. 1.6% at the default
+ * precision of 12, which takes 4 KB regardless of how many objects are added.
+ * <p>
+ * Objects are hashed to 64 bits. {@link Long}, {@link Integer}, {@link Double} and
+ * {@link CharSequence} values are hashed from their contents; other objects from their
+ * {@link Object#hashCode()}, which only has 32 bits, so for those the estimate undercounts once
+ * the number of distinct objects reaches the hundreds of millions. Use {@link #addHash(long)} to
+ * supply a better hash in that case.
+ * <p>
+ * Instances are not thread safe. Sketches with the same precision can be built separately and
+ * combined with {@link #merge(HyperLogLog)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class HyperLogLog {
+
+    /** The smallest supported precision */
+    public static final int MIN_PRECISION = 4;
+
+    /** The largest supported precision */
+    public static final int MAX_PRECISION = 18;
+
+    /** The precision used by the default constructor */
+    public static final int DEFAULT_PRECISION = 12;
+
+    private final int precision;
+
+    /** For every register the highest rank seen */
+    private final byte[] registers;
+
+    /**
+     * Constructor. Uses the {@link #DEFAULT_PRECISION default precision}.
+     */
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param precision The base 2 logarithm of the number of registers, from
+     *        {@link #MIN_PRECISION} to {@link #MAX_PRECISION}.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION)
+            throw new IllegalArgumentException("precision must be from " + MIN_PRECISION + " to "
+                + MAX_PRECISION + ": " + precision);
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * @return The base 2 logarithm of the number of registers.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Adds an object to the sketch. Adding an object equal to one added before does not change
+     * the estimate.
+     *
+     * @param o The object to add. Null is counted as a distinct value of its own.
+     */
+    public void add(Object o) {
+        addHash(hash(o));
+    }
+
+    /**
+     * Adds a value by its 64 bit hash. The bits of the hash must be uniformly distributed.
+     *
+     * @param hash The hash of the value.
+     */
+    public void addHash(long hash) {
+        int index = (int)(hash >>> (64 - precision));
+        // Mark the position after the index bits so that the rank never exceeds 64 - precision + 1
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte)(Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index])
+            registers[index] = rank;
+    }
+
+    /**
+     * Adds all the values of another sketch to this one. Afterwards this sketch estimates the
+     * number of distinct objects added to either.
+     *
+     * @param other A sketch with the same precision.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision)
+            throw new IllegalArgumentException("Cannot merge a sketch with precision "
+                + other.precision + " into one with precision " + precision);
+        byte[] r = registers;
+        byte[] o = other.registers;
+        for (int i = 0; i < r.length; i++) {
+            if (o[i] > r[i])
+                r[i] = o[i];
+        }
+    }
+
+    /**
+     * Estimates the number of distinct objects added with the improved raw estimator of Ertl,
+     * "New cardinality estimation algorithms for HyperLogLog sketches" (2017). It works on the
+     * histogram of the register values and corrects for the empty and the saturated registers
+     * within the same formula, so unlike the classic estimator, which switches to linear counting
+     * below 2.5 times the number of registers, it has no bias around a switch point.
+     *
+     * @return The estimated number of distinct objects added.
+     */
+    public long estimate() {
+        int m = registers.length;
+        int q = 64 - precision;
+        int[] counts = new int[q + 2];
+        for (byte rank : registers)
+            counts[rank]++;
+        double z = m * tau((m - counts[q + 1]) / (double)m);
+        for (int k = q; k >= 1; k--)
+            z = 0.5 * (z + counts[k]);
+        z += m * sigma(counts[0] / (double)m);
+        return Math.round(alpha(m) * m * m / z);
+    }
+
+    /**
+     * The correction for the empty registers: x + sum of x<sup>2<sup>k</sup></sup> 2<sup>k-1</sup>
+     * for k &gt;= 1.
+     *
+     * @param x The fraction of empty registers.
+     */
+    private static double sigma(double x) {
+        if (x == 1)
+            return Double.POSITIVE_INFINITY;
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    /**
+     * The correction for the saturated registers: (1 - x - sum of
+     * (1 - x<sup>2<sup>-k</sup></sup>)<sup>2</sup> 2<sup>-k</sup> for k &gt;= 1) / 3.
+     *
+     * @param x The fraction of registers that are not saturated.
+     */
+    private static double tau(double x) {
+        if (x == 0 || x == 1)
+            return 0;
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    /**
+     * The bias correction constant for m registers.
+     */
+    private static double alpha(int m) {
+        switch (m) {
+            case 16: return 0.673;
+            case 32: return 0.697;
+            case 64: return 0.709;
+            default: return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    /**
+     * Hashes an object to 64 bits.
+     */
+    private static long hash(Object o) {
+        if (o == null)
+            return 0x9E3779B97F4A7C15L;
+        if (o instanceof Long || o instanceof Integer)
+            return mix(((Number)o).longValue());
+        if (o instanceof Double)
+            return mix(Double.doubleToLongBits((Double)o));
+        if (o instanceof CharSequence) {
+            CharSequence s = (CharSequence)o;
+            long h = 0xCBF29CE484222325L;
+            for (int i = 0; i < s.length(); i++)
+                h = (h ^ s.charAt(i)) * 0x100000001B3L;
+            return mix(h);
+        }
+        return mix(o.hashCode());
+    }
+
+    /**
+     * The finalization step of MurmurHash3, which spreads every input bit over all the output bits.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85B55L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.constructs.io.IoTransform;
+
+/**
+ * Tests the iterables that read upstream on background tasks: {@link IterableExt#prefetch(int)},
+ * {@link IterableExt#selectAsync(IoTransform, int)} and
+ * {@link IterableExt#inGroupsOf(int, long, TimeUnit)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class BackgroundTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    // prefetch
+
+    @Test
+    public void prefetchYieldsUpstream() {
+        List<Integer> values = Arrays.asList(1, null, 3, 4, 5);
+        assertEquals(values, Itq.from(values).prefetch(2).toList());
+    }
+
+    @Test
+    public void prefetchCloseStopsTask() throws Exception {
+        TrackingExecutor executor = new TrackingExecutor();
+        Iterator<Integer> iterator = Itq.from(new Counter()).prefetch(4, executor).iterator();
+        assertEquals(Integer.valueOf(0), iterator.next());
+        ((Closeable)iterator).close();
+        assertTrue(executor.awaitIdle());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void prefetchAbandonStopsTask() throws Exception {
+        TrackingExecutor executor = new TrackingExecutor();
+        Iterator<Integer> iterator = Itq.from(new Counter()).prefetch(4, executor).iterator();
+        assertEquals(Integer.valueOf(0), iterator.next());
+        iterator = null;
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (executor.running.get() > 0 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertEquals(0, executor.running.get());
+    }
+
+    @Test
+    public void prefetchRethrowsFailure() {
+        Iterator<Integer> iterator = Itq.from(new Counter(3)).prefetch(8).iterator();
+        for (int i = 0; i < 3; i++)
+            assertEquals(Integer.valueOf(i), iterator.next());
+        try {
+            iterator.hasNext();
+            fail("Expected the upstream failure");
+        }
+        catch (IllegalStateException e) {
+            assertEquals(Counter.FAILURE, e.getMessage());
+        }
+    }
+
+    @Test
+    public void prefetchCloseDoesNotInterruptLaterTasks() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 200; i++) {
+                Iterator<Integer> iterator = Itq.from(Arrays.asList(1, 2, 3)).prefetch(2, executor).iterator();
+                while (iterator.hasNext())
+                    iterator.next();
+                // The task may or may not have finished by now
+                ((Closeable)iterator).close();
+                boolean interrupted = executor.submit(() -> Thread.currentThread().isInterrupted()).get();
+                assertFalse(interrupted);
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    // selectAsync
+
+    @Test
+    public void selectAsyncCloseStopsWorkers() throws Exception {
+        TrackingExecutor executor = new TrackingExecutor();
+        Iterator<Integer> iterator = Itq.from(new Counter()).selectAsync(identity(), 4, executor).iterator();
+        assertEquals(Integer.valueOf(0), iterator.next());
+        ((Closeable)iterator).close();
+        assertTrue(executor.awaitIdle());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void selectAsyncRethrowsFailureInOrder() throws Exception {
+        TrackingExecutor executor = new TrackingExecutor();
+        IoTransform<Integer, Integer> failAtThree = new IoTransform<Integer, Integer>() {
+            public Integer transform(Integer input) throws IOException {
+                if (input == 3)
+                    throw new IOException("transform failed");
+                return input;
+            }
+        };
+        Iterator<Integer> iterator = Itq.from(new Counter()).selectAsync(failAtThree, 4, executor).iterator();
+        for (int i = 0; i < 3; i++)
+            assertEquals(Integer.valueOf(i), iterator.next());
+        try {
+            iterator.hasNext();
+            fail("Expected the transform failure");
+        }
+        catch (UncheckedIOException e) {
+            assertEquals("transform failed", e.getCause().getMessage());
+        }
+        assertTrue(executor.awaitIdle());
+    }
+
+    // inGroupsOf with a deadline
+
+    @Test
+    public void timedGroupsArePartialAtTheDeadline() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        Iterable<Integer> source = new Iterable<Integer>() {
+            public Iterator<Integer> iterator() {
+                return new NoRemoveIterator<Integer>() {
+
+                    private int next;
+
+                    public boolean hasNext() {
+                        return next < 5;
+                    }
+
+                    public Integer next() {
+                        // Upstream stalls after three elements until the first group is taken
+                        if (next == 3) {
+                            try {
+                                release.await();
+                            }
+                            catch (InterruptedException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }
+                        return next++;
+                    }
+                };
+            }
+        };
+        Iterator<List<Integer>> groups = Itq.from(source).inGroupsOf(10, 50, TimeUnit.MILLISECONDS).iterator();
+        assertEquals(Arrays.asList(0, 1, 2), groups.next());
+        release.countDown();
+        assertEquals(Arrays.asList(3, 4), groups.next());
+        assertFalse(groups.hasNext());
+    }
+
+    @Test
+    public void timedGroupsAreFullBeforeTheDeadline() {
+        List<List<Integer>> groups =
+            Itq.toList(Itq.from(Arrays.asList(1, 2, 3, 4, 5)).inGroupsOf(2, 1, TimeUnit.MINUTES));
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), groups);
+    }
+
+    @Test
+    public void timedGroupsCloseStopsTask() throws Exception {
+        Iterator<List<Integer>> groups = Itq.from(new Counter()).inGroupsOf(4, 1, TimeUnit.MINUTES).iterator();
+        assertEquals(Arrays.asList(0, 1, 2, 3), groups.next());
+        ((Closeable)groups).close();
+        assertFalse(groups.hasNext());
+    }
+
+    private static IoTransform<Integer, Integer> identity() {
+        return new IoTransform<Integer, Integer>() {
+            public Integer transform(Integer input) {
+                return input;
+            }
+        };
+    }
+
+    /**
+     * Counts up from 0, forever or until it fails at a position.
+     */
+    private static final class Counter implements Iterable<Integer> {
+
+        static final String FAILURE = "upstream failed";
+
+        private final int failAt;
+
+        Counter() {
+            this(-1);
+        }
+
+        Counter(int failAt) {
+            this.failAt = failAt;
+        }
+
+        public Iterator<Integer> iterator() {
+            return new NoRemoveIterator<Integer>() {
+
+                private int next;
+
+                public boolean hasNext() {
+                    return true;
+                }
+
+                public Integer next() {
+                    if (next == failAt)
+                        throw new IllegalStateException(FAILURE);
+                    return next++;
+                }
+            };
+        }
+    }
+
+    /**
+     * Runs every task on a new daemon thread and counts the tasks that have not finished.
+     */
+    private static final class TrackingExecutor implements Executor {
+
+        final AtomicInteger running = new AtomicInteger();
+
+        public void execute(final Runnable command) {
+            running.incrementAndGet();
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        command.run();
+                    }
+                    finally {
+                        running.decrementAndGet();
+                    }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * Waits for all the tasks to finish.
+         *
+         * @return false if they did not finish in time.
+         */
+        boolean awaitIdle() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (running.get() > 0) {
+                if (System.currentTimeMillis() > deadline)
+                    return false;
+                Thread.sleep(10);
+            }
+            return true;
+        }
+    }
+
+}
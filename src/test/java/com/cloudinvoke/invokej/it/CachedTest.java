@@ -0,0 +1,185 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Tests the replay buffer of {@link IterableExt#cached()} and {@link IterableExt#cached(int)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class CachedTest {
+
+    @Test
+    public void replaysASingleShotSource() {
+        Iterator<Integer> once = Arrays.asList(1, 2, 3).iterator();
+        IterableExt<Integer> cached = Itq.from(once).cached();
+        assertEquals(Arrays.asList(1, 2, 3), cached.toList());
+        assertEquals(Arrays.asList(1, 2, 3), cached.toList());
+        assertEquals(3, cached.size());
+    }
+
+    @Test
+    public void pullsOnlyWhatTheLeaderNeeds() {
+        CountingIterable source = new CountingIterable(10);
+        IterableExt<Integer> cached = Itq.from(source).cached();
+        int validated = source.iterators;
+        assertEquals(0, source.pulled);
+        assertEquals(Arrays.asList(0, 1), cached.take(2).toList());
+        assertEquals(2, source.pulled);
+        assertEquals(Arrays.asList(0, 1, 2), cached.take(3).toList());
+        assertEquals(3, source.pulled);
+        assertEquals(10, cached.toList().size());
+        assertEquals(10, source.pulled);
+        // Upstream is iterated once
+        assertEquals(validated + 1, source.iterators);
+    }
+
+    @Test
+    public void interleavedIterators() {
+        IterableExt<Integer> cached = Itq.from(new CountingIterable(4)).cached();
+        Iterator<Integer> a = cached.iterator();
+        Iterator<Integer> b = cached.iterator();
+        assertEquals(Integer.valueOf(0), a.next());
+        assertEquals(Integer.valueOf(1), a.next());
+        assertEquals(Integer.valueOf(0), b.next());
+        assertEquals(Integer.valueOf(1), b.next());
+        assertEquals(Integer.valueOf(2), b.next());
+        assertEquals(Integer.valueOf(2), a.next());
+        assertEquals(Integer.valueOf(3), a.next());
+        assertFalse(a.hasNext());
+        assertEquals(Integer.valueOf(3), b.next());
+        assertFalse(b.hasNext());
+        try {
+            b.next();
+            fail("Expected the end of the elements");
+        }
+        catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void sizeIsKnownOnceExhausted() {
+        IterableExt<Integer> cached = Itq.from(new CountingIterable(5)).cached();
+        assertEquals(-1, Itq.exactSize(cached));
+        cached.toList();
+        assertEquals(5, Itq.exactSize(cached));
+        assertEquals(5, Itq.maxSize(cached));
+        assertEquals(3, Itq.exactSize(Itq.from(Arrays.asList(1, 2, 3)).cached()));
+    }
+
+    // Limit
+
+    @Test
+    public void replaysWithinTheLimit() {
+        IterableExt<Integer> cached = Itq.from(new CountingIterable(3)).cached(3);
+        assertEquals(Arrays.asList(0, 1, 2), cached.toList());
+        assertEquals(Arrays.asList(0, 1, 2), cached.toList());
+    }
+
+    @Test
+    public void leaderContinuesPastTheLimit() {
+        IterableExt<Integer> cached = Itq.from(new CountingIterable(6)).cached(2);
+        Iterator<Integer> follower = cached.iterator();
+        assertEquals(Integer.valueOf(0), follower.next());
+        // The leader goes past the limit, which drops the buffer
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), Itq.from(cached.iterator()).toList());
+        assertOverflow(follower);
+        assertOverflow(cached.iterator());
+    }
+
+    @Test
+    public void zeroLimitStreamsOnce() {
+        IterableExt<Integer> cached = Itq.from(new CountingIterable(3)).cached(0);
+        assertEquals(Arrays.asList(0, 1, 2), cached.toList());
+        assertOverflow(cached.iterator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeLimit() {
+        Itq.from(Arrays.asList(1)).cached(-1);
+    }
+
+    // Threads
+
+    @Test
+    public void concurrentReadersSeeAllElements() throws Exception {
+        final IterableExt<Integer> cached = Itq.from(new CountingIterable(100000)).cached();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<Future<List<Integer>>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<List<Integer>>() {
+                    public List<Integer> call() {
+                        return Itq.from(cached.iterator()).toList();
+                    }
+                }));
+            }
+            List<Integer> expected = Itq.from(new CountingIterable(100000)).toList();
+            for (Future<List<Integer>> result : results)
+                assertEquals(expected, result.get());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertOverflow(Iterator<Integer> iterator) {
+        try {
+            iterator.hasNext();
+            fail("Expected the elements to be no longer replayable");
+        }
+        catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Yields 0 up to a count and counts the iterators and the elements pulled from them.
+     */
+    private static final class CountingIterable implements Iterable<Integer> {
+
+        private final int count;
+        int iterators;
+        int pulled;
+
+        CountingIterable(int count) {
+            this.count = count;
+        }
+
+        public Iterator<Integer> iterator() {
+            iterators++;
+            return new NoRemoveIterator<Integer>() {
+
+                private int next;
+
+                public boolean hasNext() {
+                    return next < count;
+                }
+
+                public Integer next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    pulled++;
+                    return next++;
+                }
+            };
+        }
+    }
+
+}
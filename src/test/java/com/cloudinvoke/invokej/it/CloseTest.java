@@ -0,0 +1,384 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+import com.cloudinvoke.invokej.constructs.BiTransform;
+import com.cloudinvoke.invokej.constructs.ToIntTransform;
+import com.cloudinvoke.invokej.constructs.Transform;
+import com.cloudinvoke.invokej.constructs.io.IoTransform;
+
+/**
+ * Tests that the iterators of pipelines forward their close to a closeable source, and that the
+ * operations that stop before the end close it themselves.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class CloseTest {
+
+    private static final int RUNS = 500;
+
+    private static final Transform<Integer, Boolean> BELOW_FIVE = new Transform<Integer, Boolean>() {
+        public Boolean transform(Integer input) {
+            return input < 5;
+        }
+    };
+
+    private static final Transform<Integer, Integer> IDENTITY = new Transform<Integer, Integer>() {
+        public Integer transform(Integer input) {
+            return input;
+        }
+    };
+
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("invokej-close", ".txt");
+        Files.write(file, Arrays.asList("a", "b", "c", "d"), StandardCharsets.UTF_8);
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    // Open file descriptors of fromLines
+
+    @Test
+    public void firstClosesTheFile() {
+        long before = openFiles();
+        for (int i = 0; i < RUNS; i++) {
+            assertEquals("a", Itq.fromLines(file, StandardCharsets.UTF_8).first().toString());
+            assertEquals("b", lines().where(always()).first(new Transform<CharSequence, Boolean>() {
+                public Boolean transform(CharSequence input) {
+                    return input.charAt(0) == 'b';
+                }
+            }).toString());
+            assertTrue(lines().any(always()));
+            assertFalse(lines().all(new Transform<CharSequence, Boolean>() {
+                public Boolean transform(CharSequence input) {
+                    return input.charAt(0) == 'a';
+                }
+            }));
+        }
+        assertNoLeak(before);
+    }
+
+    @Test
+    public void takeClosesTheFile() {
+        long before = openFiles();
+        for (int i = 0; i < RUNS; i++) {
+            assertEquals(1, lines().take(1).toList().size());
+            assertEquals(2, lines().where(always()).skip(1).take(2).toList().size());
+        }
+        assertNoLeak(before);
+    }
+
+    @Test
+    public void pipelineIteratorsCloseTheFile() throws IOException {
+        long before = openFiles();
+        for (int i = 0; i < RUNS; i++) {
+            Iterator<CharSequence> iterator = lines().where(always()).iterator();
+            assertTrue(iterator instanceof Closeable);
+            iterator.next();
+            ((Closeable)iterator).close();
+        }
+        assertNoLeak(before);
+    }
+
+    @Test
+    public void validationClosesTheFile() {
+        long before = openFiles();
+        for (int i = 0; i < RUNS; i++) {
+            // A plain iterable is validated by requesting an iterator
+            Itq.from(new Iterable<CharSequence>() {
+                public Iterator<CharSequence> iterator() {
+                    return lines().iterator();
+                }
+            });
+        }
+        assertNoLeak(before);
+    }
+
+    @Test
+    public void fromXmlClosesTheFile() throws IOException {
+        Path xml = Files.createTempFile("invokej-close", ".xml");
+        try {
+            Files.write(xml, "<items><item/><item/><item/></items>".getBytes(StandardCharsets.UTF_8));
+            IterableExt<Element> items = Itq.fromXml(xml, "items/item");
+            long before = openFiles();
+            for (int i = 0; i < RUNS; i++) {
+                items.where(always()).first();
+                assertEquals(1, items.take(1).toList().size());
+                Iterator<Element> iterator = items.iterator();
+                iterator.next();
+                close(iterator);
+            }
+            assertNoLeak(before);
+        }
+        finally {
+            Files.delete(xml);
+        }
+    }
+
+    @Test
+    public void unreadableXmlClosesTheFile() throws IOException {
+        Path xml = Files.createTempFile("invokej-close", ".xml");
+        try {
+            // The reader already fails on the declaration, before an iterator exists
+            Files.write(xml, "<?xml version=\"9.9\"?><items/>".getBytes(StandardCharsets.UTF_8));
+            IterableExt<Element> items = Itq.fromXml(xml, "items/item");
+            long before = openFiles();
+            for (int i = 0; i < RUNS; i++) {
+                try {
+                    items.iterator();
+                    fail("Expected the declaration to be rejected");
+                }
+                catch (IllegalStateException e) {
+                    // expected
+                }
+            }
+            assertNoLeak(before);
+        }
+        finally {
+            Files.delete(xml);
+        }
+    }
+
+    // Close forwarding per operator
+
+    @Test
+    public void whereAndSelectForwardClose() {
+        TrackedIterable source = new TrackedIterable(10);
+        closeAfterOne(Itq.from(source).where(BELOW_FIVE).select(IDENTITY).iterator());
+        source.assertAllClosed();
+    }
+
+    @Test
+    public void takeClosesAtTheLimit() {
+        TrackedIterable source = new TrackedIterable(10);
+        assertEquals(Arrays.asList(0, 1), Itq.from(source).where(always()).take(2).toList());
+        source.assertAllClosed();
+    }
+
+    @Test
+    public void takeWhileClosesAtTheFirstMismatch() {
+        TrackedIterable source = new TrackedIterable(10);
+        assertEquals(5, Itq.from(source).takeWhile(BELOW_FIVE).toList().size());
+        source.assertAllClosed();
+    }
+
+    @Test
+    public void shortCircuitingTerminalsClose() {
+        TrackedIterable source = new TrackedIterable(10);
+        IterableExt<Integer> pipeline = Itq.from(source).where(always());
+        assertEquals(Integer.valueOf(0), pipeline.first());
+        assertEquals(Integer.valueOf(0), pipeline.single());
+        assertEquals(Integer.valueOf(5), pipeline.first(new Transform<Integer, Boolean>() {
+            public Boolean transform(Integer input) {
+                return input == 5;
+            }
+        }));
+        assertTrue(pipeline.any(BELOW_FIVE));
+        assertFalse(pipeline.all(BELOW_FIVE));
+        assertTrue(Itq.contains(pipeline, pipeline.first()));
+        source.assertAllClosed();
+    }
+
+    @Test
+    public void operatorsForwardClose() {
+        TrackedIterable source = new TrackedIterable(10);
+        IterableExt<Integer> tracked = Itq.from(source);
+        closeAfterOne(tracked.distinct().iterator());
+        closeAfterOne(tracked.skip(1).iterator());
+        closeAfterOne(tracked.inGroupsOf(3).iterator());
+        closeAfterOne(tracked.windowed(3, 1).iterator());
+        closeAfterOne(Itq.union(tracked, tracked).iterator());
+        closeAfterOne(Itq.mergeSorted(Comparator.<Integer>naturalOrder(), tracked, tracked).iterator());
+        closeAfterOne(Itq.from(Arrays.asList(1, 2)).selectMany(new Transform<Integer, Iterable<Integer>>() {
+            public Iterable<Integer> transform(Integer input) {
+                return Itq.from(new TrackedIterable(3, source));
+            }
+        }).iterator());
+        PrimitiveIterator.OfInt ints = tracked.selectInt(new ToIntTransform<Integer>() {
+            public int transform(Integer input) {
+                return input;
+            }
+        }).iterator();
+        ints.nextInt();
+        close(ints);
+        source.assertAllClosed();
+    }
+
+    @Test
+    public void joinsForwardClose() {
+        TrackedIterable left = new TrackedIterable(10);
+        TrackedIterable right = new TrackedIterable(10);
+        BiTransform<Integer, Integer, Integer> sum = new BiTransform<Integer, Integer, Integer>() {
+            public Integer transform(Integer l, Integer r) {
+                return l + r;
+            }
+        };
+        closeAfterOne(Itq.from(left).join(right, IDENTITY, IDENTITY, sum).iterator());
+        closeAfterOne(Itq.from(left).mergeJoin(right, IDENTITY, IDENTITY, sum).iterator());
+        // The merge join closes the right side once the left side ends
+        assertEquals(Arrays.asList(0, 2), Itq.from(left).take(2).mergeJoin(right, IDENTITY, IDENTITY, sum).toList());
+        left.assertAllClosed();
+        right.assertAllClosed();
+    }
+
+    @Test
+    public void backgroundTasksCloseUpstream() throws Exception {
+        TrackedIterable source = new TrackedIterable(Integer.MAX_VALUE);
+        closeAfterOne(Itq.from(source).prefetch(4).iterator());
+        closeAfterOne(Itq.from(source).inGroupsOf(4, 1, TimeUnit.MINUTES).iterator());
+        closeAfterOne(Itq.from(source).selectAsync(new IoTransform<Integer, Integer>() {
+            public Integer transform(Integer input) {
+                return input;
+            }
+        }, 4).iterator());
+        // The tasks close upstream on their own threads once they notice
+        long deadline = System.currentTimeMillis() + 10000;
+        while (source.closed.get() < source.opened.get() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        source.assertAllClosed();
+    }
+
+    private static <T> Transform<T, Boolean> always() {
+        return new Transform<T, Boolean>() {
+            public Boolean transform(T input) {
+                return true;
+            }
+        };
+    }
+
+    private IterableExt<CharSequence> lines() {
+        return Itq.fromLines(file, StandardCharsets.UTF_8);
+    }
+
+    private static void closeAfterOne(Iterator<?> iterator) {
+        iterator.next();
+        close(iterator);
+    }
+
+    private static void close(Iterator<?> iterator) {
+        assertTrue(iterator.getClass().getName(), iterator instanceof Closeable);
+        try {
+            ((Closeable)iterator).close();
+        }
+        catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * @return The amount of open file descriptors of the process.
+     */
+    private static long openFiles() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        assumeTrue(os instanceof com.sun.management.UnixOperatingSystemMXBean);
+        return ((com.sun.management.UnixOperatingSystemMXBean)os).getOpenFileDescriptorCount();
+    }
+
+    /**
+     * Fails if the open file descriptors grew by more than the other threads of the test run may
+     * account for.
+     */
+    private static void assertNoLeak(long before) {
+        long leaked = openFiles() - before;
+        assertTrue("Leaked " + leaked + " file descriptors", leaked < RUNS / 10);
+    }
+
+    /**
+     * Yields 0 up to a count from iterators that are {@link Closeable} and counts how many were
+     * opened and closed.
+     */
+    private static final class TrackedIterable implements Iterable<Integer> {
+
+        private final int count;
+        final AtomicInteger opened;
+        final AtomicInteger closed;
+
+        TrackedIterable(int count) {
+            this.count = count;
+            this.opened = new AtomicInteger();
+            this.closed = new AtomicInteger();
+        }
+
+        /**
+         * Shares the counters of another instance.
+         */
+        TrackedIterable(int count, TrackedIterable counters) {
+            this.count = count;
+            this.opened = counters.opened;
+            this.closed = counters.closed;
+        }
+
+        public Iterator<Integer> iterator() {
+            opened.incrementAndGet();
+            return new TrackedIterator();
+        }
+
+        /**
+         * Fails unless every iterator that was opened, and at least one, was closed.
+         */
+        void assertAllClosed() {
+            assertTrue(opened.get() > 0);
+            assertEquals(opened.get(), closed.get());
+        }
+
+        /**
+         * Closes itself at the end, like the closeable sources of {@link Itq} do.
+         */
+        private final class TrackedIterator extends NoRemoveIterator<Integer> implements Closeable {
+
+            private int next;
+            private boolean isClosed;
+
+            public boolean hasNext() {
+                if (!isClosed && next >= count)
+                    close();
+                return !isClosed;
+            }
+
+            public Integer next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return next++;
+            }
+
+            public void close() {
+                if (!isClosed) {
+                    isClosed = true;
+                    closed.incrementAndGet();
+                }
+            }
+        }
+    }
+
+}
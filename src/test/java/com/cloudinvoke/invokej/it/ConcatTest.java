@@ -0,0 +1,221 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.ArgumentNullException;
+
+/**
+ * Tests {@link IterableExt#concatTo(Appendable, String)} and
+ * {@link IterableExt#concatTo(java.io.OutputStream, java.nio.charset.Charset, String)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class ConcatTest {
+
+    @Test
+    public void appendsWithSeparators() throws IOException {
+        StringBuilder out = new StringBuilder("> ");
+        assertSame(out, Itq.from(Arrays.asList(1, null, "c")).concatTo(out, ", "));
+        assertEquals("> 1, null, c", out.toString());
+        assertEquals("abc", Itq.from(Arrays.asList("a", "b", "c")).concatTo(new StringBuilder(), null).toString());
+        assertEquals("", Itq.from(Collections.emptyList()).concatTo(new StringBuilder(), ",").toString());
+        assertEquals("a", Itq.from(Arrays.asList("a")).concatTo(new StringBuilder(), ",").toString());
+    }
+
+    @Test
+    public void matchesConcat() throws IOException {
+        List<Object> values = Arrays.<Object>asList(1, 2.5, 'x', null, true, "text");
+        assertEquals(Itq.from(values).concat("|").toString(),
+            Itq.from(values).concatTo(new StringWriter(), "|").toString());
+        assertEquals(Itq.concat(values, "|").toString(), Itq.concatTo(values, new StringBuilder(), "|").toString());
+    }
+
+    @Test
+    public void charSequencesAreNotConvertedToStrings() throws IOException {
+        CharSequence view = new CharSequence() {
+            public int length() {
+                return 2;
+            }
+
+            public char charAt(int index) {
+                return "ab".charAt(index);
+            }
+
+            public CharSequence subSequence(int start, int end) {
+                return "ab".subSequence(start, end);
+            }
+
+            @Override
+            public String toString() {
+                throw new AssertionError("Copied into a String");
+            }
+        };
+        assertEquals("ab-ab", Itq.from(Arrays.asList(view, view)).concatTo(new StringBuilder(), "-").toString());
+    }
+
+    @Test
+    public void plainIterable() throws IOException {
+        final List<String> values = Arrays.asList("a", "b");
+        Iterable<String> plain = new Iterable<String>() {
+            public Iterator<String> iterator() {
+                return values.iterator();
+            }
+        };
+        assertEquals("a/b", Itq.concatTo(plain, new StringBuilder(), "/").toString());
+    }
+
+    // Streams
+
+    @Test
+    public void encodesToTheStream() throws IOException {
+        TrackedStream out = new TrackedStream();
+        // e with acute accent and the euro sign
+        Itq.from(Arrays.asList("caf\u00e9", "\u20ac5")).concatTo(out, StandardCharsets.UTF_8, " ");
+        assertEquals("caf\u00e9 \u20ac5", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(10, out.size());
+        assertFalse(out.closed);
+
+        out = new TrackedStream();
+        Itq.from(Arrays.asList("\u00e9", "a")).concatTo(out, StandardCharsets.ISO_8859_1, null);
+        assertEquals(Arrays.toString(new byte[] { (byte)0xe9, 'a' }), Arrays.toString(out.toByteArray()));
+    }
+
+    @Test
+    public void streamIsFlushedBeyondTheBuffer() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 20000; i++) {
+            values.add(i);
+            expected.append(i == 0 ? "" : "\n").append(i);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Itq.concatTo(values, out, StandardCharsets.US_ASCII, "\n");
+        assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    // Failures
+
+    @Test
+    public void nullArgumentsAreRejected() throws IOException {
+        try {
+            Itq.from(Arrays.asList(1)).concatTo((StringBuilder)null, ",");
+            fail("Expected out to be rejected");
+        }
+        catch (ArgumentNullException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("out"));
+        }
+        try {
+            Itq.from(Arrays.asList(1)).concatTo(new ByteArrayOutputStream(), null, ",");
+            fail("Expected charset to be rejected");
+        }
+        catch (ArgumentNullException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("charset"));
+        }
+    }
+
+    @Test
+    public void failingOutputClosesTheSource() {
+        ClosingSource source = new ClosingSource(5);
+        Appendable failing = new Appendable() {
+            private int appended;
+
+            public Appendable append(CharSequence csq) throws IOException {
+                if (++appended > 2)
+                    throw new IOException("full");
+                return this;
+            }
+
+            public Appendable append(CharSequence csq, int start, int end) throws IOException {
+                return append(csq.subSequence(start, end));
+            }
+
+            public Appendable append(char c) throws IOException {
+                return append(String.valueOf(c));
+            }
+        };
+        try {
+            Itq.from(source).concatTo(failing, ",");
+            fail("Expected the output to fail");
+        }
+        catch (IOException e) {
+            assertEquals("full", e.getMessage());
+        }
+        assertEquals(source.opened, source.closed);
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} that records whether it was closed.
+     */
+    private static final class TrackedStream extends ByteArrayOutputStream {
+
+        boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    /**
+     * Yields 0 up to a count from iterators that must be closed, like the file sources of
+     * {@link Itq}, and counts the iterators opened and closed.
+     */
+    private static final class ClosingSource implements Iterable<Integer> {
+
+        private final int count;
+        int opened;
+        int closed;
+
+        ClosingSource(int count) {
+            this.count = count;
+        }
+
+        public Iterator<Integer> iterator() {
+            opened++;
+            return new SourceIterator();
+        }
+
+        private final class SourceIterator extends NoRemoveIterator<Integer> implements Closeable {
+
+            private int next;
+            private boolean isClosed;
+
+            public boolean hasNext() {
+                return !isClosed && next < count;
+            }
+
+            public Integer next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return next++;
+            }
+
+            public void close() {
+                if (!isClosed)
+                    closed++;
+                isClosed = true;
+            }
+        }
+    }
+
+}
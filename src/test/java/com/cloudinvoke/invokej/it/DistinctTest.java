@@ -0,0 +1,168 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.constructs.Transform;
+import com.cloudinvoke.invokej.structs.HyperLogLog;
+
+/**
+ * Tests {@link IterableExt#distinct()}, {@link IterableExt#distinctBy(Transform)} and the
+ * {@link HyperLogLog} estimate of {@link IterableExt#approxDistinctCount(int)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class DistinctTest {
+
+    private static final Transform<String, Character> FIRST_CHAR = new Transform<String, Character>() {
+        public Character transform(String input) {
+            return input.charAt(0);
+        }
+    };
+
+    // distinct
+
+    @Test
+    public void distinctKeepsTheFirstOccurrenceInOrder() {
+        List<String> values = Arrays.asList("b", "a", "b", null, "c", "a", null);
+        IterableExt<String> distinct = Itq.from(values).distinct();
+        assertEquals(Arrays.asList("b", "a", null, "c"), distinct.toList());
+        // Every iterator starts with no elements seen
+        assertEquals(Arrays.asList("b", "a", null, "c"), distinct.toList());
+    }
+
+    @Test
+    public void distinctByComparesKeys() {
+        List<String> values = Arrays.asList("apple", "avocado", "banana", "blueberry", "cherry");
+        assertEquals(Arrays.asList("apple", "banana", "cherry"), Itq.from(values).distinctBy(FIRST_CHAR).toList());
+    }
+
+    @Test
+    public void distinctStreams() {
+        // An endless source only works if nothing is read before it is needed
+        Iterable<Integer> endless = new Iterable<Integer>() {
+            public Iterator<Integer> iterator() {
+                return new NoRemoveIterator<Integer>() {
+
+                    private int next;
+
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    public Integer next() {
+                        return next++ / 2;
+                    }
+                };
+            }
+        };
+        assertEquals(Arrays.asList(0, 1, 2), Itq.from(endless).distinct().take(3).toList());
+    }
+
+    @Test
+    public void distinctSizes() {
+        assertEquals(1, Itq.exactSize(Itq.from(Arrays.asList("a")).distinct()));
+        assertEquals(-1, Itq.exactSize(Itq.from(Arrays.asList("a", "a")).distinct()));
+        assertEquals(2, Itq.maxSize(Itq.from(Arrays.asList("a", "a")).distinct()));
+        assertEquals(1, Itq.from(Arrays.asList("a", "a")).distinct().size());
+    }
+
+    // approxDistinctCount
+
+    @Test
+    public void smallCountsAreExact() {
+        // Far fewer elements than registers leave most registers empty, which the estimate
+        // corrects for
+        for (int n = 0; n <= 50; n++)
+            assertEquals(n, Itq.from(range(n, 3)).approxDistinctCount());
+    }
+
+    @Test
+    public void estimateIsWithinTheErrorBound() {
+        int m = 1 << HyperLogLog.DEFAULT_PRECISION;
+        double bound = 3 * 1.04 / Math.sqrt(m);
+        // Including the sizes around 2.5 m, where the classic estimator switches methods
+        for (int n : new int[] { 100, 1000, 2 * m, 10000, 5 * m / 2, 3 * m, 5 * m, 100000, 1000000 }) {
+            long estimate = Itq.from(range(n, 2)).approxDistinctCount();
+            double error = Math.abs(estimate - n) / (double)n;
+            assertTrue("n " + n + ", estimate " + estimate, error <= bound);
+        }
+    }
+
+    @Test
+    public void higherPrecisionIsMoreAccurate() {
+        int n = 50000;
+        for (int precision = HyperLogLog.MIN_PRECISION; precision <= HyperLogLog.MAX_PRECISION; precision++) {
+            long estimate = Itq.from(range(n, 1)).approxDistinctCount(precision);
+            double bound = 3 * 1.04 / Math.sqrt(1 << precision);
+            assertTrue("precision " + precision + ", estimate " + estimate, Math.abs(estimate - n) / (double)n <= bound);
+        }
+    }
+
+    @Test
+    public void precisionOutOfBounds() {
+        IterableExt<Integer> values = Itq.from(range(10, 1));
+        assertEquals(10, values.approxDistinctCount(HyperLogLog.MIN_PRECISION));
+        assertEquals(10, values.approxDistinctCount(HyperLogLog.MAX_PRECISION));
+        for (int precision : new int[] { HyperLogLog.MIN_PRECISION - 1, HyperLogLog.MAX_PRECISION + 1 }) {
+            try {
+                values.approxDistinctCount(precision);
+                fail("Expected precision " + precision + " to be rejected");
+            }
+            catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void parallelEstimateMatchesSequential() {
+        List<Integer> values = range(200000, 2);
+        assertEquals(Itq.from(values).approxDistinctCount(), Itq.from(values).parallel().approxDistinctCount());
+    }
+
+    @Test
+    public void mergedSketchesEstimateTheUnion() {
+        HyperLogLog whole = new HyperLogLog();
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 30000; i++) {
+            whole.add("k" + i);
+            (i < 20000 ? first : second).add("k" + i);
+        }
+        // Overlap between the two halves does not count twice
+        for (int i = 10000; i < 20000; i++)
+            second.add("k" + i);
+        first.merge(second);
+        assertEquals(whole.estimate(), first.estimate());
+        try {
+            first.merge(new HyperLogLog(HyperLogLog.DEFAULT_PRECISION + 1));
+            fail("Expected sketches of different precisions to be rejected");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * @return 0 up to a count, every value repeated the specified times.
+     */
+    private static List<Integer> range(int count, int repeat) {
+        List<Integer> values = new ArrayList<Integer>(count * repeat);
+        for (int r = 0; r < repeat; r++) {
+            for (int i = 0; i < count; i++)
+                values.add(i);
+        }
+        return values;
+    }
+
+}
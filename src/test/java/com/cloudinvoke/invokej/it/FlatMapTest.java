@@ -0,0 +1,228 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.ArgumentNullException;
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * Tests {@link IterableExt#selectMany(Transform)} and {@link Itq#flatten(Iterable)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class FlatMapTest {
+
+    /** Far smaller than the default, so that recursion per inner iterable would overflow it */
+    private static final long SMALL_STACK = 256 * 1024;
+
+    /** Far more empty inner iterables in a row than frames fit on {@link #SMALL_STACK} */
+    private static final int EMPTY_RUN = 2000000;
+
+    /** Yields the numbers from 0 up to the element */
+    private static final Transform<Integer, Iterable<Integer>> UP_TO = new Transform<Integer, Iterable<Integer>>() {
+        public Iterable<Integer> transform(Integer input) {
+            List<Integer> result = new ArrayList<Integer>(input);
+            for (int i = 0; i < input; i++)
+                result.add(i);
+            return result;
+        }
+    };
+
+    @Test
+    public void selectManyYieldsTheInnerElementsInOrder() {
+        assertEquals(Arrays.asList(0, 0, 1, 0, 1, 2), Itq.from(Arrays.asList(1, 0, 2, 3)).selectMany(UP_TO).toList());
+        Transform<String, List<Character>> chars = new Transform<String, List<Character>>() {
+            public List<Character> transform(String input) {
+                if (input == null)
+                    return null;
+                List<Character> result = new ArrayList<Character>();
+                for (char c : input.toCharArray())
+                    result.add(c);
+                return result;
+            }
+        };
+        assertEquals(Arrays.asList('a', 'b', 'c'), Itq.from(Arrays.asList("ab", null, "", "c")).selectMany(chars).toList());
+    }
+
+    @Test
+    public void transformIsAppliedWhenReached() {
+        final List<Integer> transformed = new ArrayList<Integer>();
+        IterableExt<Integer> flat = Itq.from(Arrays.asList(2, 2, 2)).selectMany(new Transform<Integer, Iterable<Integer>>() {
+            public Iterable<Integer> transform(Integer input) {
+                transformed.add(input);
+                return UP_TO.transform(input);
+            }
+        });
+        assertEquals(0, transformed.size());
+        assertEquals(Arrays.asList(0, 1, 0), flat.take(3).toList());
+        assertEquals(2, transformed.size());
+    }
+
+    @Test
+    public void flattenIsReIterable() {
+        List<Iterable<Integer>> nested = new ArrayList<Iterable<Integer>>();
+        nested.add(Arrays.asList(1, 2));
+        nested.add(null);
+        nested.add(Itq.from(Arrays.asList(3)));
+        IterableExt<Integer> flat = Itq.flatten(nested);
+        assertEquals(Arrays.asList(1, 2, 3), flat.toList());
+        nested.add(Arrays.asList(4));
+        assertEquals(Arrays.asList(1, 2, 3, 4), flat.toList());
+        assertEquals(Collections.emptyList(), Itq.flatten(null).toList());
+    }
+
+    @Test
+    public void toListMatchesIteration() {
+        List<Iterable<Integer>> nested = new ArrayList<Iterable<Integer>>();
+        nested.add(Arrays.asList(1, 2));
+        nested.add(Collections.<Integer>emptyList());
+        nested.add(Itq.from(Arrays.asList(3, 4)).where(new Transform<Integer, Boolean>() {
+            public Boolean transform(Integer input) {
+                return input > 3;
+            }
+        }));
+        nested.add(null);
+        assertEquals(Arrays.asList(1, 2, 4), Itq.flatten(nested).toList());
+        assertEquals(Arrays.asList(1, 2, 4), Itq.from(Itq.flatten(nested).iterator()).toList());
+        assertEquals(Arrays.asList(0, 0, 1), Itq.from(Arrays.asList(1, 2)).selectMany(UP_TO).toList());
+    }
+
+    // Sizes
+
+    @Test
+    public void flattenOfSizedCollectionsIsSized() {
+        List<Iterable<Integer>> nested = Arrays.<Iterable<Integer>>asList(Arrays.asList(1, 2), null, Arrays.asList(3));
+        assertEquals(3, Itq.exactSize(Itq.flatten(nested)));
+        assertEquals(3, Itq.flatten(nested).size());
+    }
+
+    @Test
+    public void unknownInnerSizeIsUnknown() {
+        List<Iterable<Integer>> nested = new ArrayList<Iterable<Integer>>();
+        nested.add(Arrays.asList(1, 2));
+        nested.add(Itq.from(Arrays.asList(3).iterator()));
+        assertEquals(-1, Itq.exactSize(Itq.flatten(nested)));
+        // The transform is never run to find the size
+        Transform<Integer, Iterable<Integer>> failing = new Transform<Integer, Iterable<Integer>>() {
+            public Iterable<Integer> transform(Integer input) {
+                throw new AssertionError("Transformed to find the size");
+            }
+        };
+        assertEquals(-1, Itq.exactSize(Itq.from(Arrays.asList(1)).selectMany(failing)));
+        assertEquals(0, Itq.exactSize(Itq.from(Collections.<Integer>emptyList()).selectMany(failing)));
+    }
+
+    // Iterators
+
+    @Test
+    public void removeDelegatesToTheInnerIterator() {
+        List<Integer> first = new ArrayList<Integer>(Arrays.asList(1, 2));
+        List<Integer> second = new ArrayList<Integer>(Arrays.asList(3));
+        List<Iterable<Integer>> nested = new ArrayList<Iterable<Integer>>();
+        nested.add(first);
+        nested.add(second);
+        Iterator<Integer> iterator = Itq.flatten(nested).iterator();
+        try {
+            iterator.remove();
+            fail("Expected nothing to remove before next()");
+        }
+        catch (IllegalStateException e) {
+            // expected
+        }
+        iterator.next();
+        iterator.next();
+        // hasNext() moves on to the next inner iterator, remove() still removes the last element
+        assertTrue(iterator.hasNext());
+        iterator.remove();
+        assertEquals(Arrays.asList(1), first);
+        assertEquals(Integer.valueOf(3), iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = ArgumentNullException.class)
+    public void selectManyRequiresATransform() {
+        Itq.from(Arrays.asList(1)).selectMany(null);
+    }
+
+    // Stack safety
+
+    @Test
+    public void longRunsOfEmptyInnerIterablesOnASmallStack() throws Throwable {
+        runOnSmallStack(new Runnable() {
+            public void run() {
+                List<Integer> values = new ArrayList<Integer>(EMPTY_RUN + 1);
+                for (int i = 0; i < EMPTY_RUN; i++)
+                    values.add(0);
+                values.add(3);
+                // Through the iterator and through toList
+                assertEquals(Arrays.asList(0, 1, 2), Itq.from(Itq.from(values).selectMany(UP_TO).iterator()).toList());
+                assertEquals(Arrays.asList(0, 1, 2), Itq.from(values).selectMany(UP_TO).toList());
+
+                List<Iterable<Integer>> nested = new ArrayList<Iterable<Integer>>(EMPTY_RUN + 1);
+                for (int i = 0; i < EMPTY_RUN; i++)
+                    nested.add(i % 2 == 0 ? null : Collections.<Integer>emptyList());
+                nested.add(Arrays.asList(7));
+                assertEquals(Integer.valueOf(7), Itq.flatten(nested).first());
+                nested.set(EMPTY_RUN, Collections.<Integer>emptyList());
+                assertFalse(Itq.flatten(nested).iterator().hasNext());
+            }
+        });
+    }
+
+    @Test
+    public void deeplyNestedFlatMapsOnASmallStack() throws Throwable {
+        runOnSmallStack(new Runnable() {
+            public void run() {
+                // Every level is a long run of empty inner iterables followed by the next level
+                Iterable<Integer> level = Arrays.asList(42);
+                for (int depth = 0; depth < 20; depth++) {
+                    List<Iterable<Integer>> nested = new ArrayList<Iterable<Integer>>();
+                    for (int i = 0; i < EMPTY_RUN / 20; i++)
+                        nested.add(Collections.<Integer>emptyList());
+                    nested.add(level);
+                    for (int i = 0; i < EMPTY_RUN / 20; i++)
+                        nested.add(null);
+                    level = Itq.flatten(nested);
+                }
+                Iterator<Integer> iterator = level.iterator();
+                assertEquals(Integer.valueOf(42), iterator.next());
+                assertFalse(iterator.hasNext());
+            }
+        });
+    }
+
+    /**
+     * Runs the test on a thread with {@link #SMALL_STACK} and rethrows what it throws.
+     */
+    private static void runOnSmallStack(final Runnable test) throws Throwable {
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread thread = new Thread(null, new Runnable() {
+            public void run() {
+                try {
+                    test.run();
+                }
+                catch (Throwable e) {
+                    failure.set(e);
+                }
+            }
+        }, "small-stack", SMALL_STACK);
+        thread.start();
+        thread.join();
+        if (failure.get() != null)
+            throw failure.get();
+    }
+
+}
@@ -0,0 +1,434 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link Flow} bridges {@link IterableExt#toPublisher(Executor)} and
+ * {@link Itq#from(Flow.Publisher, int)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class FlowTest {
+
+    /** Runs the tasks on the calling thread, so that every signal is delivered before request returns */
+    private static final Executor SYNC = new Executor() {
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    // toPublisher
+
+    @Test
+    public void pullsOnlyTheRequestedElements() {
+        CountingIterable source = new CountingIterable(100);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(5);
+        Itq.from(source).toPublisher(SYNC).subscribe(subscriber);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), subscriber.items);
+        assertEquals(5, source.pulled);
+
+        subscriber.subscription.request(3);
+        assertEquals(8, subscriber.items.size());
+        assertEquals(8, source.pulled);
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void completesAtTheEnd() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(Long.MAX_VALUE);
+        Itq.from(new CountingIterable(10)).toPublisher(SYNC).subscribe(subscriber);
+        assertEquals(10, subscriber.items.size());
+        assertTrue(subscriber.completed);
+        subscriber.subscription.request(Long.MAX_VALUE); // no overflow, no further signals
+        assertEquals(10, subscriber.items.size());
+    }
+
+    @Test
+    public void nonPositiveRequestSignalsError() {
+        CountingIterable source = new CountingIterable(10);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(0);
+        Itq.from(source).toPublisher(SYNC).subscribe(subscriber);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(0, source.pulled);
+    }
+
+    @Test
+    public void nullElementSignalsError() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(10);
+        Itq.from(Arrays.asList(1, null, 3)).toPublisher(SYNC).subscribe(subscriber);
+        assertEquals(Arrays.asList(1), subscriber.items);
+        assertTrue(subscriber.error instanceof NullPointerException);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void iterationFailureSignalsError() {
+        final RuntimeException failure = new RuntimeException("source failed");
+        Iterable<Integer> source = new Iterable<Integer>() {
+            public Iterator<Integer> iterator() {
+                return new NoRemoveIterator<Integer>() {
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    public Integer next() {
+                        throw failure;
+                    }
+                };
+            }
+        };
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(1);
+        Itq.from(source).toPublisher(SYNC).subscribe(subscriber);
+        assertEquals(failure, subscriber.error);
+    }
+
+    @Test
+    public void cancelStopsPulling() {
+        CountingIterable source = new CountingIterable(100);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(10) {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (items.size() == 2)
+                    subscription.cancel();
+            }
+        };
+        Itq.from(source).toPublisher(SYNC).subscribe(subscriber);
+        assertEquals(2, subscriber.items.size());
+        assertEquals(2, source.pulled);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void cancelClosesTheIterator() {
+        CloseableIterable source = new CloseableIterable(100, -1);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(10) {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (items.size() == 2)
+                    subscription.cancel();
+            }
+        };
+        Itq.from(source).toPublisher(SYNC).subscribe(subscriber);
+        assertEquals(2, subscriber.items.size());
+        assertEquals(0, source.open());
+    }
+
+    @Test
+    public void cancelBetweenRequestsClosesTheIterator() {
+        CloseableIterable source = new CloseableIterable(100, -1);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(3);
+        Itq.from(source).toPublisher(SYNC).subscribe(subscriber);
+        assertEquals(1, source.open());
+        subscriber.subscription.cancel();
+        assertEquals(0, source.open());
+        subscriber.subscription.request(5);
+        assertEquals(3, subscriber.items.size());
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void failureAndCompletionCloseTheIterator() {
+        CloseableIterable failing = new CloseableIterable(100, 2);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(10);
+        Itq.from(failing).toPublisher(SYNC).subscribe(subscriber);
+        assertTrue(subscriber.error instanceof IllegalStateException);
+        assertEquals(0, failing.open());
+
+        CloseableIterable complete = new CloseableIterable(3, -1);
+        subscriber = new RecordingSubscriber<Integer>(10);
+        Itq.from(complete).toPublisher(SYNC).subscribe(subscriber);
+        assertTrue(subscriber.completed);
+        assertEquals(0, complete.open());
+    }
+
+    @Test
+    public void roundTripOnThreads() {
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++)
+            values.add(i);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertEquals(values, Itq.from(Itq.from(values).toPublisher(executor), 16).toList());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    // from(Publisher)
+
+    @Test
+    public void requestsInBatches() {
+        RangePublisher publisher = new RangePublisher(20, false);
+        assertEquals(20, Itq.from(publisher, 4).toList().size());
+        assertEquals(Long.valueOf(4), publisher.requests.get(0));
+        for (Long request : publisher.requests.subList(1, publisher.requests.size()))
+            assertEquals(Long.valueOf(3), request);
+        assertTrue(publisher.maxOutstanding <= 4);
+    }
+
+    @Test
+    public void closeCancelsSubscription() throws IOException {
+        RangePublisher publisher = new RangePublisher(100, false);
+        Iterator<Integer> iterator = Itq.from(publisher, 4).iterator();
+        assertEquals(Integer.valueOf(0), iterator.next());
+        ((Closeable)iterator).close();
+        assertTrue(publisher.cancelled);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void closeBeforeUseDoesNotSubscribe() throws IOException {
+        RangePublisher publisher = new RangePublisher(100, false);
+        Iterator<Integer> iterator = Itq.from(publisher, 4).iterator();
+        ((Closeable)iterator).close();
+        assertFalse(iterator.hasNext());
+        assertTrue(publisher.requests.isEmpty());
+    }
+
+    @Test
+    public void publisherIgnoringDemandFails() {
+        RangePublisher publisher = new RangePublisher(10, true);
+        Iterator<Integer> iterator = Itq.from(publisher, 4).iterator();
+        // The elements within the demand are still delivered
+        for (int i = 0; i < 4; i++)
+            assertEquals(Integer.valueOf(i), iterator.next());
+        try {
+            iterator.hasNext();
+            fail("Expected the overflow to fail the iteration");
+        }
+        catch (IllegalStateException e) {
+            // expected
+        }
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    public void publisherErrorIsRethrown() {
+        final IllegalStateException failure = new IllegalStateException("publisher failed");
+        Flow.Publisher<Integer> publisher = new Flow.Publisher<Integer>() {
+            public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+                subscriber.onSubscribe(new NoOpSubscription());
+                subscriber.onNext(1);
+                subscriber.onError(failure);
+            }
+        };
+        Iterator<Integer> iterator = Itq.from(publisher, 4).iterator();
+        assertEquals(Integer.valueOf(1), iterator.next());
+        try {
+            iterator.hasNext();
+            fail("Expected the publisher's error");
+        }
+        catch (IllegalStateException e) {
+            assertEquals(failure, e);
+        }
+    }
+
+    @Test
+    public void largePrefetch() {
+        assertEquals(Arrays.asList(0, 1, 2), Itq.from(new RangePublisher(3, false), Integer.MAX_VALUE).toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositivePrefetch() {
+        Itq.from(new RangePublisher(3, false), 0);
+    }
+
+    /**
+     * Yields 0 up to a count and counts the elements pulled from its iterators.
+     */
+    private static final class CountingIterable implements Iterable<Integer> {
+
+        private final int count;
+        int pulled;
+
+        CountingIterable(int count) {
+            this.count = count;
+        }
+
+        public Iterator<Integer> iterator() {
+            return new NoRemoveIterator<Integer>() {
+
+                private int next;
+
+                public boolean hasNext() {
+                    return next < count;
+                }
+
+                public Integer next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    pulled++;
+                    return next++;
+                }
+            };
+        }
+    }
+
+    /**
+     * Yields 0 up to a count, optionally failing at a position, from iterators that are
+     * {@link Closeable}, and counts how many were opened and closed.
+     */
+    private static final class CloseableIterable implements Iterable<Integer> {
+
+        private final int count;
+        private final int failAt;
+        private int opened;
+        private int closed;
+
+        CloseableIterable(int count, int failAt) {
+            this.count = count;
+            this.failAt = failAt;
+        }
+
+        public Iterator<Integer> iterator() {
+            opened++;
+            return new CloseableIterator();
+        }
+
+        /**
+         * @return The amount of iterators that were not closed.
+         */
+        int open() {
+            return opened - closed;
+        }
+
+        private final class CloseableIterator extends NoRemoveIterator<Integer> implements Closeable {
+
+            private int next;
+
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            public Integer next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                if (next == failAt)
+                    throw new IllegalStateException("source failed");
+                return next++;
+            }
+
+            public void close() {
+                closed++;
+            }
+        }
+    }
+
+    /**
+     * Records the signals and makes an initial request.
+     */
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final long initialRequest;
+        final List<T> items = new ArrayList<T>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * Publishes 0 up to a count on the thread that requests them and records the requests. A
+     * rogue instance ignores the demand and publishes everything on the first request.
+     */
+    private static final class RangePublisher implements Flow.Publisher<Integer> {
+
+        private final int count;
+        private final boolean rogue;
+        final List<Long> requests = new ArrayList<Long>();
+        boolean cancelled;
+        long maxOutstanding;
+
+        RangePublisher(int count, boolean rogue) {
+            this.count = count;
+            this.rogue = rogue;
+        }
+
+        public void subscribe(final Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                private long demand;
+                private int next;
+                private boolean emitting;
+                private boolean completed;
+
+                public void request(long n) {
+                    requests.add(n);
+                    demand += n;
+                    maxOutstanding = Math.max(maxOutstanding, demand);
+                    if (emitting)
+                        return;
+                    emitting = true;
+                    while ((rogue || demand > 0) && next < count && !cancelled) {
+                        demand--;
+                        subscriber.onNext(next++);
+                    }
+                    if (next == count && !completed && !cancelled) {
+                        completed = true;
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    private static final class NoOpSubscription implements Flow.Subscription {
+
+        public void request(long n) {
+        }
+
+        public void cancel() {
+        }
+    }
+
+}
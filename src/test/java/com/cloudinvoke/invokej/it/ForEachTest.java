@@ -0,0 +1,54 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.constructs.Operation;
+
+/**
+ * Tests that {@link IterableExt#forEach(Operation)} and {@link Iterable#forEach(Consumer)} can
+ * both be called.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class ForEachTest {
+
+    @Test
+    public void lambdaResolvesToOperation() {
+        List<Integer> result = new ArrayList<Integer>();
+        Itq.from(Arrays.asList(1, 2, 3)).forEach(x -> result.add(x));
+        assertEquals(Arrays.asList(1, 2, 3), result);
+    }
+
+    @Test
+    public void consumer() {
+        final List<Integer> result = new ArrayList<Integer>();
+        Consumer<Integer> consumer = new Consumer<Integer>() {
+            public void accept(Integer x) {
+                result.add(x);
+            }
+        };
+        Itq.from(Arrays.asList(1, 2, 3)).forEach(consumer);
+        assertEquals(Arrays.asList(1, 2, 3), result);
+    }
+
+    @Test
+    public void operationIsConsumer() {
+        final List<Integer> result = new ArrayList<Integer>();
+        Operation<Integer> operation = new Operation<Integer>() {
+            public void perform(Integer x) {
+                result.add(x);
+            }
+        };
+        Arrays.asList(1, 2).forEach(operation);
+        assertEquals(Arrays.asList(1, 2), result);
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.ArgumentNullException;
+import com.cloudinvoke.invokej.constructs.BiTransform;
+import com.cloudinvoke.invokej.constructs.Factory;
+import com.cloudinvoke.invokej.constructs.ToDoubleTransform;
+import com.cloudinvoke.invokej.constructs.ToLongTransform;
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * Tests the aggregations of {@link IterableExt#groupBy(Transform)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class GroupingTest {
+
+    private static final List<String> WORDS = Arrays.asList("apple", "bob", "avocado", "banana", "cat", "ax", null);
+
+    /** Groups by first character, with null and empty strings in the null group */
+    private static final Transform<String, Character> FIRST_CHAR = new Transform<String, Character>() {
+        public Character transform(String input) {
+            return input == null || input.isEmpty() ? null : input.charAt(0);
+        }
+    };
+
+    private static final ToLongTransform<String> LENGTH = new ToLongTransform<String>() {
+        public long transform(String input) {
+            return input == null ? 0 : input.length();
+        }
+    };
+
+    /** Orders by length only, so that words of equal length tie */
+    private static final Comparator<String> BY_LENGTH = new Comparator<String>() {
+        public int compare(String a, String b) {
+            return Integer.compare(a == null ? 0 : a.length(), b == null ? 0 : b.length());
+        }
+    };
+
+    private static Grouping<Character, String> grouping() {
+        return Itq.from(WORDS).groupBy(FIRST_CHAR);
+    }
+
+    @Test
+    public void toMapKeepsEncounterOrder() {
+        Map<Character, List<String>> expected = new HashMap<Character, List<String>>();
+        expected.put('a', Arrays.asList("apple", "avocado", "ax"));
+        expected.put('b', Arrays.asList("bob", "banana"));
+        expected.put('c', Arrays.asList("cat"));
+        expected.put(null, Arrays.asList((String)null));
+        assertEquals(expected, grouping().toMap());
+    }
+
+    @Test
+    public void countAndSums() {
+        Map<Character, Integer> counts = grouping().count();
+        assertEquals(Integer.valueOf(3), counts.get('a'));
+        assertEquals(Integer.valueOf(2), counts.get('b'));
+        assertEquals(Integer.valueOf(1), counts.get(null));
+        assertEquals(4, counts.size());
+
+        Map<Character, Long> lengths = grouping().sumLong(LENGTH);
+        assertEquals(Long.valueOf(14), lengths.get('a'));
+        assertEquals(Long.valueOf(9), lengths.get('b'));
+        assertEquals(Long.valueOf(0), lengths.get(null));
+
+        Map<Character, Double> halves = grouping().sumDouble(new ToDoubleTransform<String>() {
+            public double transform(String input) {
+                return LENGTH.transform(input) / 2.0;
+            }
+        });
+        assertEquals(7.0, halves.get('a'), 0);
+        assertEquals(1.5, halves.get('c'), 0);
+    }
+
+    @Test
+    public void minAndMaxKeepTheFirstOfEqualMembers() {
+        List<String> words = Arrays.asList("bob", "bee", "banana", "bonobo", "be");
+        Grouping<Character, String> grouping = Itq.from(words).groupBy(FIRST_CHAR);
+        assertSame(words.get(4), grouping.min(BY_LENGTH).get('b'));
+        assertSame(words.get(2), grouping.max(BY_LENGTH).get('b'));
+        // Ties between "bob" and "bee" keep "bob"
+        assertSame(words.get(0), Itq.from(words.subList(0, 2)).groupBy(FIRST_CHAR).max(BY_LENGTH).get('b'));
+        assertSame(words.get(0), Itq.from(words.subList(0, 2)).groupBy(FIRST_CHAR).min(BY_LENGTH).get('b'));
+    }
+
+    @Test
+    public void foldCreatesAnAccumulatorPerKey() {
+        final int[] created = new int[1];
+        Map<Character, StringBuilder> joined = grouping().fold(new Factory<StringBuilder>() {
+            public StringBuilder createInstance() {
+                created[0]++;
+                return new StringBuilder();
+            }
+        }, new BiTransform<StringBuilder, String, StringBuilder>() {
+            public StringBuilder transform(StringBuilder accumulated, String word) {
+                return accumulated.append(accumulated.length() == 0 ? "" : ",").append(word);
+            }
+        });
+        assertEquals(4, created[0]);
+        assertEquals("apple,avocado,ax", joined.get('a').toString());
+        assertEquals("null", joined.get(null).toString());
+
+        // A folder may return a new value instead of mutating
+        Map<Character, Integer> longest = grouping().fold(new Factory<Integer>() {
+            public Integer createInstance() {
+                return 0;
+            }
+        }, new BiTransform<Integer, String, Integer>() {
+            public Integer transform(Integer accumulated, String word) {
+                return Math.max(accumulated, (int)LENGTH.transform(word));
+            }
+        });
+        assertEquals(Integer.valueOf(7), longest.get('a'));
+    }
+
+    @Test
+    public void emptySourceGivesEmptyMaps() {
+        Grouping<Character, String> empty = Itq.from(Collections.<String>emptyList()).groupBy(FIRST_CHAR);
+        assertTrue(empty.toMap().isEmpty());
+        assertTrue(empty.count().isEmpty());
+        assertTrue(empty.sumLong(LENGTH).isEmpty());
+        assertTrue(empty.max(BY_LENGTH).isEmpty());
+    }
+
+    @Test
+    public void everyCallIteratesAgain() {
+        List<String> words = new ArrayList<String>(Arrays.asList("a", "b"));
+        Grouping<Character, String> grouping = Itq.from(words).groupBy(FIRST_CHAR);
+        assertEquals(2, grouping.count().size());
+        words.add("c");
+        assertEquals(3, grouping.count().size());
+    }
+
+    @Test
+    public void nullArgumentsAreRejectedUpFront() {
+        // Even without elements, so the check does not depend on the data
+        Grouping<Character, String> empty = Itq.from(Collections.<String>emptyList()).groupBy(FIRST_CHAR);
+        Factory<Integer> zero = new Factory<Integer>() {
+            public Integer createInstance() {
+                return 0;
+            }
+        };
+        BiTransform<Integer, String, Integer> count = new BiTransform<Integer, String, Integer>() {
+            public Integer transform(Integer accumulated, String word) {
+                return accumulated + 1;
+            }
+        };
+        assertRejected("value", () -> empty.sumLong(null));
+        assertRejected("value", () -> empty.sumDouble(null));
+        assertRejected("comparator", () -> empty.min(null));
+        assertRejected("comparator", () -> empty.max(null));
+        assertRejected("initial", () -> empty.fold(null, count));
+        assertRejected("folder", () -> empty.fold(zero, null));
+        assertRejected("keyProducer", () -> Itq.from(WORDS).groupBy(null));
+    }
+
+    private static void assertRejected(String argument, Runnable call) {
+        try {
+            call.run();
+            fail("Expected " + argument + " to be rejected");
+        }
+        catch (ArgumentNullException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(argument));
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * Tests the views and copies of {@link IterableExt#inGroupsOf(int)} and
+ * {@link IterableExt#inGroupsOf(int, boolean)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class GroupsTest {
+
+    private static final Transform<Integer, Integer> DOUBLE = new Transform<Integer, Integer>() {
+        public Integer transform(Integer input) {
+            return input * 2;
+        }
+    };
+
+    // Views
+
+    @Test
+    public void randomAccessSourceIsGroupedIntoViews() {
+        List<Integer> values = values(7);
+        List<List<Integer>> groups = Itq.toList(Itq.from(values).inGroupsOf(3));
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Arrays.asList(6)), groups);
+        for (List<Integer> group : groups)
+            assertTrue(group instanceof ListRange<?>);
+        // A view reads the source, it does not copy it
+        values.set(4, 40);
+        assertEquals(Arrays.asList(3, 40, 5), groups.get(1));
+    }
+
+    @Test
+    public void arraySourceIsGroupedIntoViews() {
+        Integer[] values = { 0, 1, 2, 3, 4 };
+        List<List<Integer>> groups = Itq.toList(Itq.from(values).inGroupsOf(2));
+        assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(2, 3), Arrays.asList(4)), groups);
+        values[0] = 10;
+        assertEquals(Integer.valueOf(10), groups.get(0).get(0));
+    }
+
+    @Test
+    public void viewsAreReadOnly() {
+        List<Integer> group = Itq.from(values(4)).inGroupsOf(2).iterator().next();
+        try {
+            group.set(0, 1);
+            fail("Expected a read-only view");
+        }
+        catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            group.add(1);
+            fail("Expected a read-only view");
+        }
+        catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void viewsFollowTheSizeOfTheSource() {
+        List<Integer> values = values(4);
+        Iterable<List<Integer>> groups = Itq.from(values).inGroupsOf(3);
+        // The grouping is lazy, so the source may still change before it is iterated
+        values.add(4);
+        values.add(5);
+        values.add(6);
+        assertEquals(3, Itq.count(groups));
+        Iterator<List<Integer>> iterator = groups.iterator();
+        iterator.next();
+        List<Integer> second = iterator.next();
+        values.remove(6);
+        values.remove(5);
+        assertEquals(Arrays.asList(3, 4), second);
+        assertFalse(iterator.hasNext());
+    }
+
+    // Copies
+
+    @Test
+    public void stagesGroupTheResultantElements() {
+        List<List<Integer>> groups = Itq.toList(Itq.from(values(5)).select(DOUBLE).inGroupsOf(2));
+        assertEquals(Arrays.asList(Arrays.asList(0, 2), Arrays.asList(4, 6), Arrays.asList(8)), groups);
+        for (List<Integer> group : groups)
+            assertTrue(group instanceof ArrayList<?>);
+    }
+
+    @Test
+    public void streamedSourceIsCopiedIntoNewLists() {
+        List<Integer> values = new LinkedList<Integer>(values(5));
+        List<List<Integer>> groups = Itq.toList(Itq.from(values).inGroupsOf(2));
+        assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(2, 3), Arrays.asList(4)), groups);
+        assertNotSame(groups.get(0), groups.get(1));
+        values.set(0, 10);
+        assertEquals(Integer.valueOf(0), groups.get(0).get(0));
+    }
+
+    @Test
+    public void reusedBufferIsRefilledForEveryGroup() {
+        Iterator<List<Integer>> groups = Itq.from(new LinkedList<Integer>(values(5))).inGroupsOf(2, true).iterator();
+        List<Integer> first = groups.next();
+        assertEquals(Arrays.asList(0, 1), first);
+        List<Integer> second = groups.next();
+        assertSame(first, second);
+        assertEquals(Arrays.asList(2, 3), second);
+        assertEquals(Arrays.asList(4), groups.next());
+        assertFalse(groups.hasNext());
+        // Every iterator has its own buffer
+        Iterable<List<Integer>> reused = Itq.from(new LinkedList<Integer>(values(4))).inGroupsOf(2, true);
+        assertNotSame(reused.iterator().next(), reused.iterator().next());
+    }
+
+    @Test
+    public void reuseDoesNotApplyToViews() {
+        List<List<Integer>> groups = Itq.toList(Itq.from(values(4)).inGroupsOf(2, true));
+        assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(2, 3)), groups);
+    }
+
+    @Test
+    public void plainIterableIsGrouped() {
+        final List<Integer> values = values(5);
+        Iterable<Integer> plain = new Iterable<Integer>() {
+            public Iterator<Integer> iterator() {
+                return values.iterator();
+            }
+        };
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4)), Itq.toList(Itq.inGroupsOf(plain, 3)));
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4)), Itq.toList(Itq.inGroupsOf(values, 3)));
+    }
+
+    // Size and arguments
+
+    @Test
+    public void amountOfGroupsIsKnownForASizedSource() {
+        assertEquals(3, Itq.exactSize(Itq.from(values(7)).inGroupsOf(3)));
+        assertEquals(2, Itq.exactSize(Itq.from(values(6)).inGroupsOf(3)));
+        assertEquals(0, Itq.exactSize(Itq.from(values(0)).inGroupsOf(3)));
+        assertEquals(1, Itq.exactSize(Itq.from(values(6)).inGroupsOf(Integer.MAX_VALUE)));
+        assertEquals(-1, Itq.exactSize(Itq.from(values(6).iterator()).inGroupsOf(3)));
+        assertFalse(Itq.from(values(0)).inGroupsOf(3).iterator().hasNext());
+    }
+
+    @Test
+    public void groupsAreReIterable() {
+        Iterable<List<Integer>> groups = Itq.from(new LinkedList<Integer>(values(3))).inGroupsOf(2);
+        assertEquals(Itq.toList(groups), Itq.toList(groups));
+    }
+
+    @Test
+    public void countMustBePositive() {
+        for (int count : new int[] { 0, -1 }) {
+            try {
+                Itq.from(values(3)).inGroupsOf(count);
+                fail("Expected count " + count + " to be rejected");
+            }
+            catch (IllegalArgumentException e) {
+                // expected
+            }
+            try {
+                Itq.inGroupsOf(new LinkedList<Integer>(values(3)), count, true);
+                fail("Expected count " + count + " to be rejected");
+            }
+            catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    private static List<Integer> values(int count) {
+        List<Integer> values = new ArrayList<Integer>(count);
+        for (int i = 0; i < count; i++)
+            values.add(i);
+        return values;
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * Tests the {@link Index} of {@link IterableExt#toIndex(Transform)} and
+ * {@link IterableExt#toMultiIndex(Transform)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class IndexTest {
+
+    private static final Transform<String, Integer> LENGTH = new Transform<String, Integer>() {
+        public Integer transform(String input) {
+            return input == null ? null : input.length();
+        }
+    };
+
+    private static final Transform<String, Key> COLLIDING = new Transform<String, Key>() {
+        public Key transform(String input) {
+            return new Key(input);
+        }
+    };
+
+    // Unique index
+
+    @Test
+    public void uniqueLookups() {
+        Index<Integer, String> index = Itq.from(Arrays.asList("a", "bb", "ccc")).toIndex(LENGTH);
+        assertTrue(index.isUnique());
+        assertEquals(3, index.size());
+        assertEquals(3, index.keyCount());
+        assertEquals("bb", index.get(2));
+        assertTrue(index.containsKey(3));
+        assertFalse(index.containsKey(4));
+        assertNull(index.get(4));
+        assertEquals(Arrays.asList(1, 2, 3), index.keys());
+    }
+
+    @Test
+    public void duplicateKeyFailsUniqueIndex() {
+        try {
+            Itq.from(Arrays.asList("a", "bb", "cc")).toIndex(LENGTH);
+            fail("Expected the duplicate key to be rejected");
+        }
+        catch (IllegalStateException e) {
+            assertEquals("Duplicate key: 2", e.getMessage());
+        }
+    }
+
+    @Test
+    public void emptyIndex() {
+        Index<Integer, String> index = Itq.from(Collections.<String>emptyList()).toIndex(LENGTH);
+        assertEquals(0, index.size());
+        assertEquals(0, index.keyCount());
+        assertNull(index.get(1));
+        assertTrue(index.getAll(1).isEmpty());
+        assertTrue(index.keys().isEmpty());
+    }
+
+    // Keys
+
+    @Test
+    public void equalHashCodesAreToldApart() {
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 100; i++)
+            values.add("v" + i);
+        Index<Key, String> index = Itq.from(values).toIndex(COLLIDING);
+        for (String value : values)
+            assertEquals(value, index.get(new Key(value)));
+        assertFalse(index.containsKey(new Key("v100")));
+
+        Index<Key, String> multi = Itq.from(Arrays.asList("x", "y", "x")).toMultiIndex(COLLIDING);
+        assertEquals(Arrays.asList("x", "x"), multi.getAll(new Key("x")));
+        assertEquals(Arrays.asList("y"), multi.getAll(new Key("y")));
+    }
+
+    @Test
+    public void nullKey() {
+        Index<Integer, String> index = Itq.from(Arrays.asList("a", null, "bb")).toIndex(LENGTH);
+        assertTrue(index.containsKey(null));
+        assertNull(index.get(null));
+        assertEquals(Arrays.asList((String)null), index.getAll(null));
+        assertEquals(Arrays.asList(1, null, 2), index.keys());
+
+        Index<Integer, String> multi = Itq.from(Arrays.asList(null, "a", null)).toMultiIndex(LENGTH);
+        assertEquals(Arrays.asList(null, null), multi.getAll(null));
+        assertFalse(Itq.from(Arrays.asList("a")).toIndex(LENGTH).containsKey(null));
+    }
+
+    // Multi index
+
+    @Test
+    public void multiIndexKeepsEncounterOrder() {
+        List<String> values = Arrays.asList("b1", "a", "b2", "ccc", "b3", "c", "ddd");
+        Index<Integer, String> index = Itq.from(values).toMultiIndex(LENGTH);
+        assertFalse(index.isUnique());
+        assertEquals(7, index.size());
+        assertEquals(3, index.keyCount());
+        assertEquals(Arrays.asList(2, 1, 3), index.keys());
+        assertEquals(Arrays.asList("b1", "b2", "b3"), index.getAll(2));
+        assertEquals(Arrays.asList("a", "c"), index.getAll(1));
+        assertEquals(Arrays.asList("ccc", "ddd"), index.getAll(3));
+        assertEquals("b1", index.get(2));
+        assertTrue(index.getAll(4).isEmpty());
+    }
+
+    @Test
+    public void repeatedKeysShrinkTheTable() {
+        // Far fewer keys than elements, so the table is rebuilt for the distinct keys
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++)
+            values.add(i);
+        Index<Integer, Integer> index = Itq.from(values).toMultiIndex(new Transform<Integer, Integer>() {
+            public Integer transform(Integer input) {
+                return input % 7;
+            }
+        });
+        assertEquals(10000, index.size());
+        assertEquals(7, index.keyCount());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), index.keys());
+        for (int k = 0; k < 7; k++) {
+            List<Integer> group = index.getAll(k);
+            assertEquals(k < 4 ? 1429 : 1428, group.size());
+            for (int i = 0; i < group.size(); i++)
+                assertEquals(Integer.valueOf(k + 7 * i), group.get(i));
+        }
+        assertFalse(index.containsKey(7));
+    }
+
+    // getAll views
+
+    @Test
+    public void getAllViewsAreUnmodifiable() {
+        Index<Integer, String> unique = Itq.from(Arrays.asList("a", "bb")).toIndex(LENGTH);
+        Index<Integer, String> multi = Itq.from(Arrays.asList("a", "bb", "cc")).toMultiIndex(LENGTH);
+        assertEquals(Arrays.asList("bb"), unique.getAll(2));
+        assertEquals(Arrays.asList("bb", "cc"), multi.getAll(2));
+        for (List<String> view : Arrays.asList(unique.getAll(2), multi.getAll(2), unique.getAll(3))) {
+            try {
+                view.add("x");
+                fail("Expected an unmodifiable view");
+            }
+            catch (UnsupportedOperationException e) {
+                // expected
+            }
+        }
+        try {
+            multi.getAll(2).get(2);
+            fail("Expected the view to end at its group");
+        }
+        catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void staticsMatchTheInstanceMethods() {
+        List<String> values = Arrays.asList("a", "bb", "cc");
+        assertSame(values.get(1), Itq.toIndex(values.subList(0, 2), LENGTH).get(2));
+        assertEquals(Arrays.asList("bb", "cc"), Itq.toMultiIndex(values, LENGTH).getAll(2));
+    }
+
+    /**
+     * A key of which all instances have the same hash code.
+     */
+    private static final class Key {
+
+        private final String value;
+
+        Key(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key)obj).value.equals(value);
+        }
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.ArgumentNullException;
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * Tests the statistics that {@link IterableExt#instrumented(String)} publishes over JMX. Every
+ * test uses names of its own, as the MBeans stay registered for the lifetime of the JVM.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class InstrumentationTest {
+
+    private static final String DOMAIN = "com.cloudinvoke.invokej";
+
+    private static final Transform<Integer, Boolean> EVEN = new Even();
+
+    private static final Transform<Integer, Integer> DOUBLE = new Twice();
+
+    @Test
+    public void stagesCountTheirElements() throws Exception {
+        Itq.from(values(10)).instrumented("counts").where(EVEN).select(DOUBLE).toList();
+
+        PipelineStatsMXBean pipeline = pipeline("counts");
+        assertEquals("counts", pipeline.getName());
+        assertEquals(1, pipeline.getIterations());
+        assertArrayEquals(new String[] { "0 where " + Even.class.getName(), "1 select " + Twice.class.getName() },
+            pipeline.getStageNames());
+
+        StageStatsMXBean where = stage("counts", 0);
+        assertEquals("counts", where.getPipeline());
+        assertEquals(0, where.getIndex());
+        assertEquals("where", where.getKind());
+        assertEquals(Even.class.getName(), where.getTransform());
+        assertEquals(10, where.getElementsIn());
+        assertEquals(5, where.getElementsOut());
+        assertEquals(0.5, where.getSelectivity(), 0);
+
+        StageStatsMXBean select = stage("counts", 1);
+        assertEquals("select", select.getKind());
+        assertEquals(5, select.getElementsIn());
+        assertEquals(5, select.getElementsOut());
+        assertEquals(1, select.getSelectivity(), 0);
+    }
+
+    @Test
+    public void stagesBeforeInstrumentingAreIncluded() throws Exception {
+        // Instrumenting twice does not count the stage twice
+        IterableExt<Integer> pipeline = Itq.from(values(10)).where(EVEN).instrumented("before").instrumented("before");
+        pipeline.select(DOUBLE).toList();
+        assertEquals(10, stage("before", 0).getElementsIn());
+        assertEquals(5, stage("before", 1).getElementsIn());
+    }
+
+    @Test
+    public void pipelinesOfTheSameNameAddUp() throws Exception {
+        IterableExt<Integer> shared = Itq.from(values(10)).instrumented("shared").where(EVEN);
+        shared.toList();
+        shared.select(DOUBLE).toList();
+        Itq.from(values(4)).instrumented("shared").where(EVEN).toList();
+        assertEquals(3, pipeline("shared").getIterations());
+        assertEquals(24, stage("shared", 0).getElementsIn());
+        assertEquals(12, stage("shared", 0).getElementsOut());
+        assertEquals(5, stage("shared", 1).getElementsIn());
+    }
+
+    @Test
+    public void everyTraversalIsAnIteration() throws Exception {
+        IterableExt<Integer> pipeline = Itq.from(values(10)).instrumented("iterations").where(EVEN);
+        Iterator<Integer> iterator = pipeline.iterator();
+        assertEquals(1, pipeline("iterations").getIterations());
+        // Pulling elements counts them, not iterations
+        iterator.next();
+        iterator.next();
+        assertEquals(1, pipeline("iterations").getIterations());
+        assertEquals(3, stage("iterations", 0).getElementsIn());
+        pipeline.spliterator();
+        pipeline.size();
+        pipeline.first();
+        assertEquals(4, pipeline("iterations").getIterations());
+    }
+
+    @Test
+    public void parallelPipelinesCountEveryElement() throws Exception {
+        List<Integer> values = values(200000);
+        List<Integer> result = Itq.from(values).parallel().instrumented("parallel").where(EVEN).select(DOUBLE).toList();
+        assertEquals(100000, result.size());
+        assertEquals(200000, stage("parallel", 0).getElementsIn());
+        assertEquals(100000, stage("parallel", 0).getElementsOut());
+        assertEquals(100000, stage("parallel", 1).getElementsIn());
+    }
+
+    @Test
+    public void timeIsRecorded() throws Exception {
+        Itq.from(values(2)).instrumented("time").select(new Transform<Integer, Integer>() {
+            public Integer transform(Integer input) {
+                try {
+                    Thread.sleep(2);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return input;
+            }
+        }).toList();
+        StageStatsMXBean stage = stage("time", 0);
+        assertTrue(stage.getTransformNanos() >= 4000000);
+        assertEquals(stage.getTransformNanos() / 2.0, stage.getAverageNanos(), 0);
+    }
+
+    @Test
+    public void resetClearsAllCounters() throws Exception {
+        Itq.from(values(10)).instrumented("reset").where(EVEN).select(DOUBLE).toList();
+        pipeline("reset").reset();
+        assertEquals(0, pipeline("reset").getIterations());
+        for (int i = 0; i < 2; i++) {
+            StageStatsMXBean stage = stage("reset", i);
+            assertEquals(0, stage.getElementsIn());
+            assertEquals(0, stage.getElementsOut());
+            assertEquals(0, stage.getTransformNanos());
+            assertEquals(1, stage.getSelectivity(), 0);
+            assertEquals(0, stage.getAverageNanos(), 0);
+        }
+        // The stages are still known
+        assertEquals(2, pipeline("reset").getStageNames().length);
+    }
+
+    @Test
+    public void namesAreQuoted() throws Exception {
+        String name = "orders, \"daily\" = *";
+        Itq.from(values(4)).instrumented(name).where(EVEN).toList();
+        assertEquals(name, pipeline(name).getName());
+        assertEquals(4, stage(name, 0).getElementsIn());
+    }
+
+    @Test
+    public void resultIsUnchanged() {
+        assertEquals(Itq.from(values(100)).where(EVEN).select(DOUBLE).toList(),
+            Itq.from(values(100)).instrumented("unchanged").where(EVEN).select(DOUBLE).toList());
+    }
+
+    @Test(expected = ArgumentNullException.class)
+    public void nameIsRequired() {
+        Itq.from(values(1)).instrumented(null);
+    }
+
+    private static PipelineStatsMXBean pipeline(String name) throws MalformedObjectNameException {
+        ObjectName objectName = new ObjectName(DOMAIN + ":type=Pipeline,name=" + ObjectName.quote(name));
+        return JMX.newMXBeanProxy(server(objectName), objectName, PipelineStatsMXBean.class);
+    }
+
+    private static StageStatsMXBean stage(String pipeline, int index) throws MalformedObjectNameException {
+        ObjectName objectName = new ObjectName(DOMAIN + ":type=PipelineStage,pipeline=" + ObjectName.quote(pipeline)
+            + ",index=" + index);
+        return JMX.newMXBeanProxy(server(objectName), objectName, StageStatsMXBean.class);
+    }
+
+    /**
+     * @return The platform MBean server, once the MBean is registered with it.
+     */
+    private static MBeanServer server(ObjectName objectName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertTrue("Not registered: " + objectName, server.isRegistered(objectName));
+        return server;
+    }
+
+    private static List<Integer> values(int count) {
+        List<Integer> values = new ArrayList<Integer>(count);
+        for (int i = 0; i < count; i++)
+            values.add(i);
+        return values;
+    }
+
+    private static final class Even implements Transform<Integer, Boolean> {
+        public Boolean transform(Integer input) {
+            return input % 2 == 0;
+        }
+    }
+
+    private static final class Twice implements Transform<Integer, Integer> {
+        public Integer transform(Integer input) {
+            return input * 2;
+        }
+    }
+
+}
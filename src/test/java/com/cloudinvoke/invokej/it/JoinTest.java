@@ -0,0 +1,205 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.constructs.BiTransform;
+import com.cloudinvoke.invokej.constructs.Transform;
+import com.cloudinvoke.invokej.structs.Pair;
+
+/**
+ * Tests the hash join of {@link IterableExt#join(Iterable, Transform, Transform, BiTransform)}
+ * and the merge join of {@link IterableExt#mergeJoin(Iterable, Transform, Transform, BiTransform)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class JoinTest {
+
+    /** The key of a string is its first character, or null for an empty or null string */
+    private static final Transform<String, Character> FIRST_CHAR = new Transform<String, Character>() {
+        public Character transform(String input) {
+            return input == null || input.isEmpty() ? null : input.charAt(0);
+        }
+    };
+
+    private static final Transform<Integer, Integer> IDENTITY = new Transform<Integer, Integer>() {
+        public Integer transform(Integer input) {
+            return input;
+        }
+    };
+
+    private static final Transform<Integer, Integer> TENS = new Transform<Integer, Integer>() {
+        public Integer transform(Integer input) {
+            return input / 10;
+        }
+    };
+
+    private static final BiTransform<String, String, String> CONCAT = new BiTransform<String, String, String>() {
+        public String transform(String left, String right) {
+            return left + "+" + right;
+        }
+    };
+
+    private static final BiTransform<Integer, Integer, String> PAIR = new BiTransform<Integer, Integer, String>() {
+        public String transform(Integer left, Integer right) {
+            return left + "+" + right;
+        }
+    };
+
+    // Hash join
+
+    @Test
+    public void hashJoinDuplicatesOnBothSides() {
+        List<String> left = Arrays.asList("a1", "b1", "a2", "d1");
+        List<String> right = Arrays.asList("ax", "ay", "bz", "cw", "dv");
+        // The table is built from the smaller left side, so the results follow the right side
+        assertEquals(Arrays.asList("a1+ax", "a2+ax", "a1+ay", "a2+ay", "b1+bz", "d1+dv"),
+            Itq.from(left).join(right, FIRST_CHAR, FIRST_CHAR, CONCAT).toList());
+        // An unsized left side builds the table from the right side and follows the left side
+        assertEquals(Arrays.asList("a1+ax", "a1+ay", "b1+bz", "a2+ax", "a2+ay", "d1+dv"),
+            Itq.from(unsized(left)).join(right, FIRST_CHAR, FIRST_CHAR, CONCAT).toList());
+    }
+
+    @Test
+    public void hashJoinNeverMatchesNullKeys() {
+        List<String> left = Arrays.asList("", null, "a1");
+        List<String> right = Arrays.asList(null, "ax", "");
+        assertEquals(Arrays.asList("a1+ax"), Itq.from(left).join(right, FIRST_CHAR, FIRST_CHAR, CONCAT).toList());
+        assertEquals(Arrays.asList("a1+ax"), Itq.from(unsized(left)).join(right, FIRST_CHAR, FIRST_CHAR, CONCAT).toList());
+    }
+
+    @Test
+    public void hashJoinKeepsNullElementsWithKeys() {
+        Transform<String, Integer> constant = new Transform<String, Integer>() {
+            public Integer transform(String input) {
+                return 1;
+            }
+        };
+        List<Pair<String, String>> pairs =
+            Itq.from(unsized(Arrays.asList("x"))).join(Arrays.asList(null, "y"), constant, constant).toList();
+        assertEquals(Arrays.asList(new Pair<String, String>("x", null), new Pair<String, String>("x", "y")), pairs);
+    }
+
+    @Test
+    public void hashJoinMatchesNestedLoops() {
+        Random random = new Random(7);
+        for (int run = 0; run < 50; run++) {
+            List<Integer> left = randomValues(random, random.nextInt(40), false);
+            List<Integer> right = randomValues(random, random.nextInt(40), false);
+            List<String> expected = nestedLoops(left, right);
+            assertEquals(expected, Itq.from(unsized(left)).join(right, TENS, TENS, PAIR).toList());
+            // Built from either side the results are the same, in another order
+            assertEquals(sorted(expected), sorted(Itq.from(left).join(right, TENS, TENS, PAIR).toList()));
+        }
+    }
+
+    // Merge join
+
+    @Test
+    public void mergeJoinDuplicatesOnBothSides() {
+        List<Integer> left = Arrays.asList(10, 11, 20, 30, 31, 50);
+        List<Integer> right = Arrays.asList(12, 13, 30, 40, 50, 51);
+        assertEquals(Arrays.asList("10+12", "10+13", "11+12", "11+13", "30+30", "31+30", "50+50", "50+51"),
+            Itq.from(left).mergeJoin(right, TENS, TENS, PAIR).toList());
+    }
+
+    @Test
+    public void mergeJoinMatchesNestedLoops() {
+        Random random = new Random(11);
+        for (int run = 0; run < 50; run++) {
+            List<Integer> left = randomValues(random, random.nextInt(40), true);
+            List<Integer> right = randomValues(random, random.nextInt(40), true);
+            assertEquals(nestedLoops(left, right), Itq.from(left).mergeJoin(right, TENS, TENS, PAIR).toList());
+        }
+    }
+
+    @Test
+    public void mergeJoinRejectsUnsortedSides() {
+        assertFails("Left side is not sorted by key",
+            Itq.from(Arrays.asList(10, 30, 20)).mergeJoin(Arrays.asList(10, 20, 30), TENS, TENS, PAIR));
+        assertFails("Right side is not sorted by key",
+            Itq.from(Arrays.asList(10, 20, 30)).mergeJoin(Arrays.asList(10, 30, 20), TENS, TENS, PAIR));
+    }
+
+    @Test
+    public void mergeJoinRejectsNullKeys() {
+        Transform<Integer, Integer> nullForZero = new Transform<Integer, Integer>() {
+            public Integer transform(Integer input) {
+                return input == 0 ? null : input;
+            }
+        };
+        assertFails("Merge join keys cannot be null",
+            Itq.from(Arrays.asList(1, 0)).mergeJoin(Arrays.asList(1, 2), nullForZero, IDENTITY, PAIR));
+        assertFails("Merge join keys cannot be null",
+            Itq.from(Arrays.asList(1, 2)).mergeJoin(Arrays.asList(0, 1), IDENTITY, nullForZero, PAIR));
+    }
+
+    @Test
+    public void mergeJoinOfEmptySides() {
+        List<Integer> none = Collections.emptyList();
+        assertEquals(Collections.emptyList(), Itq.from(none).mergeJoin(Arrays.asList(1), IDENTITY, IDENTITY, PAIR).toList());
+        assertEquals(Collections.emptyList(), Itq.from(Arrays.asList(1)).mergeJoin(none, IDENTITY, IDENTITY, PAIR).toList());
+    }
+
+    private static void assertFails(String message, IterableExt<?> join) {
+        try {
+            join.toList();
+            fail("Expected: " + message);
+        }
+        catch (IllegalStateException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+
+    /**
+     * @return The combinations of the elements with equal {@link #TENS} keys, in the order of
+     *         the left side.
+     */
+    private static List<String> nestedLoops(List<Integer> left, List<Integer> right) {
+        List<String> result = new ArrayList<String>();
+        for (Integer l : left) {
+            for (Integer r : right) {
+                if (l / 10 == r / 10)
+                    result.add(l + "+" + r);
+            }
+        }
+        return result;
+    }
+
+    private static List<Integer> randomValues(Random random, int count, boolean sorted) {
+        List<Integer> values = new ArrayList<Integer>(count);
+        for (int i = 0; i < count; i++)
+            values.add(random.nextInt(100));
+        if (sorted)
+            Collections.sort(values);
+        return values;
+    }
+
+    private static List<String> sorted(List<String> values) {
+        List<String> copy = new ArrayList<String>(values);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    /**
+     * @return An iterable over the values that does not know its size.
+     */
+    private static <T> Iterable<T> unsized(final List<T> values) {
+        return new Iterable<T>() {
+            public Iterator<T> iterator() {
+                return values.iterator();
+            }
+        };
+    }
+
+}
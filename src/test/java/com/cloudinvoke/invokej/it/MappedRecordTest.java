@@ -0,0 +1,149 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the records that {@link MappedRecordIterable} reads from the mapped regions of a file,
+ * with regions small enough for records to cross them.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class MappedRecordTest {
+
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("invokej-records", ".txt");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void emptyFile() throws IOException {
+        assertEquals(Collections.emptyList(), lines("", StandardCharsets.UTF_8, 4));
+        assertFalse(Itq.fromLines(file, StandardCharsets.UTF_8).iterator().hasNext());
+    }
+
+    @Test
+    public void finalRecordWithoutDelimiter() throws IOException {
+        assertEquals(Arrays.asList("a", "", "bc"), lines("a\n\nbc", StandardCharsets.UTF_8, 64));
+        assertEquals(Arrays.asList("a", "", "bc"), lines("a\n\nbc\n", StandardCharsets.UTF_8, 64));
+        assertEquals(Arrays.asList(""), lines("\n", StandardCharsets.UTF_8, 64));
+    }
+
+    @Test
+    public void carriageReturnsAreStrippedFromLines() throws IOException {
+        assertEquals(Arrays.asList("a", "b\rc", "", "d"), lines("a\r\nb\rc\r\n\r\nd\r\n", StandardCharsets.UTF_8, 64));
+        // Records keep them
+        write("a\r;b\r", StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("a\r", "b\r"), read(new MappedRecordIterable(file, StandardCharsets.UTF_8, ';', false, 64)));
+    }
+
+    @Test
+    public void recordsCrossRegions() throws IOException {
+        // The second line is longer than a region, the CR LF of the third is split over two
+        String content = "abc\n" + "0123456789abcdefghij\n" + "xyz\r\n" + "end";
+        List<String> expected = Arrays.asList("abc", "0123456789abcdefghij", "xyz", "end");
+        for (int regionSize = 1; regionSize <= content.length() + 1; regionSize++)
+            assertEquals("region size " + regionSize, expected, lines(content, StandardCharsets.UTF_8, regionSize));
+    }
+
+    @Test
+    public void multiByteCharactersCrossRegions() throws IOException {
+        String content = "\u00e9t\u00e9\n\u20ac\u20ac\u20ac\ncaf\u00e9\n\ud83d\ude00\n";
+        List<String> expected = Arrays.asList("\u00e9t\u00e9", "\u20ac\u20ac\u20ac", "caf\u00e9", "\ud83d\ude00");
+        for (int regionSize = 1; regionSize <= 16; regionSize++)
+            assertEquals("region size " + regionSize, expected, lines(content, StandardCharsets.UTF_8, regionSize));
+    }
+
+    @Test
+    public void asciiFastPathMatchesDecoder() throws IOException {
+        // ASCII lines take the fast path, the others and all lines of windows-1252 the decoder
+        String content = "plain\nna\u00efve\n\n~!@#\r\nr\u00e9sum\u00e9\nlast";
+        List<String> expected = Arrays.asList("plain", "na\u00efve", "", "~!@#", "r\u00e9sum\u00e9", "last");
+        for (Charset charset : Arrays.asList(StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, WINDOWS_1252)) {
+            for (int regionSize : new int[] { 3, 7, 1 << 10 })
+                assertEquals(charset + ", region size " + regionSize, expected, lines(content, charset, regionSize));
+        }
+    }
+
+    @Test
+    public void malformedInputIsReplaced() throws IOException {
+        Files.write(file, new byte[] { 'a', (byte)0xff, 'b', '\n', 'c' });
+        assertEquals(Arrays.asList("a\ufffdb", "c"), read(new MappedRecordIterable(file, StandardCharsets.UTF_8, '\n', true, 2)));
+    }
+
+    @Test
+    public void randomContentMatchesSplit() throws IOException {
+        Random random = new Random(42);
+        char[] alphabet = { 'a', 'b', '\n', '\r', '\u00e9', '\u20ac' };
+        for (int run = 0; run < 200; run++) {
+            StringBuilder content = new StringBuilder();
+            for (int i = random.nextInt(60); i > 0; i--)
+                content.append(alphabet[random.nextInt(alphabet.length)]);
+            int regionSize = 1 + random.nextInt(12);
+            assertEquals(content + ", region size " + regionSize, split(content.toString()),
+                lines(content.toString(), StandardCharsets.UTF_8, regionSize));
+        }
+    }
+
+    /**
+     * @return The lines of a string as {@link Itq#fromLines(Path, java.nio.charset.Charset)}
+     *         defines them.
+     */
+    private static List<String> split(String content) {
+        List<String> lines = new ArrayList<String>();
+        int start = 0;
+        while (start < content.length()) {
+            int end = content.indexOf('\n', start);
+            int next = end < 0 ? content.length() : end + 1;
+            if (end < 0)
+                end = content.length();
+            if (end > start && content.charAt(end - 1) == '\r')
+                end--;
+            lines.add(content.substring(start, end));
+            start = next;
+        }
+        return lines;
+    }
+
+    private List<String> lines(String content, Charset charset, int regionSize) throws IOException {
+        write(content, charset);
+        return read(new MappedRecordIterable(file, charset, '\n', true, regionSize));
+    }
+
+    private void write(String content, Charset charset) throws IOException {
+        Files.write(file, content.getBytes(charset));
+    }
+
+    private static List<String> read(Iterable<CharSequence> records) {
+        List<String> result = new ArrayList<String>();
+        for (CharSequence record : records)
+            result.add(record.toString());
+        return result;
+    }
+
+}
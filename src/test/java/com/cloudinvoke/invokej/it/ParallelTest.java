@@ -0,0 +1,145 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.constructs.Operation;
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * Tests that the terminal operations of a {@link IterableExt#parallel() parallel}
+ * {@link IterableExt} give the results of the sequential ones, in encounter order.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class ParallelTest {
+
+    /** Enough elements to be split into many ranges */
+    private static final int SIZE = 200000;
+
+    private static final Transform<Integer, Boolean> NOT_DIVISIBLE_BY_THREE = new Transform<Integer, Boolean>() {
+        public Boolean transform(Integer input) {
+            return input % 3 != 0;
+        }
+    };
+
+    private static final Transform<Integer, Tie> TIE_BY_TENS = new Transform<Integer, Tie>() {
+        public Tie transform(Integer input) {
+            return new Tie(input % 1000 / 10, input);
+        }
+    };
+
+    @Test
+    public void collectedResultsMatchSequential() {
+        IterableExt<Tie> sequential = Itq.from(values()).where(NOT_DIVISIBLE_BY_THREE).select(TIE_BY_TENS);
+        IterableExt<Tie> parallel = Itq.from(values()).parallel().where(NOT_DIVISIBLE_BY_THREE).select(TIE_BY_TENS);
+        assertEquals(sequential.toList(), parallel.toList());
+        assertEquals(sequential.toStack(), parallel.toStack());
+        assertEquals(sequential.size(), parallel.size());
+        assertEquals(sequential.toList(), Itq.from(parallel.iterator()).toList());
+    }
+
+    @Test
+    public void toMapKeepsTheLastElementPerKey() {
+        Transform<Integer, Integer> key = new Transform<Integer, Integer>() {
+            public Integer transform(Integer input) {
+                return input % 100;
+            }
+        };
+        assertEquals(Itq.from(values()).toMap(key), Itq.from(values()).parallel().toMap(key));
+        assertEquals(Integer.valueOf(SIZE - 1), Itq.from(values()).parallel().toMap(key).get(99));
+    }
+
+    @Test
+    public void forEachRunsInEncounterOrderOnTheCallingThread() {
+        final Thread caller = Thread.currentThread();
+        final List<Integer> seen = new ArrayList<Integer>();
+        Itq.from(values()).parallel().where(NOT_DIVISIBLE_BY_THREE).forEach(new Operation<Integer>() {
+            public void perform(Integer value) {
+                assertSame(caller, Thread.currentThread());
+                seen.add(value);
+            }
+        });
+        assertEquals(Itq.from(values()).where(NOT_DIVISIBLE_BY_THREE).toList(), seen);
+    }
+
+    @Test
+    public void minAndMaxKeepTheFirstOfEqualElements() {
+        IterableExt<Tie> sequential = Itq.from(values()).select(TIE_BY_TENS);
+        IterableExt<Tie> parallel = Itq.from(values()).parallel().select(TIE_BY_TENS);
+        // Every rank occurs many times in every range; the first occurrence wins
+        Tie max = Itq.max(parallel);
+        Tie min = Itq.min(parallel);
+        assertEquals(99, max.rank);
+        assertEquals(990, max.id);
+        assertEquals(0, min.rank);
+        assertEquals(0, min.id);
+        assertEquals(Itq.max(sequential).id, max.id);
+        assertEquals(Itq.min(sequential).id, min.id);
+    }
+
+    @Test
+    public void minAndMaxOfNothing() {
+        Transform<Integer, Boolean> none = new Transform<Integer, Boolean>() {
+            public Boolean transform(Integer input) {
+                return false;
+            }
+        };
+        assertNull(Itq.max(Itq.from(values()).parallel().where(none)));
+        assertNull(Itq.min(Itq.from(Collections.<Integer>emptyList()).parallel()));
+    }
+
+    @Test
+    public void sequentialSourcesStaySequential() {
+        List<Integer> linked = new LinkedList<Integer>(values().subList(0, 100));
+        IterableExt<Integer> source = Itq.from(linked);
+        assertSame(source, source.parallel());
+        IterableExt<Integer> parallel = Itq.from(values()).parallel();
+        assertSame(parallel, parallel.parallel());
+    }
+
+    private static List<Integer> values() {
+        List<Integer> values = new ArrayList<Integer>(SIZE);
+        for (int i = 0; i < SIZE; i++)
+            values.add(i);
+        return values;
+    }
+
+    /**
+     * Compares by rank only, so that elements can be equal in order but told apart by id.
+     */
+    private static final class Tie implements Comparable<Tie> {
+
+        final int rank;
+        final int id;
+
+        Tie(int rank, int id) {
+            this.rank = rank;
+            this.id = id;
+        }
+
+        public int compareTo(Tie other) {
+            return Integer.compare(rank, other.rank);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Tie && ((Tie)obj).rank == rank && ((Tie)obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+
+}
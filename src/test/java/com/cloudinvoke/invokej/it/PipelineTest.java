@@ -0,0 +1,88 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.constructs.ToDoubleTransform;
+import com.cloudinvoke.invokej.constructs.ToIntTransform;
+import com.cloudinvoke.invokej.constructs.ToLongTransform;
+
+/**
+ * Tests the primitive pipelines of {@link IterableExt#selectInt(ToIntTransform)},
+ * {@link IterableExt#selectLong(ToLongTransform)} and
+ * {@link IterableExt#selectDouble(ToDoubleTransform)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class PipelineTest {
+
+    private static final ToIntTransform<CharSequence> LENGTH = new ToIntTransform<CharSequence>() {
+        public int transform(CharSequence input) {
+            return input.length();
+        }
+    };
+
+    // boxed
+
+    @Test
+    public void boxedDoesNotConsumeAStream() {
+        IterableExt<Integer> boxed = Itq.from(Stream.of("a", "bb", "ccc")).selectInt(new ToIntTransform<String>() {
+            public int transform(String input) {
+                return input.length();
+            }
+        }).boxed();
+        assertEquals(Arrays.asList(1, 2, 3), boxed.toList());
+    }
+
+    @Test
+    public void boxedDoesNotOpenTheFile() throws IOException {
+        Path dir = Files.createTempDirectory("invokej-pipeline");
+        Path file = dir.resolve("lines.txt");
+        try {
+            // The file does not exist before the result is iterated
+            IterableExt<Long> boxed = Itq.fromLines(file, StandardCharsets.UTF_8).selectLong(new ToLongTransform<CharSequence>() {
+                public long transform(CharSequence input) {
+                    return input.length();
+                }
+            }).boxed();
+            Files.write(file, Arrays.asList("a", "bb"), StandardCharsets.UTF_8);
+            assertEquals(Arrays.asList(1L, 2L), boxed.toList());
+            assertEquals(Arrays.asList(1, 2), Itq.fromLines(file, StandardCharsets.UTF_8).selectInt(LENGTH).boxed().toList());
+        }
+        finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void boxedDoesNotStartAPrefetch() {
+        final AtomicInteger started = new AtomicInteger();
+        Executor executor = new Executor() {
+            public void execute(Runnable command) {
+                started.incrementAndGet();
+                command.run();
+            }
+        };
+        IterableExt<Double> boxed = Itq.from(Arrays.asList(1, 2)).prefetch(4, executor).selectDouble(new ToDoubleTransform<Integer>() {
+            public double transform(Integer input) {
+                return input / 2.0;
+            }
+        }).boxed();
+        assertEquals(0, started.get());
+        assertEquals(Arrays.asList(0.5, 1.0), boxed.toList());
+        assertEquals(1, started.get());
+    }
+
+}
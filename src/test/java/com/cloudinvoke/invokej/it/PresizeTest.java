@@ -0,0 +1,131 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.constructs.ToIntTransform;
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * Tests that collecting a bounded but unsized pipeline does not presize from its bound.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class PresizeTest {
+
+    private static final Transform<Integer, Integer> IDENTITY = new Transform<Integer, Integer>() {
+        public Integer transform(Integer i) {
+            return i;
+        }
+    };
+
+    private static Iterator<Integer> unsized() {
+        return Arrays.asList(1, 2, 3).iterator();
+    }
+
+    @Test
+    public void skipOfUnsizedSourceHasNoBound() {
+        IterableExt<Integer> skipped = Itq.from(unsized()).skip(2);
+        assertEquals(-1, Itq.maxSize(skipped));
+        assertEquals(Arrays.asList(3), skipped.toList());
+    }
+
+    @Test
+    public void largeTakeOfUnsizedSource() {
+        assertEquals(Arrays.asList(1, 2, 3), Itq.from(unsized()).take(500000000).toList());
+    }
+
+    @Test
+    public void largeTakeOfSizedSourceIsBoundBySource() {
+        List<Integer> list = Arrays.asList(1, 2, 3);
+        assertEquals(3, Itq.maxSize(Itq.from(list).select(IDENTITY).take(Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void largeTimedGroups() {
+        Iterable<List<Integer>> groups =
+            Itq.from(unsized()).inGroupsOf(Integer.MAX_VALUE, 10, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3)), Itq.toList(groups));
+    }
+
+    @Test
+    public void largePrefetch() {
+        assertEquals(Arrays.asList(1, 2, 3), Itq.from(unsized()).prefetch(Integer.MAX_VALUE).toList());
+    }
+
+    @Test
+    public void largeWindowOfUnsizedSource() {
+        assertEquals(0, Itq.count(Itq.from(unsized()).windowed(Integer.MAX_VALUE, 1)));
+    }
+
+    @Test
+    public void windowRingGrowsToTheWindowSize() {
+        List<Integer> values = new LinkedList<Integer>();
+        for (int i = 0; i < 50; i++)
+            values.add(i);
+        List<Integer> firsts = new LinkedList<Integer>();
+        for (List<Integer> window : Itq.from(values).windowed(40, 3)) {
+            assertEquals(40, window.size());
+            assertEquals(Integer.valueOf(window.get(0) + 39), window.get(39));
+            firsts.add(window.get(0));
+        }
+        assertEquals(Arrays.asList(0, 3, 6, 9), firsts);
+    }
+
+    @Test
+    public void presizeCapsBounds() {
+        assertEquals(3, Itq.presize(Arrays.asList(1, 2, 3)));
+        assertEquals(-1, Itq.presize(Itq.from(unsized())));
+        Iterable<Integer> bounded = new BoundedIterable(Integer.MAX_VALUE);
+        assertEquals(Itq.MAX_PRESIZE, Itq.presize(bounded));
+    }
+
+    @Test
+    public void primitiveToArrayOfSkip() {
+        int[] values = Itq.from(unsized()).skip(1).selectInt(new ToIntTransform<Integer>() {
+            public int transform(Integer i) {
+                return i;
+            }
+        }).toArray();
+        assertArrayEquals(new int[] { 2, 3 }, values);
+    }
+
+    @Test
+    public void orderByOfSkip() {
+        assertEquals(Arrays.asList(2, 3), Itq.from(unsized()).skip(1).orderBy(IDENTITY).toList());
+    }
+
+    /**
+     * Yields nothing but reports a large upper bound.
+     */
+    private static final class BoundedIterable implements Iterable<Integer>, Sized {
+
+        private final int bound;
+
+        BoundedIterable(int bound) {
+            this.bound = bound;
+        }
+
+        public Iterator<Integer> iterator() {
+            return Itq.emptyIterator();
+        }
+
+        public int exactSize() {
+            return -1;
+        }
+
+        public int maxSize() {
+            return bound;
+        }
+    }
+
+}
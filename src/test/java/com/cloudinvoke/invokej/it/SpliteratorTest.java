@@ -0,0 +1,191 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import com.cloudinvoke.invokej.constructs.Transform;
+
+/**
+ * Tests the characteristics and splitting of {@link IterableExt#spliterator()} and the streams
+ * of {@link IterableExt#stream()}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class SpliteratorTest {
+
+    private static final Transform<Integer, Boolean> EVEN = new Transform<Integer, Boolean>() {
+        public Boolean transform(Integer input) {
+            return input % 2 == 0;
+        }
+    };
+
+    private static final Transform<Integer, Integer> DOUBLE = new Transform<Integer, Integer>() {
+        public Integer transform(Integer input) {
+            return input * 2;
+        }
+    };
+
+    // Characteristics
+
+    @Test
+    public void listSourceIsSized() {
+        Spliterator<Integer> s = Itq.from(values(10)).spliterator();
+        assertHas(s, Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED);
+        assertEquals(10, s.getExactSizeIfKnown());
+        // A select keeps the size
+        s = Itq.from(values(10)).select(DOUBLE).spliterator();
+        assertHas(s, Spliterator.SIZED | Spliterator.SUBSIZED);
+        assertEquals(10, s.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void whereDropsTheSize() {
+        Spliterator<Integer> s = Itq.from(values(10)).where(EVEN).spliterator();
+        assertLacks(s, Spliterator.SIZED | Spliterator.SUBSIZED);
+        assertHas(s, Spliterator.ORDERED);
+        assertEquals(-1, s.getExactSizeIfKnown());
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8), collect(s));
+    }
+
+    @Test
+    public void whereNotNullAddsNonNull() {
+        List<Integer> values = Arrays.asList(1, null, 3);
+        assertLacks(Itq.from(values).spliterator(), Spliterator.NONNULL);
+        Spliterator<Integer> s = Itq.from(values).whereNotNull().spliterator();
+        assertHas(s, Spliterator.NONNULL);
+        assertEquals(Arrays.asList(1, 3), collect(s));
+        // A later select may yield nulls again
+        assertLacks(Itq.from(values).whereNotNull().select(DOUBLE).spliterator(), Spliterator.NONNULL);
+    }
+
+    @Test
+    public void selectDropsOrderingOfTheElements() {
+        TreeSet<Integer> set = new TreeSet<Integer>(Comparator.<Integer>reverseOrder());
+        set.addAll(values(5));
+        Spliterator<Integer> s = Itq.from(set).where(EVEN).spliterator();
+        assertHas(s, Spliterator.SORTED | Spliterator.DISTINCT);
+        assertEquals(set.comparator(), s.getComparator());
+        s = Itq.from(set).select(DOUBLE).spliterator();
+        assertLacks(s, Spliterator.SORTED | Spliterator.DISTINCT);
+        assertHas(s, Spliterator.SIZED);
+    }
+
+    @Test
+    public void streamSourceKeepsItsSize() {
+        Spliterator<Integer> s = Itq.from(Stream.of(1, 2, 3)).spliterator();
+        assertEquals(3, s.getExactSizeIfKnown());
+    }
+
+    // Splitting
+
+    @Test
+    public void listSourceSplitsInHalves() {
+        Spliterator<Integer> suffix = Itq.from(values(100)).select(DOUBLE).spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(50, prefix.getExactSizeIfKnown());
+        assertEquals(50, suffix.getExactSizeIfKnown());
+        List<Integer> all = collect(prefix);
+        all.addAll(collect(suffix));
+        assertEquals(Itq.from(values(100)).select(DOUBLE).toList(), all);
+    }
+
+    @Test
+    public void filteredPiecesSplitTheSource() {
+        Spliterator<Integer> suffix = Itq.from(values(100)).where(EVEN).spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        List<Integer> first = collect(prefix);
+        assertEquals(25, first.size());
+        assertEquals(Integer.valueOf(48), first.get(24));
+        assertEquals(25, collect(suffix).size());
+    }
+
+    @Test
+    public void singleElementDoesNotSplit() {
+        assertNull(Itq.from(values(1)).spliterator().trySplit());
+    }
+
+    @Test
+    public void nodeListSourceSplits() throws ParserConfigurationException {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element root = document.createElement("root");
+        for (int i = 0; i < 8; i++) {
+            Element child = document.createElement("item");
+            child.setAttribute("n", String.valueOf(i));
+            root.appendChild(child);
+        }
+        Spliterator<Node> suffix = Itq.from(root.getChildNodes()).spliterator();
+        assertHas(suffix, Spliterator.SIZED | Spliterator.SUBSIZED);
+        Spliterator<Node> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(4, prefix.getExactSizeIfKnown());
+        assertEquals(4, suffix.getExactSizeIfKnown());
+        assertEquals("0", ((Element)collect(prefix).get(0)).getAttribute("n"));
+        assertEquals("4", ((Element)collect(suffix).get(0)).getAttribute("n"));
+
+        List<String> numbers = Itq.from(root.getChildNodes()).stream().parallel()
+            .map(node -> ((Element)node).getAttribute("n")).collect(Collectors.toList());
+        assertEquals(Arrays.asList("0", "1", "2", "3", "4", "5", "6", "7"), numbers);
+    }
+
+    // Streams
+
+    @Test
+    public void parallelStreams() {
+        assertTrue(Itq.from(values(10)).parallel().stream().isParallel());
+        assertFalse(Itq.from(values(10)).stream().isParallel());
+        assertTrue(Itq.from(Stream.of(1, 2).parallel()).stream().isParallel());
+        List<Integer> expected = Itq.from(values(100000)).where(EVEN).select(DOUBLE).toList();
+        assertEquals(expected, Itq.from(values(100000)).parallel().where(EVEN).select(DOUBLE).stream()
+            .collect(Collectors.toList()));
+    }
+
+    private static void assertHas(Spliterator<?> s, int characteristics) {
+        assertEquals(characteristics, s.characteristics() & characteristics);
+    }
+
+    private static void assertLacks(Spliterator<?> s, int characteristics) {
+        assertEquals(0, s.characteristics() & characteristics);
+    }
+
+    private static <T> List<T> collect(Spliterator<T> s) {
+        final List<T> result = new ArrayList<T>();
+        s.forEachRemaining(new Consumer<T>() {
+            public void accept(T t) {
+                result.add(t);
+            }
+        });
+        return result;
+    }
+
+    private static List<Integer> values(int count) {
+        List<Integer> values = new ArrayList<Integer>(count);
+        for (int i = 0; i < count; i++)
+            values.add(i);
+        return values;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link IterableExt#top(int, Comparator)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class TopTest {
+
+    private static final Comparator<Integer> NATURAL = new Comparator<Integer>() {
+        public int compare(Integer a, Integer b) {
+            return a.compareTo(b);
+        }
+    };
+
+    private static final List<Integer> VALUES = Arrays.asList(5, 1, 4, 2, 3);
+
+    @Test
+    public void greatestFirst() {
+        assertEquals(Arrays.asList(5, 4), Itq.from(VALUES).top(2, NATURAL).toList());
+    }
+
+    @Test
+    public void largeKOfSizedSource() {
+        assertEquals(Arrays.asList(5, 4, 3, 2, 1),
+            Itq.from(VALUES).top(Integer.MAX_VALUE, NATURAL).toList());
+    }
+
+    @Test
+    public void largeKOfUnsizedSource() {
+        IterableExt<Integer> top = Itq.from(VALUES.iterator()).top(Integer.MAX_VALUE, NATURAL);
+        assertEquals(-1, Itq.maxSize(top));
+        assertEquals(Arrays.asList(5, 4, 3, 2, 1), top.toList());
+    }
+
+}
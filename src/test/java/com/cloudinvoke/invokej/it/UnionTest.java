@@ -0,0 +1,250 @@
+package com.cloudinvoke.invokej.it;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.cloudinvoke.invokej.ArgumentNullException;
+
+/**
+ * Tests {@link Itq#union(Iterable, Iterable, Iterable...)} and
+ * {@link Itq#mergeSorted(Comparator, Iterable...)}.
+ *
+ * @author Hannes de Jager
+ * @since 17 Oct 2026
+ */
+public class UnionTest {
+
+    /** Orders strings by their first character only, so that strings can be equal in order */
+    private static final Comparator<String> BY_FIRST_CHAR = new Comparator<String>() {
+        public int compare(String a, String b) {
+            return Character.compare(a.charAt(0), b.charAt(0));
+        }
+    };
+
+    // Union
+
+    @Test
+    public void unionYieldsTheSourcesInSequence() {
+        List<Integer> none = Collections.emptyList();
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5),
+            Itq.union(Arrays.asList(1, 2), none, Arrays.asList(3), null, Arrays.asList(4, 5)).toList());
+        assertEquals(Arrays.asList(1, 2, 3), Itq.from(Arrays.asList(1)).union(Arrays.asList(2), Arrays.asList(3)).toList());
+        assertEquals(Collections.emptyList(), Itq.union(none, null).toList());
+    }
+
+    @Test
+    public void unionIsReIterable() {
+        List<Integer> first = new ArrayList<Integer>(Arrays.asList(1, 2));
+        IterableExt<Integer> union = Itq.union(first, new CountingIterable(2));
+        assertEquals(Arrays.asList(1, 2, 0, 1), union.toList());
+        // The sources are read again, so later changes show
+        first.add(3);
+        assertEquals(Arrays.asList(1, 2, 3, 0, 1), union.toList());
+    }
+
+    @Test
+    public void unionOpensTheSourcesLazily() {
+        CountingIterable second = new CountingIterable(3);
+        Iterator<Integer> union = Itq.union(Arrays.asList(1, 2), second).iterator();
+        assertEquals(Integer.valueOf(1), union.next());
+        assertEquals(Integer.valueOf(2), union.next());
+        assertEquals(0, second.iterators);
+        assertEquals(Integer.valueOf(0), union.next());
+        assertEquals(1, second.iterators);
+    }
+
+    @Test
+    public void unionSize() {
+        List<Integer> three = Arrays.asList(1, 2, 3);
+        assertEquals(5, Itq.union(three, Arrays.asList(4, 5), (List<Integer>)null).size());
+        assertEquals(5, Itq.exactSize(Itq.union(three, Arrays.asList(4, 5), (List<Integer>)null)));
+        assertEquals(-1, Itq.exactSize(Itq.union(three, new CountingIterable(2))));
+        assertEquals(-1, Itq.exactSize(Itq.union(new HugeList(), new HugeList())));
+    }
+
+    @Test
+    public void unionRemovesFromTheCurrentSource() {
+        List<Integer> first = new ArrayList<Integer>(Arrays.asList(1, 2));
+        List<Integer> second = new ArrayList<Integer>(Arrays.asList(3, 4));
+        Iterator<Integer> union = Itq.union(first, second).iterator();
+        union.next();
+        union.next();
+        union.next();
+        union.remove();
+        assertEquals(Arrays.asList(1, 2), first);
+        assertEquals(Arrays.asList(4), second);
+        try {
+            Itq.union(first, second).iterator().remove();
+            fail("Expected nothing to remove before next()");
+        }
+        catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    // Merge
+
+    @Test
+    public void mergeYieldsTheSortedElementsOfAllSources() {
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7),
+            Itq.mergeSorted(Comparator.<Integer>naturalOrder(), Arrays.asList(1, 4, 7), Arrays.asList(2, 5),
+                Arrays.asList(3, 6)).toList());
+        assertEquals(Arrays.asList(9, 5, 3, 1),
+            Itq.from(Arrays.asList(9, 3)).mergeSorted(Comparator.<Integer>reverseOrder(), Arrays.asList(5, 1)).toList());
+    }
+
+    @Test
+    public void mergeMatchesSortingTheConcatenation() {
+        Random random = new Random(5);
+        for (int run = 0; run < 100; run++) {
+            int k = random.nextInt(8);
+            @SuppressWarnings("unchecked")
+            List<Integer>[] sources = new List[k];
+            List<Integer> all = new ArrayList<Integer>();
+            for (int i = 0; i < k; i++) {
+                sources[i] = new ArrayList<Integer>();
+                for (int n = random.nextInt(30); n > 0; n--)
+                    sources[i].add(random.nextInt(50));
+                Collections.sort(sources[i]);
+                all.addAll(sources[i]);
+            }
+            Collections.sort(all);
+            assertEquals(all, Itq.mergeSorted(Comparator.<Integer>naturalOrder(), sources).toList());
+        }
+    }
+
+    @Test
+    public void mergeIsStable() {
+        List<String> first = Arrays.asList("a1", "b1", "b2", "c1");
+        List<String> second = Arrays.asList("a2", "b3", "d1");
+        List<String> third = Arrays.asList("b4", "c2");
+        assertEquals(Arrays.asList("a1", "a2", "b1", "b2", "b3", "b4", "c1", "c2", "d1"),
+            Itq.mergeSorted(BY_FIRST_CHAR, first, second, third).toList());
+        // Source order decides, not the order of exhaustion
+        assertEquals(Arrays.asList("b4", "b1", "b2", "c2", "c1"),
+            Itq.mergeSorted(BY_FIRST_CHAR, Arrays.asList("b4", "c2"), Arrays.asList("b1", "b2", "c1")).toList());
+    }
+
+    @Test
+    public void mergeSkipsNullAndEmptySources() {
+        List<Integer> none = Collections.emptyList();
+        assertEquals(Arrays.asList(1, 2),
+            Itq.mergeSorted(Comparator.<Integer>naturalOrder(), none, null, Arrays.asList(1, 2), none).toList());
+        assertEquals(Collections.emptyList(), Itq.mergeSorted(Comparator.<Integer>naturalOrder()).toList());
+        assertEquals(Collections.emptyList(),
+            Itq.mergeSorted(Comparator.<Integer>naturalOrder(), (Iterable<Integer>[])null).toList());
+    }
+
+    @Test
+    public void mergeReadsOneElementAheadPerSource() {
+        CountingIterable first = new CountingIterable(1000);
+        CountingIterable second = new CountingIterable(1000);
+        IterableExt<Integer> merged = Itq.mergeSorted(Comparator.<Integer>naturalOrder(), first, second);
+        assertEquals(0, first.iterators);
+        assertEquals(Arrays.asList(0, 0, 1, 1, 2), merged.take(5).toList());
+        assertEquals(4, first.pulled);
+        assertEquals(3, second.pulled);
+    }
+
+    @Test
+    public void mergeIsReIterable() {
+        IterableExt<Integer> merged =
+            Itq.mergeSorted(Comparator.<Integer>naturalOrder(), new CountingIterable(2), Arrays.asList(1, 3));
+        assertEquals(Arrays.asList(0, 1, 1, 3), merged.toList());
+        assertEquals(Arrays.asList(0, 1, 1, 3), merged.toList());
+        Iterator<Integer> iterator = merged.iterator();
+        merged.toList();
+        assertEquals(Integer.valueOf(0), iterator.next());
+    }
+
+    @Test
+    public void mergeSize() {
+        assertEquals(5, Itq.exactSize(
+            Itq.mergeSorted(Comparator.<Integer>naturalOrder(), Arrays.asList(1, 2, 3), Arrays.asList(4, 5))));
+        assertEquals(-1, Itq.exactSize(
+            Itq.mergeSorted(Comparator.<Integer>naturalOrder(), Arrays.asList(1, 2, 3), new CountingIterable(2))));
+    }
+
+    @Test
+    public void mergeEndsWithNoSuchElement() {
+        Iterator<Integer> iterator = Itq.mergeSorted(Comparator.<Integer>naturalOrder(), Arrays.asList(1)).iterator();
+        assertEquals(Integer.valueOf(1), iterator.next());
+        assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            fail("Expected the end of the elements");
+        }
+        catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = ArgumentNullException.class)
+    public void mergeRequiresAComparator() {
+        Itq.mergeSorted(null, Arrays.asList(1));
+    }
+
+    /**
+     * Yields 0 up to a count without a known size, and counts the iterators and the elements
+     * pulled from them.
+     */
+    private static final class CountingIterable implements Iterable<Integer> {
+
+        private final int count;
+        int iterators;
+        int pulled;
+
+        CountingIterable(int count) {
+            this.count = count;
+        }
+
+        public Iterator<Integer> iterator() {
+            iterators++;
+            return new NoRemoveIterator<Integer>() {
+
+                private int next;
+
+                public boolean hasNext() {
+                    return next < count;
+                }
+
+                public Integer next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    pulled++;
+                    return next++;
+                }
+            };
+        }
+    }
+
+    /**
+     * Claims more elements than half of what an int can count.
+     */
+    private static final class HugeList extends AbstractList<Integer> {
+
+        @Override
+        public Integer get(int index) {
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return Integer.MAX_VALUE / 2 + 1;
+        }
+    }
+
+}